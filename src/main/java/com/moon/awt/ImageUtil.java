@@ -1,12 +1,10 @@
 package com.moon.awt;
 
 import com.moon.io.FileUtil;
+import com.moon.io.IOUtil;
+import com.moon.lang.Base64Util;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.util.Base64;
+import java.io.*;
 
 import static com.moon.lang.ThrowUtil.noInstanceError;
 
@@ -31,10 +29,21 @@ public final class ImageUtil {
     }
 
     public final static String imageToBase64(File imageFile) {
-        try (InputStream input = FileUtil.getFileInputStream(imageFile)) {
-            byte[] bytes = new byte[input.available()];
-            input.read(bytes);
-            return Base64.getEncoder().encodeToString(bytes);
+        StringWriter writer = new StringWriter((int) Math.min(Integer.MAX_VALUE - 8, (imageFile.length() + 2) / 3 * 4));
+        imageToBase64(imageFile, writer);
+        return writer.toString();
+    }
+
+    /**
+     * 边读边编码写入 writer，内存占用与图片大小无关；完成后关闭 writer
+     *
+     * @param imageFile
+     * @param writer
+     */
+    public final static void imageToBase64(File imageFile, Writer writer) {
+        try (InputStream input = FileUtil.getFileInputStream(imageFile);
+             OutputStream output = Base64Util.encodingStream(writer)) {
+            IOUtil.copy(input, output);
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
         }
@@ -53,9 +62,24 @@ public final class ImageUtil {
     }
 
     public final static File base64ToImage(String imageBase64Codes, File saveImage) {
-        byte[] bytes = Base64.getDecoder().decode(imageBase64Codes.getBytes());
-        try (OutputStream output = FileUtil.getFileOutputStream(saveImage)) {
-            output.write(bytes);
+        return base64ToImage(Base64Util.decodingStream(imageBase64Codes), saveImage);
+    }
+
+    /**
+     * 边读边解码写入文件，内存占用与图片大小无关；完成后关闭 reader
+     *
+     * @param imageBase64Reader
+     * @param saveImage
+     * @return
+     */
+    public final static File base64ToImage(Reader imageBase64Reader, File saveImage) {
+        return base64ToImage(Base64Util.decodingStream(imageBase64Reader), saveImage);
+    }
+
+    private static File base64ToImage(InputStream decoder, File saveImage) {
+        try (InputStream input = decoder;
+             OutputStream output = FileUtil.getFileOutputStream(saveImage)) {
+            IOUtil.copy(input, output);
             return saveImage;
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
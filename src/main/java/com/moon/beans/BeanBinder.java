@@ -0,0 +1,204 @@
+package com.moon.beans;
+
+import com.moon.lang.ThrowUtil;
+import com.moon.lang.reflect.ConstructorUtil;
+import com.moon.util.TypeConverter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.moon.lang.reflect.ModifierUtil.accessibleCopy;
+
+/**
+ * Map 到 bean 的绑定器，每个类只构建一次：
+ * 空参构造器和所有可写属性的 setter 预先解析成 {@link MethodHandle}，
+ * 绑定时按 map 和属性中数量较少的一方遍历，不会修改传入的 map
+ *
+ * @author benshaoye
+ * @see BeanInfoUtil#getBeanBinder(Class)
+ */
+public final class BeanBinder<T> {
+
+    private final static MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private final static MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<T> type;
+    /**
+     * 空参构造器，null 表示不能直接构造，交由 {@link ConstructorUtil#newInstance(Class)} 处理（并抛出相应异常）
+     */
+    private final MethodHandle constructor;
+
+    private final String[] names;
+    private final Class[] propertyTypes;
+    /**
+     * 保留原始参数类型的 setter，供需要避免装箱的调用方自行适配
+     */
+    private final MethodHandle[] rawSetters;
+    private final MethodHandle[] setters;
+    private final Map<String, Integer> indexes;
+
+    BeanBinder(Class<T> type) {
+        this.type = type;
+        this.constructor = unreflectConstructor(type);
+
+        Map<String, FieldDescriptor> descriptors = BeanInfoUtil.getFieldDescriptorsMap(type);
+        List<String> names = new ArrayList<>(descriptors.size());
+        List<Class> propertyTypes = new ArrayList<>(descriptors.size());
+        List<MethodHandle> setters = new ArrayList<>(descriptors.size());
+        for (FieldDescriptor descriptor : descriptors.values()) {
+            if (descriptor.isSetterPresent()) {
+                MethodHandle setter = unreflectSetter(descriptor);
+                if (setter != null) {
+                    names.add(descriptor.getName());
+                    propertyTypes.add(descriptor.getPropertyType());
+                    setters.add(setter);
+                }
+            }
+        }
+        final int size = names.size();
+        this.names = names.toArray(new String[size]);
+        this.propertyTypes = propertyTypes.toArray(new Class[size]);
+        this.rawSetters = setters.toArray(new MethodHandle[size]);
+        this.setters = new MethodHandle[size];
+        for (int i = 0; i < size; i++) {
+            this.setters[i] = rawSetters[i].asType(SETTER_TYPE);
+        }
+        this.indexes = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            indexes.put(this.names[i], i);
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * 可写属性数量
+     *
+     * @return
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public Class getPropertyType(int index) {
+        return propertyTypes[index];
+    }
+
+    /**
+     * 属性位置，不存在返回 -1
+     *
+     * @param name
+     * @return
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 返回第 index 个属性的 setter，类型为 (声明类, 属性类型)void，参数不做装箱
+     *
+     * @param index
+     * @return
+     */
+    public MethodHandle getSetter(int index) {
+        return rawSetters[index];
+    }
+
+    /**
+     * 创建实例并将 map 中与属性同名且值不为 null 的项转换成属性类型后设置进去
+     *
+     * @param map
+     * @param converter
+     * @return
+     */
+    public T bind(Map map, TypeConverter converter) {
+        T obj = newInstance();
+        if (map.isEmpty()) {
+            return obj;
+        }
+        final String[] names = this.names;
+        final int length = names.length;
+        if (map.size() < length) {
+            Map<String, Integer> indexes = this.indexes;
+            Iterator<Map.Entry> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry entry = iterator.next();
+                Integer index = indexes.get(entry.getKey());
+                if (index != null) {
+                    setValue(obj, index, entry.getValue(), converter);
+                }
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                setValue(obj, i, map.get(names[i]), converter);
+            }
+        }
+        return obj;
+    }
+
+    private void setValue(Object obj, int index, Object value, TypeConverter converter) {
+        if (value != null) {
+            try {
+                setters[index].invokeExact(obj, converter.toType(value, propertyTypes[index]));
+            } catch (Throwable e) {
+                ThrowUtil.throwRuntime(e);
+            }
+        }
+    }
+
+    /**
+     * 用空参构造器创建实例
+     *
+     * @return
+     */
+    public T newInstance() {
+        MethodHandle constructor = this.constructor;
+        if (constructor == null) {
+            return ConstructorUtil.newInstance(type);
+        }
+        try {
+            return (T) constructor.invokeExact();
+        } catch (Throwable e) {
+            return ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    private final static MethodHandle unreflectConstructor(Class type) {
+        try {
+            Constructor constructor = type.getConstructor();
+            return MethodHandles.lookup().unreflectConstructor(accessibleCopy(constructor)).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private final static MethodHandle unreflectSetter(FieldDescriptor descriptor) {
+        try {
+            Method method = descriptor.getSetterMethod();
+            if (method != null) {
+                MethodHandle handle = MethodHandles.lookup().unreflect(accessibleCopy(method));
+                return handle.asType(handle.type().changeReturnType(void.class));
+            }
+            Field field = descriptor.getField();
+            return field == null ? null : MethodHandles.lookup().unreflectSetter(accessibleCopy(field));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
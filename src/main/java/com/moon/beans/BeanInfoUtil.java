@@ -4,6 +4,9 @@ import com.moon.lang.ThrowUtil;
 import com.moon.lang.ref.WeakCoordinate;
 import com.moon.lang.reflect.FieldUtil;
 import com.moon.util.IteratorUtil;
+import com.moon.util.MetricsUtil;
+import com.moon.util.metrics.Counter;
+import com.moon.util.metrics.Timer;
 
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
@@ -35,6 +38,9 @@ public final class BeanInfoUtil {
     private final static WeakCoordinate<Object, Object, Object>
             WEAK = WeakCoordinate.manageOne();
 
+    private final static Counter LOOKUP = MetricsUtil.counter("moon.beans.lookup");
+    private final static Timer INTROSPECT = MetricsUtil.timer("moon.beans.introspect");
+
     /**
      * 获取标准 setter 方法
      *
@@ -203,12 +209,16 @@ public final class BeanInfoUtil {
      * @return
      */
     public static PropertyDescriptor[] getPropertyDescriptors(Class clazz) {
+        LOOKUP.increment();
         return (PropertyDescriptor[]) WEAK.get(clazz, TypeEnum.ALL_DESC, () -> {
+            long start = INTROSPECT.start();
             try {
                 BeanInfo beanInfo = Introspector.getBeanInfo(clazz);
                 return beanInfo.getPropertyDescriptors();
             } catch (IntrospectionException e) {
                 return ThrowUtil.throwRuntime(e);
+            } finally {
+                INTROSPECT.stop(start);
             }
         });
     }
@@ -261,6 +271,17 @@ public final class BeanInfoUtil {
         });
     }
 
+    /**
+     * 返回 clazz 的 Map 绑定器，每个类只构建一次
+     *
+     * @param clazz
+     * @param <T>
+     * @return
+     */
+    public static <T> BeanBinder<T> getBeanBinder(Class<T> clazz) {
+        return (BeanBinder<T>) WEAK.get(Objects.requireNonNull(clazz), TypeEnum.BINDER, () -> new BeanBinder<>(clazz));
+    }
+
     /**
      * 字段名是否是 class，由于每个类都有默认的 getClass 方法，
      * 故每个类都有一个名为 class 的属性，在这里排除这个字段
@@ -280,6 +301,7 @@ public final class BeanInfoUtil {
         GETTER,
         SET_EXECUTOR,
         GET_EXECUTOR,
-        DESCRIPTOR
+        DESCRIPTOR,
+        BINDER
     }
 }
@@ -0,0 +1,332 @@
+package com.moon.io;
+
+import com.moon.lang.ThrowUtil;
+import com.moon.util.concurrent.ExecutorUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 基于 {@link AsynchronousFileChannel} 的异步文件读写，结果以 {@link CompletableFuture} 返回
+ * <p>
+ * IO 在 {@link ExecutorUtil#ioExecutor()} 中完成，调用线程不阻塞；
+ * 返回的 future 也在该执行器线程中完成，耗时的后续处理应使用 xxxAsync 方法切换执行器。
+ * 所有方法在出错时关闭已打开的通道，并以异常完成 future
+ *
+ * @author benshaoye
+ */
+public final class AsyncFileUtil {
+
+    private AsyncFileUtil() {
+        ThrowUtil.noInstanceError();
+    }
+
+    /**
+     * 分块读取和复制的默认块大小
+     */
+    public final static int CHUNK_SIZE = BufferPool.MAX_SIZE;
+
+    private final static OpenOption[] READ_OPTIONS = {READ};
+    private final static OpenOption[] WRITE_OPTIONS = {WRITE, CREATE, TRUNCATE_EXISTING};
+
+    /**
+     * 读取文件全部内容
+     *
+     * @param path
+     * @return
+     */
+    public static CompletableFuture<byte[]> readAllAsync(Path path) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel = open(path, READ_OPTIONS, future);
+        if (channel != null) {
+            try {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE - 8) {
+                    throw new IOException("File too large: " + path);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                new ReadAll(channel, buffer, future).read();
+            } catch (IOException | RuntimeException e) {
+                fail(channel, future, e);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 分块读取文件，每块回调一次 consumer；回调中的缓冲区会被复用，只在回调期间有效
+     *
+     * @param path
+     * @param consumer
+     * @return 读取的总字节数
+     */
+    public static CompletableFuture<Long> readAsync(Path path, Consumer<ByteBuffer> consumer) {
+        return readAsync(path, CHUNK_SIZE, consumer);
+    }
+
+    public static CompletableFuture<Long> readAsync(Path path, int chunkSize, Consumer<ByteBuffer> consumer) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize);
+        }
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel = open(path, READ_OPTIONS, future);
+        if (channel != null) {
+            new Chunked(channel, null, chunkSize, consumer, future).read();
+        }
+        return future;
+    }
+
+    /**
+     * 将 buffer 剩余内容写入文件（文件不存在时创建，存在时覆盖）
+     *
+     * @param path
+     * @param buffer
+     * @return 写入的字节数
+     */
+    public static CompletableFuture<Long> writeAsync(Path path, ByteBuffer buffer) {
+        return writeAsync(path, buffer, WRITE_OPTIONS);
+    }
+
+    /**
+     * 将 buffer 剩余内容从文件开头写入
+     *
+     * @param path
+     * @param buffer
+     * @param options 打开选项，至少应包含 WRITE
+     * @return 写入的字节数
+     */
+    public static CompletableFuture<Long> writeAsync(Path path, ByteBuffer buffer, OpenOption... options) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel = open(path, options, future);
+        if (channel != null) {
+            new WriteAll(channel, buffer, 0, future, written -> complete(channel, future, written)).write();
+        }
+        return future;
+    }
+
+    /**
+     * 复制文件（目标存在时覆盖），边读边写，同一时刻只占用一块缓冲区
+     *
+     * @param source
+     * @param target
+     * @return 复制的字节数
+     */
+    public static CompletableFuture<Long> copyAsync(Path source, Path target) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        AsynchronousFileChannel input = open(source, READ_OPTIONS, future);
+        if (input != null) {
+            AsynchronousFileChannel output = open(target, WRITE_OPTIONS, future);
+            if (output == null) {
+                close(input);
+            } else {
+                new Chunked(input, output, CHUNK_SIZE, null, future).read();
+            }
+        }
+        return future;
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * inner
+     * -------------------------------------------------------------
+     */
+
+    private static AsynchronousFileChannel open(Path path, OpenOption[] options, CompletableFuture<?> future) {
+        try {
+            Set<OpenOption> set = new HashSet<>(Arrays.asList(options));
+            return AsynchronousFileChannel.open(path, set, ExecutorUtil.ioExecutor());
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    private static <T> void complete(AsynchronousFileChannel channel, CompletableFuture<T> future, T value) {
+        try {
+            channel.close();
+            future.complete(value);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static void fail(AsynchronousFileChannel channel, CompletableFuture<?> future, Throwable e) {
+        close(channel);
+        future.completeExceptionally(e);
+    }
+
+    private static class ReadAll implements CompletionHandler<Integer, Void> {
+
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer buffer;
+        private final CompletableFuture<byte[]> future;
+
+        ReadAll(AsynchronousFileChannel channel, ByteBuffer buffer, CompletableFuture<byte[]> future) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.future = future;
+        }
+
+        void read() {
+            if (buffer.hasRemaining()) {
+                channel.read(buffer, buffer.position(), null, this);
+            } else {
+                complete(channel, future, buffer.array());
+            }
+        }
+
+        @Override
+        public void completed(Integer count, Void attachment) {
+            if (count < 0) {
+                // 文件在读取过程中被截断
+                complete(channel, future, Arrays.copyOf(buffer.array(), buffer.position()));
+            } else {
+                read();
+            }
+        }
+
+        @Override
+        public void failed(Throwable e, Void attachment) {
+            fail(channel, future, e);
+        }
+    }
+
+    private static class WriteAll implements CompletionHandler<Integer, Void> {
+
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer buffer;
+        private final CompletableFuture<?> future;
+        private final Consumer<Long> onDone;
+        private long position;
+        private long written;
+
+        WriteAll(
+            AsynchronousFileChannel channel, ByteBuffer buffer, long position,
+            CompletableFuture<?> future, Consumer<Long> onDone
+        ) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+            this.future = future;
+            this.onDone = onDone;
+        }
+
+        void write() {
+            if (buffer.hasRemaining()) {
+                channel.write(buffer, position, null, this);
+            } else {
+                onDone.accept(written);
+            }
+        }
+
+        @Override
+        public void completed(Integer count, Void attachment) {
+            position += count;
+            written += count;
+            write();
+        }
+
+        @Override
+        public void failed(Throwable e, Void attachment) {
+            fail(channel, future, e);
+        }
+    }
+
+    /**
+     * 分块读取；output 不为空时写入 output（复制），否则回调 consumer
+     */
+    private static class Chunked implements CompletionHandler<Integer, Void> {
+
+        private final AsynchronousFileChannel input;
+        private final AsynchronousFileChannel output;
+        private final Consumer<ByteBuffer> consumer;
+        private final CompletableFuture<Long> future;
+        private final ByteBuffer buffer;
+        private final int chunkSize;
+        private long position;
+
+        Chunked(
+            AsynchronousFileChannel input, AsynchronousFileChannel output,
+            int chunkSize, Consumer<ByteBuffer> consumer, CompletableFuture<Long> future
+        ) {
+            this.input = input;
+            this.output = output;
+            this.consumer = consumer;
+            this.future = future;
+            this.chunkSize = chunkSize;
+            this.buffer = BufferPool.DEFAULT.takeDirect(chunkSize);
+        }
+
+        void read() {
+            buffer.clear();
+            buffer.limit(chunkSize);
+            input.read(buffer, position, null, this);
+        }
+
+        @Override
+        public void completed(Integer count, Void attachment) {
+            if (count < 0) {
+                finish(null);
+                return;
+            }
+            position += count;
+            buffer.flip();
+            if (output == null) {
+                try {
+                    consumer.accept(buffer);
+                } catch (Throwable e) {
+                    finish(e);
+                    return;
+                }
+                read();
+            } else {
+                new WriteAll(output, buffer, position - count, future, written -> read()) {
+                    @Override
+                    public void failed(Throwable e, Void attachment) {
+                        finish(e);
+                    }
+                }.write();
+            }
+        }
+
+        @Override
+        public void failed(Throwable e, Void attachment) {
+            finish(e);
+        }
+
+        private void finish(Throwable e) {
+            BufferPool.DEFAULT.release(buffer);
+            close(input);
+            if (output == null) {
+                if (e == null) {
+                    future.complete(position);
+                } else {
+                    future.completeExceptionally(e);
+                }
+            } else if (e == null) {
+                complete(output, future, position);
+            } else {
+                fail(output, future, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.moon.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * IO 缓冲区池
+ * <p>
+ * 缓冲区按 2 的幂分级（{@link #MIN_SIZE} ~ {@link #MAX_SIZE}），取用时向上取整到对应级别；
+ * 超过最大级别的请求直接分配，不回收。所有级别共享一个保留上限，
+ * 归还时超过上限的缓冲区直接丢弃交给 GC，所以池占用的内存不会超过上限。
+ * <p>
+ * 取出的缓冲区内容未清零；归还后不可再使用
+ *
+ * @author benshaoye
+ */
+public final class BufferPool {
+
+    public final static int MIN_SIZE = 1 << 12;
+    public final static int MAX_SIZE = 1 << 16;
+
+    private final static int MIN_SHIFT = 12, CLASSES = 5;
+
+    /**
+     * IOUtil 使用的默认池，最多保留 4MB
+     */
+    public final static BufferPool DEFAULT = new BufferPool(4 << 20);
+
+    private final AtomicLong retained = new AtomicLong();
+    private final long maxRetained;
+
+    private final SizeClasses<byte[]> bytes = new SizeClasses<>(byte[]::new, arr -> arr.length, 1);
+    private final SizeClasses<char[]> chars = new SizeClasses<>(char[]::new, arr -> arr.length, 2);
+    private final SizeClasses<ByteBuffer> directs = new SizeClasses<>(
+        ByteBuffer::allocateDirect, ByteBuffer::capacity, 1);
+
+    /**
+     * @param maxRetainedBytes 池中最多保留的字节数
+     */
+    public BufferPool(long maxRetainedBytes) {
+        this.maxRetained = maxRetainedBytes;
+    }
+
+    public byte[] takeBytes(int minSize) {
+        return bytes.take(minSize);
+    }
+
+    public void release(byte[] buffer) {
+        bytes.release(buffer);
+    }
+
+    public char[] takeChars(int minSize) {
+        return chars.take(minSize);
+    }
+
+    public void release(char[] buffer) {
+        chars.release(buffer);
+    }
+
+    /**
+     * 取出已 clear 的直接缓冲区
+     *
+     * @param minSize
+     * @return
+     */
+    public ByteBuffer takeDirect(int minSize) {
+        ByteBuffer buffer = directs.take(minSize);
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect()) {
+            directs.release(buffer);
+        }
+    }
+
+    /**
+     * 当前保留的字节数
+     *
+     * @return
+     */
+    public long getRetained() {
+        return retained.get();
+    }
+
+    private static int classOf(int size) {
+        if (size <= MIN_SIZE) {
+            return 0;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return shift - MIN_SHIFT;
+    }
+
+    private final class SizeClasses<T> {
+
+        private final Queue<T>[] queues;
+        private final IntFunction<T> creator;
+        private final ToIntFunction<T> sizer;
+        private final int unitBytes;
+
+        SizeClasses(IntFunction<T> creator, ToIntFunction<T> sizer, int unitBytes) {
+            Queue<T>[] queues = new Queue[CLASSES];
+            for (int i = 0; i < CLASSES; i++) {
+                queues[i] = new ConcurrentLinkedQueue<>();
+            }
+            this.queues = queues;
+            this.creator = creator;
+            this.sizer = sizer;
+            this.unitBytes = unitBytes;
+        }
+
+        T take(int minSize) {
+            int index = classOf(minSize);
+            if (index >= CLASSES) {
+                return creator.apply(minSize);
+            }
+            T buffer = queues[index].poll();
+            if (buffer == null) {
+                return creator.apply(MIN_SIZE << index);
+            }
+            retained.addAndGet(-bytesOf(index));
+            return buffer;
+        }
+
+        void release(T buffer) {
+            if (buffer == null) {
+                return;
+            }
+            int size = sizer.applyAsInt(buffer);
+            if (size < MIN_SIZE || Integer.bitCount(size) != 1) {
+                return;
+            }
+            int index = classOf(size);
+            if (index >= CLASSES) {
+                return;
+            }
+            long bytes = bytesOf(index);
+            if (retained.addAndGet(bytes) > maxRetained) {
+                retained.addAndGet(-bytes);
+            } else {
+                queues[index].offer(buffer);
+            }
+        }
+
+        private long bytesOf(int index) {
+            return (long) (MIN_SIZE << index) * unitBytes;
+        }
+    }
+}
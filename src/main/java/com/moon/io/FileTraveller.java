@@ -1,13 +1,19 @@
 package com.moon.io;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.BiPredicate;
 
 /**
  * 此方法支持遍历多个文件夹，然后一次性返回所有文件列表
+ * <p>
+ * 遍历由 {@link FileWalker} 完成，需要按需遍历或并行遍历时直接使用 {@link FileWalker}
  *
+ * @see FileWalker
  * @author benshaoye
  * @date 2018/9/11
  */
@@ -15,13 +21,23 @@ public class FileTraveller extends ArrayList<File>
     implements Traveller<File>, List<File> {
 
     private final boolean ignoreSecurity;
+    private final BiPredicate<Path, BasicFileAttributes> filter;
 
     public FileTraveller() {
         this(true);
     }
 
     public FileTraveller(boolean ignoreSecurity) {
+        this(ignoreSecurity, null);
+    }
+
+    /**
+     * @param ignoreSecurity 是否忽略不可访问的目录或文件
+     * @param filter         文件过滤器，null 表示不过滤
+     */
+    public FileTraveller(boolean ignoreSecurity, BiPredicate<Path, BasicFileAttributes> filter) {
         this.ignoreSecurity = ignoreSecurity;
+        this.filter = filter;
     }
 
     @Override
@@ -32,20 +48,19 @@ public class FileTraveller extends ArrayList<File>
 
     @Override
     public FileTraveller traverse(File dir) {
-        if (dir.exists()) {
-            try {
-                if (dir.isDirectory()) {
-                    String[] paths = dir.list();
-                    for (int i = 0, len = paths.length; i < len; i++) {
-                        traverse(new File(dir, paths[i]));
-                    }
-                } else if (dir.isFile()) {
-                    super.add(dir);
-                }
-            } catch (SecurityException e) {
-                if (!ignoreSecurity) {
-                    throw new IllegalArgumentException(dir.getAbsolutePath(), e);
+        try {
+            FileWalker walker = new FileWalker(dir).followLinks(true).ignoreErrors(ignoreSecurity);
+            if (filter != null) {
+                walker.filter(filter);
+            }
+            walker.forEach((path, attrs) -> {
+                if (attrs.isRegularFile()) {
+                    super.add(path.toFile());
                 }
+            });
+        } catch (SecurityException e) {
+            if (!ignoreSecurity) {
+                throw new IllegalArgumentException(dir.getAbsolutePath(), e);
             }
         }
         return this;
@@ -10,6 +10,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 /**
@@ -65,17 +71,122 @@ public final class FileUtil {
             if (sourceFile.isDirectory()) {
                 copyToDirectory(sourceFile, targetFile.getParentFile());
             } else if (sourceFile.isFile()) {
-                try (FileOutputStream output = getFileOutputStream(targetFile)) {
-                    FileInputStream input = getFileInputStream(sourceFile);
-                    byte[] buffer = new byte[10240];
-                    IteratorUtil.forEach(input, buffer, len -> IOUtil.write(output, buffer, 0, len));
-                } catch (IOException e) {
-                    ThrowUtil.throwRuntime(e);
-                }
+                transfer(sourceFile, targetFile);
+            }
+        }
+    }
+
+    /*
+     * -----------------------------------------------------------------------
+     * channel transfer
+     * -----------------------------------------------------------------------
+     */
+
+    /**
+     * 用 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 复制文件，
+     * 数据可由操作系统直接在内核中复制；目标文件不存在时会创建文件以及目录结构
+     *
+     * @param sourceFile
+     * @param targetFile
+     * @return 复制的字节数和耗时
+     */
+    public static TransferStats transfer(File sourceFile, File targetFile) {
+        final long start = System.nanoTime();
+        try (FileInputStream input = getFileInputStream(sourceFile);
+             FileOutputStream output = getFileOutputStream(targetFile)) {
+            long bytes = transfer(input.getChannel(), output.getChannel());
+            return new TransferStats(bytes, System.nanoTime() - start);
+        } catch (IOException e) {
+            return ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    /**
+     * 将文件全部内容写入 target，如 SocketChannel；不会关闭 target，target 必须是阻塞模式
+     *
+     * @param sourceFile
+     * @param target
+     * @return 复制的字节数和耗时
+     */
+    public static TransferStats transfer(File sourceFile, WritableByteChannel target) {
+        IOUtil.requireBlocking(target);
+        final long start = System.nanoTime();
+        try (FileInputStream input = getFileInputStream(sourceFile)) {
+            long bytes = transfer(input.getChannel(), target);
+            return new TransferStats(bytes, System.nanoTime() - start);
+        } catch (IOException e) {
+            return ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    /**
+     * 将 source 中剩余的全部数据写入文件，如 SocketChannel；不会关闭 source，source 必须是阻塞模式
+     *
+     * @param source
+     * @param targetFile
+     * @return 复制的字节数和耗时
+     */
+    public static TransferStats transfer(ReadableByteChannel source, File targetFile) {
+        IOUtil.requireBlocking(source);
+        final long start = System.nanoTime();
+        try (FileOutputStream output = getFileOutputStream(targetFile)) {
+            FileChannel target = output.getChannel();
+            long position = 0, count;
+            while ((count = target.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+                position += count;
             }
+            return new TransferStats(position, System.nanoTime() - start);
+        } catch (IOException e) {
+            return ThrowUtil.throwRuntime(e);
         }
     }
 
+    /**
+     * 用 {@link Files#copy(Path, Path, java.nio.file.CopyOption...)} 复制文件，覆盖已存在的目标文件；
+     * 由 JDK 选择平台最快的实现
+     *
+     * @param sourceFile
+     * @param targetFile
+     * @return 复制的字节数和耗时
+     */
+    public static TransferStats copyByFiles(File sourceFile, File targetFile) {
+        final long start = System.nanoTime();
+        try {
+            File parent = targetFile.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                mkdirs(parent);
+            }
+            Path target = Files.copy(sourceFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return new TransferStats(Files.size(target), System.nanoTime() - start);
+        } catch (IOException e) {
+            return ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    /**
+     * 单次 transferTo / transferFrom 的最大字节数，部分平台单次调用只能复制 2GB 以内
+     */
+    private final static long TRANSFER_SIZE = 1L << 30;
+
+    private static long transfer(FileChannel source, WritableByteChannel target) throws IOException {
+        return transfer(source, 0, target);
+    }
+
+    /**
+     * 从 source 的 position 处开始复制到末尾，返回复制的字节数；不改变 source 的位置
+     */
+    static long transfer(FileChannel source, long position, WritableByteChannel target) throws IOException {
+        final long size = source.size(), begin = position;
+        while (position < size) {
+            long count = source.transferTo(position, Math.min(size - position, TRANSFER_SIZE), target);
+            if (count <= 0) {
+                break;
+            }
+            position += count;
+        }
+        return position - begin;
+    }
+
     /**
      * 获取文件的输出流，如果文件不存在，会创建文件以及目录结构，创建失败返回空
      *
@@ -200,6 +311,20 @@ public final class FileUtil {
         return new FileTraveller();
     }
 
+    /**
+     * 基于 NIO 的目录遍历器，支持过滤、按需遍历和并行遍历
+     *
+     * @param dir
+     * @return
+     */
+    public static FileWalker walker(File dir) {
+        return new FileWalker(dir);
+    }
+
+    public static FileWalker walker(String dirPath) {
+        return new FileWalker(dirPath);
+    }
+
     /**
      * 遍历指定目录的文件列表，如遇不可访问的安全保护会打印相应错误信息，但不会影响程序执行
      *
@@ -0,0 +1,476 @@
+package com.moon.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.moon.lang.ThrowUtil.throwRuntime;
+
+/**
+ * 基于 NIO 的目录遍历器，只返回文件（不含目录）
+ * <p>
+ * 每个节点只读取一次 {@link BasicFileAttributes}，过滤条件在遍历中直接执行：
+ * {@link #filter(BiPredicate)}、{@link #glob(String)} 过滤文件，
+ * {@link #filterDirectory(BiPredicate)} 不通过的目录整棵子树都不会进入。
+ * <p>
+ * 遍历方式：
+ * <pre>
+ * {@link #toList()}           Files.walkFileTree 一次性收集
+ * {@link #iterator()}         按需遍历，打开的目录流在遍历完后关闭
+ * {@link #stream()}           按需遍历，使用完应关闭
+ * {@link #forEachParallel(BiConsumer)} 各子目录在 ForkJoinPool 中并行遍历
+ * </pre>
+ * 不可访问的目录或文件默认忽略，{@link #ignoreErrors(boolean)} 为 false 时抛出异常；
+ * 跟随链接时与 Files.walkFileTree 一样按祖先目录的 fileKey 检测链接形成的环，成环的目录同样按错误处理
+ * （{@link FileSystemLoopException}）
+ *
+ * @author benshaoye
+ */
+public class FileWalker implements Iterable<Path> {
+
+    private final Path root;
+
+    private BiPredicate<Path, BasicFileAttributes> fileFilter;
+    private BiPredicate<Path, BasicFileAttributes> dirFilter;
+    private int maxDepth = Integer.MAX_VALUE;
+    private boolean followLinks;
+    private boolean ignoreErrors = true;
+
+    public FileWalker(Path root) {
+        this.root = Objects.requireNonNull(root);
+    }
+
+    public FileWalker(File root) {
+        this(root.toPath());
+    }
+
+    public FileWalker(String root) {
+        this(Paths.get(root));
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * options
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 文件过滤器，多次设置时需同时满足
+     *
+     * @param filter
+     * @return
+     */
+    public FileWalker filter(BiPredicate<Path, BasicFileAttributes> filter) {
+        this.fileFilter = this.fileFilter == null ? filter : this.fileFilter.and(filter);
+        return this;
+    }
+
+    /**
+     * glob 文件过滤，如 "*.log"、"**&#47;2019-*&#47;*.{txt,csv}"；
+     * 含 '/' 的模式匹配相对根目录的路径，否则只匹配文件名
+     *
+     * @param pattern
+     * @return
+     */
+    public FileWalker glob(String pattern) {
+        final PathMatcher matcher = root.getFileSystem().getPathMatcher("glob:" + pattern);
+        if (pattern.indexOf('/') < 0) {
+            return filter((path, attrs) -> matcher.matches(path.getFileName()));
+        }
+        return filter((path, attrs) -> matcher.matches(root.relativize(path)));
+    }
+
+    /**
+     * 目录过滤器，不通过的目录跳过整棵子树；根目录不受限制
+     *
+     * @param filter
+     * @return
+     */
+    public FileWalker filterDirectory(BiPredicate<Path, BasicFileAttributes> filter) {
+        this.dirFilter = this.dirFilter == null ? filter : this.dirFilter.and(filter);
+        return this;
+    }
+
+    /**
+     * 最大深度，根目录下的文件深度为 1
+     *
+     * @param maxDepth
+     * @return
+     */
+    public FileWalker maxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public FileWalker followLinks(boolean followLinks) {
+        this.followLinks = followLinks;
+        return this;
+    }
+
+    public FileWalker ignoreErrors(boolean ignoreErrors) {
+        this.ignoreErrors = ignoreErrors;
+        return this;
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * walk
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 使用 Files.walkFileTree 遍历所有文件
+     *
+     * @param consumer
+     */
+    public void forEach(BiConsumer<Path, BasicFileAttributes> consumer) {
+        if (!Files.exists(root, linkOptions())) {
+            return;
+        }
+        Set<FileVisitOption> options = followLinks
+            ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : EnumSet.noneOf(FileVisitOption.class);
+        try {
+            Files.walkFileTree(root, options, maxDepth, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return acceptDirectory(dir, attrs) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (!attrs.isDirectory() && acceptFile(file, attrs)) {
+                        consumer.accept(file, attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                    return onError(exc);
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    return exc == null ? FileVisitResult.CONTINUE : onError(exc);
+                }
+            });
+        } catch (IOException e) {
+            throwRuntime(e);
+        }
+    }
+
+    public List<Path> toList() {
+        List<Path> paths = new ArrayList<>();
+        forEach((path, attrs) -> paths.add(path));
+        return paths;
+    }
+
+    /**
+     * 按需遍历的迭代器，深度优先
+     *
+     * @return
+     */
+    @Override
+    public Iterator<Path> iterator() {
+        return new WalkIterator();
+    }
+
+    /**
+     * 按需遍历的流，应在 try-with-resources 中使用以关闭未遍历完的目录
+     *
+     * @return
+     */
+    public Stream<Path> stream() {
+        WalkIterator iterator = new WalkIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+            Spliterator.DISTINCT | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    /**
+     * 并行遍历：每个子目录作为一个 ForkJoin 任务，consumer 会被多个线程同时调用
+     *
+     * @param consumer
+     */
+    public void forEachParallel(BiConsumer<Path, BasicFileAttributes> consumer) {
+        forEachParallel(ForkJoinPool.commonPool(), consumer);
+    }
+
+    public void forEachParallel(ForkJoinPool pool, BiConsumer<Path, BasicFileAttributes> consumer) {
+        BasicFileAttributes attrs = readAttributes(root);
+        if (attrs == null) {
+            return;
+        }
+        if (attrs.isDirectory()) {
+            pool.invoke(new WalkAction(root, 0, consumer, new Ancestor(root, attrs, null)));
+        } else if (maxDepth > 0 && acceptFile(root, attrs)) {
+            consumer.accept(root, attrs);
+        }
+    }
+
+    /**
+     * 并行遍历并收集，结果顺序不确定
+     *
+     * @return
+     */
+    public List<Path> toListParallel() {
+        Queue<Path> paths = new ConcurrentLinkedQueue<>();
+        forEachParallel((path, attrs) -> paths.add(path));
+        return new ArrayList<>(paths);
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * inner
+     * -------------------------------------------------------------
+     */
+
+    private boolean acceptFile(Path path, BasicFileAttributes attrs) {
+        return fileFilter == null || fileFilter.test(path, attrs);
+    }
+
+    private boolean acceptDirectory(Path path, BasicFileAttributes attrs) {
+        return dirFilter == null || path.equals(root) || dirFilter.test(path, attrs);
+    }
+
+    private LinkOption[] linkOptions() {
+        return followLinks ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+    }
+
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, linkOptions());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            return ignoreErrors ? null : throwRuntime(e);
+        }
+    }
+
+    private FileVisitResult onError(IOException e) throws IOException {
+        if (ignoreErrors || e instanceof NoSuchFileException) {
+            return FileVisitResult.CONTINUE;
+        }
+        throw e;
+    }
+
+    /**
+     * 进入目录 dir；跟随链接且 dir 与某个祖先目录是同一个目录时按错误处理并返回 null
+     */
+    private Ancestor enter(Ancestor parent, Path dir, BasicFileAttributes attrs) {
+        if (followLinks) {
+            Object key = attrs.fileKey();
+            for (Ancestor ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+                if (key == null || ancestor.key == null ? isSameFile(dir, ancestor.dir) : key.equals(ancestor.key)) {
+                    if (!ignoreErrors) {
+                        throwRuntime(new FileSystemLoopException(dir.toString()));
+                    }
+                    return null;
+                }
+            }
+        }
+        return new Ancestor(dir, attrs, parent);
+    }
+
+    private boolean isSameFile(Path path, Path other) {
+        try {
+            return Files.isSameFile(path, other);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 当前目录及其所有祖先目录
+     */
+    private final static class Ancestor {
+
+        private final Path dir;
+        private final Object key;
+        private final Ancestor parent;
+
+        Ancestor(Path dir, BasicFileAttributes attrs, Ancestor parent) {
+            this.dir = dir;
+            this.key = attrs.fileKey();
+            this.parent = parent;
+        }
+    }
+
+    private DirectoryStream<Path> openDirectory(Path dir) {
+        try {
+            return Files.newDirectoryStream(dir);
+        } catch (IOException e) {
+            return ignoreErrors || e instanceof NoSuchFileException ? null : throwRuntime(e);
+        }
+    }
+
+    private class WalkAction extends RecursiveAction {
+
+        private final Path dir;
+        private final int depth;
+        private final BiConsumer<Path, BasicFileAttributes> consumer;
+        private final Ancestor ancestor;
+
+        WalkAction(Path dir, int depth, BiConsumer<Path, BasicFileAttributes> consumer, Ancestor ancestor) {
+            this.dir = dir;
+            this.depth = depth;
+            this.consumer = consumer;
+            this.ancestor = ancestor;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= maxDepth) {
+                return;
+            }
+            List<WalkAction> actions = new ArrayList<>();
+            try (DirectoryStream<Path> children = openDirectory(dir)) {
+                if (children == null) {
+                    return;
+                }
+                for (Path child : children) {
+                    BasicFileAttributes attrs = readAttributes(child);
+                    if (attrs == null) {
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        Ancestor entered;
+                        if (acceptDirectory(child, attrs) && (entered = enter(ancestor, child, attrs)) != null) {
+                            actions.add(new WalkAction(child, depth + 1, consumer, entered));
+                        }
+                    } else if (acceptFile(child, attrs)) {
+                        consumer.accept(child, attrs);
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                if (!ignoreErrors) {
+                    throwRuntime(e);
+                }
+            }
+            invokeAll(actions);
+        }
+    }
+
+    private class WalkIterator implements Iterator<Path> {
+
+        private final Deque<DirectoryStream<Path>> streams = new ArrayDeque<>();
+        private final Deque<Iterator<Path>> iterators = new ArrayDeque<>();
+        private Ancestor ancestor;
+        private Path next;
+        private boolean started;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = fetch();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Path next() {
+            if (hasNext()) {
+                Path path = next;
+                next = null;
+                return path;
+            }
+            throw new NoSuchElementException();
+        }
+
+        private Path fetch() {
+            if (!started) {
+                started = true;
+                BasicFileAttributes attrs = readAttributes(root);
+                if (attrs == null) {
+                    return null;
+                } else if (!attrs.isDirectory()) {
+                    return maxDepth > 0 && acceptFile(root, attrs) ? root : null;
+                } else if (maxDepth > 0) {
+                    push(new Ancestor(root, attrs, null));
+                }
+            }
+            while (!iterators.isEmpty()) {
+                Iterator<Path> iterator = iterators.peek();
+                Path child;
+                try {
+                    if (!iterator.hasNext()) {
+                        pop();
+                        continue;
+                    }
+                    child = iterator.next();
+                } catch (DirectoryIteratorException e) {
+                    if (ignoreErrors) {
+                        pop();
+                        continue;
+                    }
+                    close();
+                    throw new UncheckedIOException(e.getCause());
+                }
+                BasicFileAttributes attrs = readAttributes(child);
+                if (attrs == null) {
+                    continue;
+                }
+                if (attrs.isDirectory()) {
+                    if (iterators.size() < maxDepth && acceptDirectory(child, attrs)) {
+                        Ancestor entered;
+                        try {
+                            entered = enter(ancestor, child, attrs);
+                        } catch (RuntimeException e) {
+                            close();
+                            throw e;
+                        }
+                        if (entered != null) {
+                            push(entered);
+                        }
+                    }
+                } else if (acceptFile(child, attrs)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private void push(Ancestor entered) {
+            DirectoryStream<Path> stream = openDirectory(entered.dir);
+            if (stream != null) {
+                streams.push(stream);
+                iterators.push(stream.iterator());
+                ancestor = entered;
+            }
+        }
+
+        private void pop() {
+            iterators.pop();
+            closeQuietly(streams.pop());
+            ancestor = ancestor.parent;
+        }
+
+        void close() {
+            ancestor = null;
+            iterators.clear();
+            while (!streams.isEmpty()) {
+                closeQuietly(streams.pop());
+            }
+        }
+
+        private void closeQuietly(DirectoryStream<Path> stream) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
@@ -2,18 +2,24 @@ package com.moon.io;
 
 import com.moon.enums.Charsets;
 import com.moon.lang.ThrowUtil;
-import com.moon.lang.ref.LongAccessor;
 import com.moon.util.ResourceUtil;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Objects;
 
 import static com.moon.io.FileUtil.getFileInputStream;
 import static com.moon.io.FileUtil.getFileOutputStream;
 import static com.moon.lang.ThrowUtil.throwRuntime;
-import static com.moon.util.IteratorUtil.forEach;
 
 /**
  * @author benshaoye
@@ -26,6 +32,12 @@ public final class IOUtil {
 
     public static final String DEFAULT_CHARSET = Charsets.UTF_8.getText();
 
+    private final static BufferPool POOL = BufferPool.DEFAULT;
+
+    private final static int BUFFER_SIZE = 8192;
+
+    private final static int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     /*
      * -----------------------------------------------------------------------
      * get stream
@@ -176,25 +188,39 @@ public final class IOUtil {
      * -----------------------------------------------------------------------
      */
 
+    /**
+     * 按系统默认字符集读取文件全部内容
+     *
+     * @param file
+     * @return
+     */
     public final static String toString(File file) {
-        return toString(getBufferedReader(file));
+        return toString(file, Charset.defaultCharset());
+    }
+
+    public final static String toString(File file, Charset charset) {
+        return new String(readAllBytes(file), charset);
     }
 
     public final static String toString(Reader reader) {
-        try (StringWriter writer = new StringWriter()) {
-            copy(reader, writer);
-            return writer.toString();
-        } catch (IOException e) {
-            return throwRuntime(e);
-        }
+        StringBuilder builder = new StringBuilder();
+        appendTo(reader, builder);
+        return builder.toString();
     }
 
+    /**
+     * 读取输入流剩余的全部内容（不关闭流），按 charset 一次解码
+     *
+     * @param in
+     * @param charset
+     * @return
+     */
     public final static String toString(InputStream in, Charset charset) {
-        return toString(getBufferedReader(in, charset));
+        return new String(readAllBytes(in), charset);
     }
 
     public final static String toString(InputStream in, String charset) {
-        return toString(getBufferedReader(in, charset));
+        return toString(in, Charset.forName(charset));
     }
 
     public final static String toString(InputStream in) {
@@ -223,26 +249,108 @@ public final class IOUtil {
      * -----------------------------------------------------------------------
      */
 
+    /**
+     * 复制输入流剩余的全部数据到输出流，不关闭任何一个流；
+     * 两端都是文件流时由 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 直接复制
+     *
+     * @param is
+     * @param stream
+     * @return 复制的字节数
+     */
     public static long copy(InputStream is, OutputStream stream) {
-        LongAccessor accessor = LongAccessor.of();
-        byte[] buffer = new byte[10240];
-        forEach(is, buffer, limit -> {
-            write(stream, buffer, 0, limit);
-            accessor.increment(limit);
-        });
-        flush(stream);
-        return accessor.get();
+        try {
+            long total = 0;
+            if (is instanceof FileInputStream && stream instanceof FileOutputStream) {
+                FileChannel source = ((FileInputStream) is).getChannel();
+                long position = source.position();
+                total = FileUtil.transfer(source, position, ((FileOutputStream) stream).getChannel());
+                source.position(position + total);
+            } else {
+                byte[] buffer = POOL.takeBytes(BUFFER_SIZE);
+                try {
+                    for (int limit; (limit = is.read(buffer)) > 0; total += limit) {
+                        stream.write(buffer, 0, limit);
+                    }
+                } finally {
+                    POOL.release(buffer);
+                }
+            }
+            stream.flush();
+            return total;
+        } catch (IOException e) {
+            return throwRuntime(e);
+        }
+    }
+
+    /**
+     * 复制 source 剩余的全部数据到 target，不关闭任何一个通道；
+     * 使用 {@link BufferPool} 中的直接缓冲区，数据不经过 java 堆
+     * <p>
+     * 两个通道都必须是阻塞模式，非阻塞的 {@link SelectableChannel} 会抛出 IllegalArgumentException
+     *
+     * @param source
+     * @param target
+     * @return 复制的字节数和耗时
+     */
+    public static TransferStats copy(ReadableByteChannel source, WritableByteChannel target) {
+        requireBlocking(source);
+        requireBlocking(target);
+        final long start = System.nanoTime();
+        try {
+            if (source instanceof FileChannel) {
+                FileChannel channel = (FileChannel) source;
+                long position = channel.position();
+                long total = FileUtil.transfer(channel, position, target);
+                channel.position(position + total);
+                return new TransferStats(total, System.nanoTime() - start);
+            }
+            ByteBuffer buffer = POOL.takeDirect(BufferPool.MAX_SIZE);
+            try {
+                long total = 0;
+                for (int count; (count = source.read(buffer)) >= 0; ) {
+                    if (count == 0 && buffer.position() == 0) {
+                        continue;
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        total += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                return new TransferStats(total, System.nanoTime() - start);
+            } finally {
+                POOL.release(buffer);
+            }
+        } catch (IOException e) {
+            return throwRuntime(e);
+        }
+    }
+
+    /**
+     * 非阻塞通道读写时可能返回 0，复制会空转或提前结束
+     *
+     * @param channel
+     */
+    static void requireBlocking(Channel channel) {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Non-blocking channel: " + channel);
+        }
     }
 
     public static long copy(Reader reader, Writer writer) {
-        LongAccessor accessor = LongAccessor.of();
-        char[] buffer = new char[5120];
-        forEach(reader, buffer, limit -> {
-            write(writer, buffer, 0, limit);
-            accessor.increment(limit);
-        });
-        flush(writer);
-        return accessor.get();
+        char[] buffer = POOL.takeChars(BUFFER_SIZE);
+        try {
+            long total = 0;
+            for (int limit; (limit = reader.read(buffer)) > 0; total += limit) {
+                writer.write(buffer, 0, limit);
+            }
+            writer.flush();
+            return total;
+        } catch (IOException e) {
+            return throwRuntime(e);
+        } finally {
+            POOL.release(buffer);
+        }
     }
 
     public static long copy(InputStream is, Writer writer) {
@@ -294,15 +402,26 @@ public final class IOUtil {
     }
 
     public final static int copy(Reader reader, StringBuilder sb) {
-        final int len = sb.length();
-        forEach(reader, sb::append);
-        return sb.length() - len;
+        return appendTo(reader, sb);
     }
 
     public final static int copy(Reader reader, StringBuffer sb) {
-        final int len = sb.length();
-        forEach(reader, sb::append);
-        return sb.length() - len;
+        return appendTo(reader, sb);
+    }
+
+    private static int appendTo(Reader reader, Appendable appender) {
+        char[] buffer = POOL.takeChars(BUFFER_SIZE);
+        try {
+            int total = 0;
+            for (int limit; (limit = reader.read(buffer)) > 0; total += limit) {
+                appender.append(CharBuffer.wrap(buffer, 0, limit));
+            }
+            return total;
+        } catch (IOException e) {
+            return throwRuntime(e);
+        } finally {
+            POOL.release(buffer);
+        }
     }
 
     /**
@@ -316,9 +435,11 @@ public final class IOUtil {
         int len = cs == null ? 0 : cs.length();
         if (len > 0) {
             Objects.requireNonNull(writer);
-            char[] chars = new char[len];
-            cs.toString().getChars(0, len, chars, 0);
-            write(writer, chars, 0, len);
+            try {
+                writer.append(cs);
+            } catch (IOException e) {
+                throwRuntime(e);
+            }
         }
         return len;
     }
@@ -380,6 +501,70 @@ public final class IOUtil {
      * -----------------------------------------------------------------------
      */
 
+    /**
+     * 读取文件全部内容，按文件长度一次分配
+     *
+     * @param file
+     * @return
+     */
+    public final static byte[] readAllBytes(File file) {
+        try (FileInputStream in = new FileInputStream(file)) {
+            return readAllBytes(in);
+        } catch (IOException e) {
+            return throwRuntime(e);
+        }
+    }
+
+    /**
+     * 读取输入流剩余的全部内容，不关闭流；
+     * 文件流按剩余长度、其他流按 available() 预估数组大小
+     *
+     * @param in
+     * @return
+     */
+    public final static byte[] readAllBytes(InputStream in) {
+        try {
+            long expect;
+            if (in instanceof FileInputStream) {
+                FileChannel channel = ((FileInputStream) in).getChannel();
+                expect = channel.size() - channel.position();
+            } else {
+                expect = in.available();
+            }
+            if (expect > MAX_ARRAY_SIZE) {
+                throw new OutOfMemoryError("Required array size too large: " + expect);
+            }
+            byte[] bytes = new byte[(int) Math.max(expect, 0)];
+            int length = 0;
+            for (; ; ) {
+                for (int count; length < bytes.length
+                    && (count = in.read(bytes, length, bytes.length - length)) > 0; ) {
+                    length += count;
+                }
+                if (length < bytes.length) {
+                    break;
+                }
+                // 预估不足（或流的 available 不可靠）时继续读
+                int next = in.read();
+                if (next < 0) {
+                    break;
+                }
+                int capacity = Math.max(BUFFER_SIZE, bytes.length << 1);
+                if (capacity < 0 || capacity > MAX_ARRAY_SIZE) {
+                    if (bytes.length == MAX_ARRAY_SIZE) {
+                        throw new OutOfMemoryError("Required array size too large");
+                    }
+                    capacity = MAX_ARRAY_SIZE;
+                }
+                bytes = Arrays.copyOf(bytes, capacity);
+                bytes[length++] = (byte) next;
+            }
+            return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+        } catch (IOException e) {
+            return throwRuntime(e);
+        }
+    }
+
     public final static int read(InputStream is, byte[] bytes, int start, int max) {
         try {
             return is.read(bytes, start, max);
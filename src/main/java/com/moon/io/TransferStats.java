@@ -0,0 +1,58 @@
+package com.moon.io;
+
+/**
+ * 一次复制的统计：复制的字节数和耗时
+ *
+ * @author benshaoye
+ */
+public final class TransferStats {
+
+    private final long bytes;
+    private final long nanos;
+
+    TransferStats(long bytes, long nanos) {
+        this.bytes = bytes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * 复制的字节数
+     *
+     * @return
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 耗时（纳秒）
+     *
+     * @return
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * 耗时（毫秒）
+     *
+     * @return
+     */
+    public long getMillis() {
+        return nanos / 1000000;
+    }
+
+    /**
+     * 平均每秒复制的字节数
+     *
+     * @return
+     */
+    public double getBytesPerSecond() {
+        return nanos > 0 ? bytes * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return bytes + "B in " + getMillis() + "ms (" + (long) (getBytesPerSecond() / 1024) + "KB/s)";
+    }
+}
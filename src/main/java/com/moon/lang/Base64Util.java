@@ -1,6 +1,9 @@
 package com.moon.lang;
 
+import java.io.*;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Objects;
 
 import static com.moon.lang.ThrowUtil.noInstanceError;
 
@@ -30,75 +33,340 @@ public final class Base64Util {
         return ThrowUtil.rejectAccessError();
     }
 
-    public static final class Encoder {
-        private final byte[] newline;
+    /*
+     * -------------------------------------------------------------
+     * streaming
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 写入的字节编码为 Base64 后写入 writer
+     *
+     * @param writer
+     * @return
+     */
+    public static Encoder encodingStream(Writer writer) {
+        return new Encoder(writer, 0, false, true);
+    }
+
+    /**
+     * 写入的字节编码为 Base64 后写入 writer，每 lineMax 个字符换行（"\r\n"）
+     *
+     * @param writer
+     * @param lineMax 每行最多字符数，向下取 4 的倍数；小于 4 时不换行
+     * @return
+     */
+    public static Encoder encodingStream(Writer writer, int lineMax) {
+        return new Encoder(writer, lineMax, false, true);
+    }
+
+    /**
+     * 从 reader 读取 Base64 文本并解码；忽略空白和换行，同时接受标准和 URL 字符表
+     *
+     * @param reader
+     * @return
+     */
+    public static Decoder decodingStream(Reader reader) {
+        return new Decoder(reader);
+    }
+
+    public static Decoder decodingStream(CharSequence base64) {
+        return new Decoder(new CharSequenceReader(base64));
+    }
+
+    /**
+     * Base64 编码输出流，只保留不足 3 字节的尾部和一小块字符缓冲区，内存占用固定；
+     * close 时写出尾部（及填充）并关闭 writer
+     */
+    public static final class Encoder extends OutputStream {
+
+        private final static char[] NEWLINE = {'\r', '\n'};
+
+        private final Writer writer;
+        private final char[] base64;
         private final int lineMax;
-        private final boolean isURL;
         private final boolean doPadding;
 
-        public Encoder(byte[] newline, int lineMax, boolean isURL, boolean doPadding) {
+        private final char[] chars = new char[1024];
+        private int charCount;
+        private int lineLength;
+
+        private final int[] leftover = new int[2];
+        private int leftoverCount;
+        private boolean closed;
+
+        public Encoder(Writer writer, int lineMax, boolean isURL, boolean doPadding) {
+            this.writer = Objects.requireNonNull(writer);
+            this.base64 = (isURL ? DEFAULT_TO_BASE64URL : DEFAULT_TO_BASE64).toCharArray();
+            this.lineMax = lineMax / 4 * 4;
             this.doPadding = doPadding;
-            this.newline = newline;
-            this.lineMax = lineMax;
-            this.isURL = isURL;
-        }
-
-        private int encode0(String base64, byte[] src, int off, int end, byte[] dst) {
-            return encode0(base64.toCharArray(), src, off, end, dst);
-        }
-
-        private int encode0(char[] base64, byte[] src, int off, int end, byte[] dst) {
-            int sp = off;
-            int slen = (end - off) / 3 * 3;
-            int sl = off + slen;
-            if (lineMax > 0 && slen  > lineMax / 4 * 3) {
-                slen = lineMax / 4 * 3;
-            }
-            int dp = 0;
-            while (sp < sl) {
-                int sl0 = Math.min(sp + slen, sl);
-                for (int sp0 = sp, dp0 = dp ; sp0 < sl0; ) {
-                    int bits = (src[sp0++] & 0xff) << 16 |
-                        (src[sp0++] & 0xff) <<  8 |
-                        (src[sp0++] & 0xff);
-                    dst[dp0++] = (byte)base64[(bits >>> 18) & 0x3f];
-                    dst[dp0++] = (byte)base64[(bits >>> 12) & 0x3f];
-                    dst[dp0++] = (byte)base64[(bits >>> 6)  & 0x3f];
-                    dst[dp0++] = (byte)base64[bits & 0x3f];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (leftoverCount == 2) {
+                encode(leftover[0], leftover[1], b & 0xff);
+                leftoverCount = 0;
+            } else {
+                leftover[leftoverCount++] = b & 0xff;
+            }
+        }
+
+        @Override
+        public void write(byte[] src, int off, int len) throws IOException {
+            ensureOpen();
+            if (off < 0 || len < 0 || off + len > src.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            final int end = off + len;
+            while (leftoverCount > 0 && off < end) {
+                if (leftoverCount == 2) {
+                    encode(leftover[0], leftover[1], src[off++] & 0xff);
+                    leftoverCount = 0;
+                } else {
+                    leftover[leftoverCount++] = src[off++] & 0xff;
                 }
-                int dlen = (sl0 - sp) / 3 * 4;
-                dp += dlen;
-                sp = sl0;
-                if (dlen == lineMax && sp < end) {
-                    for (byte b : newline){
-                        dst[dp++] = b;
-                    }
+            }
+            for (; off + 3 <= end; off += 3) {
+                encode(src[off] & 0xff, src[off + 1] & 0xff, src[off + 2] & 0xff);
+            }
+            while (off < end) {
+                leftover[leftoverCount++] = src[off++] & 0xff;
+            }
+        }
+
+        private void encode(int b0, int b1, int b2) throws IOException {
+            int bits = b0 << 16 | b1 << 8 | b2;
+            put(base64[(bits >>> 18) & 0x3f], base64[(bits >>> 12) & 0x3f],
+                base64[(bits >>> 6) & 0x3f], base64[bits & 0x3f], 4);
+        }
+
+        private void put(char c0, char c1, char c2, char c3, int count) throws IOException {
+            if (lineMax > 0 && lineLength == lineMax) {
+                ensureCapacity(NEWLINE.length);
+                chars[charCount++] = NEWLINE[0];
+                chars[charCount++] = NEWLINE[1];
+                lineLength = 0;
+            }
+            ensureCapacity(4);
+            chars[charCount++] = c0;
+            chars[charCount++] = c1;
+            if (count > 2) {
+                chars[charCount++] = c2;
+            }
+            if (count > 3) {
+                chars[charCount++] = c3;
+            }
+            lineLength += 4;
+        }
+
+        private void ensureCapacity(int count) throws IOException {
+            if (charCount + count > chars.length) {
+                writer.write(chars, 0, charCount);
+                charCount = 0;
+            }
+        }
+
+        /**
+         * 写出已编码的完整分组；不足 3 字节的尾部留到 close 时写出
+         *
+         * @throws IOException
+         */
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            writer.write(chars, 0, charCount);
+            charCount = 0;
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (leftoverCount == 1) {
+                int b0 = leftover[0];
+                put(base64[b0 >> 2], base64[(b0 << 4) & 0x3f], '=', '=', doPadding ? 4 : 2);
+            } else if (leftoverCount == 2) {
+                int b0 = leftover[0], b1 = leftover[1];
+                put(base64[b0 >> 2], base64[(b0 << 4) & 0x3f | (b1 >> 4)],
+                    base64[(b1 << 2) & 0x3f], '=', doPadding ? 4 : 3);
+            }
+            leftoverCount = 0;
+            flush();
+            closed = true;
+            writer.close();
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+
+    /**
+     * Base64 解码输入流，每次只读取一小块字符，内存占用固定
+     */
+    public static final class Decoder extends InputStream {
+
+        private final static int[] FROM_BASE64 = new int[128];
+
+        static {
+            Arrays.fill(FROM_BASE64, -1);
+            for (int i = 0; i < DEFAULT_TO_BASE64.length(); i++) {
+                FROM_BASE64[DEFAULT_TO_BASE64.charAt(i)] = i;
+                FROM_BASE64[DEFAULT_TO_BASE64URL.charAt(i)] = i;
+            }
+        }
+
+        private final Reader reader;
+        private final char[] chars = new char[1024];
+        private int charPos, charLimit;
+
+        private final byte[] decoded = new byte[3];
+        private int decodedPos, decodedLimit;
+        private boolean eof;
+
+        public Decoder(Reader reader) {
+            this.reader = Objects.requireNonNull(reader);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (decodedPos == decodedLimit && !fill()) {
+                return -1;
+            }
+            return decoded[decodedPos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] dst, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > dst.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int start = off, end = off + len;
+            while (off < end) {
+                if (decodedPos == decodedLimit && !fill()) {
+                    break;
                 }
+                int count = Math.min(decodedLimit - decodedPos, end - off);
+                System.arraycopy(decoded, decodedPos, dst, off, count);
+                decodedPos += count;
+                off += count;
             }
-            // 1 or 2 leftover bytes
-            if (sp < end) {
-                int b0 = src[sp++] & 0xff;
-                dst[dp++] = (byte)base64[b0 >> 2];
-                if (sp == end) {
-                    dst[dp++] = (byte)base64[(b0 << 4) & 0x3f];
-                    if (doPadding) {
-                        dst[dp++] = '=';
-                        dst[dp++] = '=';
-                    }
-                } else {
-                    int b1 = src[sp++] & 0xff;
-                    dst[dp++] = (byte)base64[(b0 << 4) & 0x3f | (b1 >> 4)];
-                    dst[dp++] = (byte)base64[(b1 << 2) & 0x3f];
-                    if (doPadding) {
-                        dst[dp++] = '=';
+            return off == start ? -1 : off - start;
+        }
+
+        /**
+         * 解码下一组（4 个字符）
+         *
+         * @return 是否还有数据
+         * @throws IOException
+         */
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            int bits = 0, count = 0;
+            for (int c; count < 4; ) {
+                c = nextChar();
+                if (c < 0 || c == '=') {
+                    eof = true;
+                    break;
+                }
+                int value = c < 128 ? FROM_BASE64[c] : -1;
+                if (value < 0) {
+                    throw new IOException("Illegal base64 character: " + Integer.toHexString(c));
+                }
+                bits = bits << 6 | value;
+                count++;
+            }
+            decodedPos = 0;
+            switch (count) {
+                case 4:
+                    decoded[0] = (byte) (bits >> 16);
+                    decoded[1] = (byte) (bits >> 8);
+                    decoded[2] = (byte) bits;
+                    decodedLimit = 3;
+                    return true;
+                case 3:
+                    decoded[0] = (byte) (bits >> 10);
+                    decoded[1] = (byte) (bits >> 2);
+                    decodedLimit = 2;
+                    return true;
+                case 2:
+                    decoded[0] = (byte) (bits >> 4);
+                    decodedLimit = 1;
+                    return true;
+                case 0:
+                    decodedLimit = 0;
+                    return false;
+                default:
+                    throw new IOException("Illegal base64 ending");
+            }
+        }
+
+        /**
+         * 下一个有效字符，跳过空白；结束时返回 -1
+         */
+        private int nextChar() throws IOException {
+            for (; ; ) {
+                if (charPos == charLimit) {
+                    charLimit = reader.read(chars, 0, chars.length);
+                    charPos = 0;
+                    if (charLimit <= 0) {
+                        charLimit = 0;
+                        return -1;
                     }
                 }
+                char c = chars[charPos++];
+                if (c != '\r' && c != '\n' && c != ' ' && c != '\t') {
+                    return c;
+                }
             }
-            return dp;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
         }
     }
 
-    public static class Decoder {}
+    private final static class CharSequenceReader extends Reader {
 
-    private static class Support {}
+        private final CharSequence chars;
+        private int position;
+
+        CharSequenceReader(CharSequence chars) {
+            this.chars = Objects.requireNonNull(chars);
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            int length = chars.length();
+            if (position >= length) {
+                return -1;
+            }
+            int count = Math.min(len, length - position);
+            if (chars instanceof String) {
+                ((String) chars).getChars(position, position + count, buffer, off);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffer[off + i] = chars.charAt(position + i);
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
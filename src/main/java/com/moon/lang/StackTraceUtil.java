@@ -1,14 +1,26 @@
 package com.moon.lang;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Modifier;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
 
 /**
+ * 调用位置
+ * <p>
+ * 所有查找都通过 {@link #walk(int, Function)} 按需逐帧读取，找到即停止，不生成整个栈的数组
+ *
  * @author benshaoye
  * @date 2018/9/11
  */
 public final class StackTraceUtil {
 
-    private static Class<StackTraceUtil> TYPE = StackTraceUtil.class;
+    private final static Class<StackTraceUtil> TYPE = StackTraceUtil.class;
 
     private StackTraceUtil() {
         ThrowUtil.noInstanceError();
@@ -118,77 +130,310 @@ public final class StackTraceUtil {
         return traces(steps);
     }
 
+    /**
+     * 从调用 walk 的方法所在栈帧开始逐帧向上查找，返回 finder 第一个非 null 的结果
+     * <p>
+     * 栈帧按需读取：Java 9+ 使用 StackWalker，Java 8 使用 JavaLangAccess 按下标读取，
+     * 都不可用时退回 Throwable.getStackTrace()
+     *
+     * @param finder 查找函数，返回 null 时继续查找上一帧
+     * @param <T>    返回类型
+     * @return 没有找到返回 null
+     */
+    public static <T> T walk(Function<? super Frame, ? extends T> finder) {
+        return walk(Integer.MAX_VALUE, finder);
+    }
+
+    /**
+     * 同 {@link #walk(Function)}，最多检查 limit 帧
+     *
+     * @param limit  最多检查的帧数
+     * @param finder 查找函数
+     * @param <T>    返回类型
+     * @return 没有找到返回 null
+     */
+    public static <T> T walk(int limit, Function<? super Frame, ? extends T> finder) {
+        return limit > 0 ? WALKER.walk(limit, requireNonNull(finder)) : null;
+    }
+
+    /**
+     * 栈帧
+     */
+    public final static class Frame {
+
+        private final String className;
+        private final String methodName;
+        private final String fileName;
+        private final int lineNumber;
+        private Class declaringClass;
+
+        Frame(Class declaringClass, String className, String methodName, String fileName, int lineNumber) {
+            this.declaringClass = declaringClass;
+            this.className = className;
+            this.methodName = methodName;
+            this.fileName = fileName;
+            this.lineNumber = lineNumber;
+        }
+
+        Frame(StackTraceElement element) {
+            this(null, element.getClassName(), element.getMethodName(),
+                element.getFileName(), element.getLineNumber());
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * 所在类；Java 8 下按类名从当前线程的上下文类加载器加载，只缓存在本帧中，
+         * 不同类加载器中的同名类不会混淆，也不会阻止类卸载
+         *
+         * @return
+         */
+        public Class getDeclaringClass() {
+            Class type = declaringClass;
+            if (type == null) {
+                declaringClass = type = loadClass(className);
+            }
+            return type;
+        }
+
+        private static Class loadClass(String className) {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            if (loader != null) {
+                try {
+                    return Class.forName(className, false, loader);
+                } catch (ClassNotFoundException e) {
+                    // 上下文类加载器不可见时由本类的加载器加载
+                }
+            }
+            return ClassUtil.forName(className);
+        }
+
+        public StackTraceElement toStackTraceElement() {
+            return new StackTraceElement(className, methodName, fileName, lineNumber);
+        }
+
+        @Override
+        public String toString() {
+            return toStackTraceElement().toString();
+        }
+    }
+
     // ============================= core ================================================================
 
     private static StackTraceElement traces(final Mode mode) {
-        Class tempClass;
-        String classname;
-        Class targetClass = null;
-        StackTraceElement element;
-        boolean isCurrent = false;
-
-        StackTraceElement[] traceElements = traces();
-        for (int i = 3; i < traceElements.length; i++) {
-            element = traceElements[i];
-            classname = element.getClassName();
-            if (isCurrent) {
+        return walk(new Function<Frame, StackTraceElement>() {
+            private Class targetClass;
+
+            @Override
+            public StackTraceElement apply(Frame frame) {
+                if (targetClass == null) {
+                    targetClass = frame.getDeclaringClass();
+                    return mode == Mode.CALLER ? frame.toStackTraceElement() : null;
+                }
+                Class tempClass;
                 if (mode == Mode.SKIP
-                    && (isAbstract(tempClass = classForName(classname))
+                    && (isAbstract(tempClass = frame.getDeclaringClass())
                     || targetClass.isAssignableFrom(tempClass))) {
-                    continue;
+                    return null;
                 }
-                return element;
+                return frame.toStackTraceElement();
             }
-            targetClass = classForName(classname);
-            if (isNotThisType(targetClass)) {
-                if (mode == Mode.CALLER) {
-                    return element;
-                }
-                isCurrent = true;
+        });
+    }
+
+    private static StackTraceElement traces(int skipsCount) {
+        final int[] skips = {skipsCount};
+        return walk(skipsCount < 0 ? 1 : skipsCount + 1,
+            frame -> skips[0]-- <= 0 ? frame.toStackTraceElement() : null);
+    }
+
+    // ============================= walkers =============================================================
+
+    private final static String NAME = TYPE.getName();
+
+    private final static FrameWalker WALKER = FrameWalker.create();
+
+    /**
+     * 是否是本类（含内部类）的栈帧
+     */
+    static boolean isInternal(String className) {
+        return className.startsWith(NAME) && (className.length() == NAME.length()
+            || className.charAt(NAME.length()) == '$');
+    }
+
+    abstract static class FrameWalker {
+
+        abstract <T> T walk(int limit, Function<? super Frame, ? extends T> finder);
+
+        static FrameWalker create() {
+            try {
+                return new StackWalkerWalker();
+            } catch (Throwable e) {
+                // Java 8
+            }
+            try {
+                return new JavaLangAccessWalker();
+            } catch (Throwable e) {
+                return new ThrowableWalker();
             }
         }
-        return null;
     }
 
-    private static StackTraceElement traces(int skipsCount) {
-        String classname;
-        StackTraceElement element;
-        boolean isCurrent = false;
-
-        StackTraceElement[] elements = traces();
-        for (int i = 1, skips = skipsCount, len = elements.length; i < len; i++) {
-            element = elements[i];
-            classname = element.getClassName();
-            if (isCurrent) {
-                if (skips > 0) {
-                    skips--;
-                } else {
-                    return element;
-                }
-            } else if (isNotThisType(classname)) {
-                if (skips <= 0) {
-                    return element;
+    /**
+     * Java 9+：java.lang.StackWalker，保留类引用，只读取用到的帧
+     */
+    final static class StackWalkerWalker extends FrameWalker {
+
+        private final Object walker;
+        private final MethodHandle walk;
+        private final MethodHandle getDeclaringClass;
+        private final MethodHandle getMethodName;
+        private final MethodHandle getFileName;
+        private final MethodHandle getLineNumber;
+
+        StackWalkerWalker() throws Exception {
+            Class walkerType = Class.forName("java.lang.StackWalker");
+            Class optionType = Class.forName("java.lang.StackWalker$Option");
+            Class frameType = Class.forName("java.lang.StackWalker$StackFrame");
+            Object retain = Enum.valueOf(optionType, "RETAIN_CLASS_REFERENCE");
+            this.walker = walkerType.getMethod("getInstance", optionType).invoke(null, retain);
+            // walk 是 caller-sensitive 方法，需要完整权限的 Lookup
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.walk = lookup.unreflect(walkerType.getMethod("walk", Function.class))
+                .asType(MethodType.methodType(Object.class, Object.class, Function.class));
+            this.getDeclaringClass = getter(lookup, frameType, "getDeclaringClass", Class.class);
+            this.getMethodName = getter(lookup, frameType, "getMethodName", String.class);
+            this.getFileName = getter(lookup, frameType, "getFileName", String.class);
+            this.getLineNumber = getter(lookup, frameType, "getLineNumber", int.class);
+        }
+
+        private static MethodHandle getter(
+            MethodHandles.Lookup lookup, Class frameType, String name, Class returnType
+        ) throws Exception {
+            return lookup.unreflect(frameType.getMethod(name)).asType(MethodType.methodType(returnType, Object.class));
+        }
+
+        @Override
+        <T> T walk(int limit, Function<? super Frame, ? extends T> finder) {
+            Function<Stream<?>, T> function = stream -> {
+                int remaining = limit;
+                for (Iterator<?> iterator = stream.iterator(); iterator.hasNext() && remaining > 0; ) {
+                    Object frame = iterator.next();
+                    try {
+                        Class type = (Class) getDeclaringClass.invokeExact(frame);
+                        String className = type.getName();
+                        if (isInternal(className)) {
+                            continue;
+                        }
+                        remaining--;
+                        T result = finder.apply(new Frame(type, className,
+                            (String) getMethodName.invokeExact(frame),
+                            (String) getFileName.invokeExact(frame),
+                            (int) getLineNumber.invokeExact(frame)));
+                        if (result != null) {
+                            return result;
+                        }
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
                 }
-                isCurrent = true;
-            } else if (i > 10) {
                 return null;
+            };
+            try {
+                return (T) (Object) walk.invokeExact(walker, (Function) function);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
             }
         }
-        return null;
     }
 
-    // ============================= tool ================================================================
+    /**
+     * Java 8：sun.misc.JavaLangAccess 按下标读取 Throwable 的栈帧，不生成整个数组
+     */
+    final static class JavaLangAccessWalker extends FrameWalker {
 
-    private enum Mode {
-        CALLER, SKIP, PREV
+        private final Object access;
+        private final MethodHandle getDepth;
+        private final MethodHandle getElement;
+
+        JavaLangAccessWalker() throws Exception {
+            Class secrets = Class.forName("sun.misc.SharedSecrets");
+            this.access = secrets.getMethod("getJavaLangAccess").invoke(null);
+            Class accessType = Class.forName("sun.misc.JavaLangAccess");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            this.getDepth = lookup.unreflect(accessType.getMethod("getStackTraceDepth", Throwable.class));
+            this.getElement = lookup.unreflect(accessType.getMethod("getStackTraceElement", Throwable.class, int.class));
+        }
+
+        @Override
+        <T> T walk(int limit, Function<? super Frame, ? extends T> finder) {
+            try {
+                Throwable throwable = new Throwable();
+                int depth = (int) getDepth.invoke(access, throwable);
+                for (int i = 0, remaining = limit; i < depth && remaining > 0; i++) {
+                    StackTraceElement element = (StackTraceElement) getElement.invoke(access, throwable, i);
+                    if (isInternal(element.getClassName())) {
+                        continue;
+                    }
+                    remaining--;
+                    T result = finder.apply(new Frame(element));
+                    if (result != null) {
+                        return result;
+                    }
+                }
+                return null;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 
-    private static boolean isNotThisType(Class type) {
-        return !TYPE.isAssignableFrom(type);
+    /**
+     * 通用：Throwable.getStackTrace()
+     */
+    final static class ThrowableWalker extends FrameWalker {
+
+        @Override
+        <T> T walk(int limit, Function<? super Frame, ? extends T> finder) {
+            StackTraceElement[] elements = new Throwable().getStackTrace();
+            for (int i = 0, remaining = limit; i < elements.length && remaining > 0; i++) {
+                if (isInternal(elements[i].getClassName())) {
+                    continue;
+                }
+                remaining--;
+                T result = finder.apply(new Frame(elements[i]));
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        }
     }
 
-    private static boolean isNotThisType(String classname) {
-        return isNotThisType(classForName(classname));
+    // ============================= tool ================================================================
+
+    private enum Mode {
+        CALLER, SKIP, PREV
     }
 
     private static boolean isAbstract(Class clazz) {
@@ -196,14 +441,6 @@ public final class StackTraceUtil {
         return Modifier.isAbstract(mode) || Modifier.isInterface(mode);
     }
 
-    private static Class classForName(String name) {
-        return ClassUtil.forName(name);
-    }
-
-    private static StackTraceElement[] traces() {
-        return Thread.currentThread().getStackTrace();
-    }
-
     private static String toMethodString(StackTraceElement element) {
         return toMethodString(element.getClassName(), element.getMethodName());
     }
@@ -681,19 +681,19 @@ public final class StringUtil {
     }
 
     public static final StringBuilder formatToBuilder(String template, Object... values) {
-        return StringSupport.format0((end, chars) -> toBuilder(chars, 0, end), template, values);
+        return StringSupport.formatTo(new StringBuilder(), template, values);
     }
 
     public static final StringBuffer formatToBuffer(String template, Object... values) {
-        return StringSupport.format0((end, chars) -> toBuffer(chars, 0, end), template, values);
+        return new StringBuffer(StringSupport.format(template, values));
     }
 
     public static final String format(String template, Object... values) {
-        return StringSupport.format0((end, chars) -> new String(chars, 0, end), template, values);
+        return StringSupport.format(template, values);
     }
 
     public static final StringBuilder format(StringBuilder builder, Object... values) {
-        return StringSupport.format0((end, chars) -> toBuilder(chars, 0, end), toCharArray(builder), values);
+        return StringSupport.formatTo(new StringBuilder(), builder == null ? null : builder.toString(), values);
     }
 
     /*
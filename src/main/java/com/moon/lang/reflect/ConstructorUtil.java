@@ -2,7 +2,6 @@ package com.moon.lang.reflect;
 
 import com.moon.lang.ThrowUtil;
 import com.moon.lang.ref.FinalAccessor;
-import com.moon.lang.ref.WeakCoordinate;
 
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
@@ -12,7 +11,6 @@ import java.util.function.Supplier;
 
 import static com.moon.lang.ClassUtil.getClasses;
 import static com.moon.lang.ThrowUtil.throwRuntime;
-import static com.moon.lang.ref.WeakCoordinate.manageOne;
 import static com.moon.lang.reflect.ReflectionSupport.castAsPossibly;
 import static com.moon.lang.reflect.ReflectionSupport.findByParameterTypes;
 import static com.moon.lang.reflect.UnmodifiableArrayList.unmodifiable;
@@ -28,13 +26,6 @@ public final class ConstructorUtil {
         ThrowUtil.noInstanceError();
     }
 
-    final static int ONE = 1;
-    final static int ZERO = 0;
-    final static WeakCoordinate<Class, Integer, Object> WEAK
-        = manageOne();
-    final static WeakCoordinate<Class, Integer, Supplier<Constructor>> WEAK_ITEM
-        = manageOne();
-
     /**
      * 获取指定了类的所有公共构造器
      *
@@ -43,7 +34,8 @@ public final class ConstructorUtil {
      * @return
      */
     public static <T> List getConstructors(Class<T> type) {
-        return (List) WEAK.get(type, ONE, () -> unmodifiable(type.getConstructors()));
+        return ResolutionCache.get(type, TypeEnum.CONSTRUCTORS, null, () ->
+            unmodifiable(type.getConstructors()));
     }
 
     /**
@@ -54,7 +46,8 @@ public final class ConstructorUtil {
      * @return
      */
     public static <T> List getDeclaredConstructors(Class<T> type) {
-        return (List) WEAK.get(type, ZERO, () -> unmodifiable(type.getDeclaredConstructors()));
+        return ResolutionCache.get(type, TypeEnum.DECLARED_CONSTRUCTORS, null, () ->
+            unmodifiable(type.getDeclaredConstructors()));
     }
 
     /**
@@ -65,7 +58,7 @@ public final class ConstructorUtil {
      * @return
      */
     public static <T> Constructor getEmptyConstructor(Class type) {
-        return WEAK_ITEM.get(type, ONE, () -> {
+        return ResolutionCache.<Supplier<Constructor>>get(type, TypeEnum.EMPTY_CONSTRUCTOR, null, () -> {
             Exception exception = null;
             FinalAccessor<Constructor<T>> accessor = new FinalAccessor<>();
             try {
@@ -86,7 +79,7 @@ public final class ConstructorUtil {
      * @return
      */
     public static <T> Constructor<T> getEmptyDeclaredConstructor(Class type) {
-        return WEAK_ITEM.get(type, ONE, () -> {
+        return ResolutionCache.<Supplier<Constructor>>get(type, TypeEnum.EMPTY_DECLARED_CONSTRUCTOR, null, () -> {
             Exception exception = null;
             FinalAccessor<Constructor<T>> accessor = new FinalAccessor<>();
             try {
@@ -128,7 +121,7 @@ public final class ConstructorUtil {
      * @return
      */
     public static <T> List<Constructor<T>> getMatchConstructors(Class type, Class... parameterTypes) {
-        return (List) WEAK.get(type, Arrays.hashCode(parameterTypes), () -> {
+        return ResolutionCache.get(type, TypeEnum.MATCH_CONSTRUCTORS, null, parameterTypes, () -> {
             List<Constructor<T>> list = getDeclaredConstructors(type);
             return findByParameterTypes(list, list.size(), parameterTypes);
         });
@@ -143,7 +136,7 @@ public final class ConstructorUtil {
      * @return
      */
     public static <T> Constructor<T> getMatchConstructor(Class<T> type, Class... parameterTypes) {
-        return WEAK_ITEM.get(type, Arrays.hashCode(parameterTypes), () -> {
+        return ResolutionCache.<Supplier<Constructor>>get(type, TypeEnum.MATCH_CONSTRUCTOR, null, parameterTypes, () -> {
             String message = null;
             FinalAccessor<Constructor<T>> accessor = new FinalAccessor<>();
             List<Constructor<T>> list = getMatchConstructors(type, parameterTypes);
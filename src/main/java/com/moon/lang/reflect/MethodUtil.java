@@ -3,9 +3,9 @@ package com.moon.lang.reflect;
 import com.moon.lang.ClassUtil;
 import com.moon.lang.SupportUtil;
 import com.moon.lang.ThrowUtil;
-import com.moon.lang.ref.WeakCoordinate;
 import com.moon.util.FilterUtil;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
@@ -30,40 +30,36 @@ public final class MethodUtil {
 
     // 没有方法名，返回所有 public 方法
 
-    private final static WeakCoordinate<Class, Object, List<Method>>
-        WEAK = WeakCoordinate.manageOne();
-
-    private final static WeakCoordinate<Class, Object, List<Method>>
-        WEAK_PARAMS = WeakCoordinate.manageOne();
-
     public final static List<Method> getPublicMethods(Class type) {
-        return WEAK.get(type, TypeEnum.PUBLIC, (clazz, n) ->
-            get(clazz.getMethods()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.PUBLIC, null, () ->
+            get(type.getMethods()).flipToNot());
     }
 
     public final static List<Method> getPublicStaticMethods(Class type) {
-        return WEAK.get(type, TypeEnum.PUBLIC_STATIC, (clazz, n) ->
-            FilterUtil.filter(getPublicMethods(clazz), Asserts.isStatic, get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.PUBLIC_STATIC, null, () ->
+            FilterUtil.filter(getPublicMethods(type), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getPublicMemberMethods(Class type) {
-        return WEAK.get(type, TypeEnum.PUBLIC_STATIC, (clazz, n) ->
-            FilterUtil.filter(getPublicMethods(clazz), Asserts.isMember, get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.PUBLIC_MEMBER, null, () ->
+            FilterUtil.filter(getPublicMethods(type), Asserts.isMember, get()).flipToNot());
     }
 
     // 返回所有符合名字的 public 方法
 
     public final static List<Method> getPublicMethods(Class type, String methodName) {
-        return WEAK.get(type, methodName, (clazz, name) ->
-            FilterUtil.filter(getPublicMethods(clazz), nameTester(name), get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.PUBLIC, methodName, () ->
+            FilterUtil.filter(getPublicMethods(type), nameTester(methodName), get()).flipToNot());
     }
 
     public final static List<Method> getPublicStaticMethods(Class type, String methodName) {
-        return FilterUtil.filter(getPublicMethods(type, methodName), Asserts.isStatic, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.PUBLIC_STATIC, methodName, () ->
+            FilterUtil.filter(getPublicMethods(type, methodName), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getPublicMemberMethods(Class type, String methodName) {
-        return FilterUtil.filter(getPublicMethods(type, methodName), Asserts.isMember, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.PUBLIC_MEMBER, methodName, () ->
+            FilterUtil.filter(getPublicMethods(type, methodName), Asserts.isMember, get()).flipToNot());
     }
 
     public final static Method getPublicMethod(Class type, String methodName) {
@@ -78,17 +74,18 @@ public final class MethodUtil {
     // 返回所有符合名字和参数类型列表的 public 方法
 
     public final static List<Method> getPublicMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(WEAK.get(type, Arrays.hashCode(parameterTypes),
-            () -> matching(getPublicMethods(type, methodName), parameterTypes).flipToNot()),
-            nameTester(methodName), get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.PUBLIC, methodName, parameterTypes, () ->
+            (List) matching(getPublicMethods(type, methodName), parameterTypes).flipToNot());
     }
 
     public final static List<Method> getPublicStaticMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(getPublicMethods(type, methodName, parameterTypes), Asserts.isStatic, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.PUBLIC_STATIC, methodName, parameterTypes, () ->
+            FilterUtil.filter(getPublicMethods(type, methodName, parameterTypes), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getPublicMemberMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(getPublicMethods(type, methodName, parameterTypes), Asserts.isMember, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.PUBLIC_MEMBER, methodName, parameterTypes, () ->
+            FilterUtil.filter(getPublicMethods(type, methodName, parameterTypes), Asserts.isMember, get()).flipToNot());
     }
 
     public final static Method getPublicMethod(Class type, String methodName, Class... parameterTypes) {
@@ -109,33 +106,35 @@ public final class MethodUtil {
     // 没有方法名，返回所有 declared 方法
 
     public final static List<Method> getDeclaredMethods(Class type) {
-        return WEAK.get(type, TypeEnum.DECLARED, (clazz, n) ->
-            get(clazz.getDeclaredMethods()));
+        return ResolutionCache.get(type, TypeEnum.DECLARED, null, () ->
+            get(type.getDeclaredMethods()));
     }
 
     public final static List<Method> getDeclaredStaticMethods(Class type) {
-        return WEAK.get(type, TypeEnum.DECLARED_STATIC, (clazz, n) ->
-            FilterUtil.filter(getDeclaredMethods(clazz), Asserts.isStatic, get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.DECLARED_STATIC, null, () ->
+            FilterUtil.filter(getDeclaredMethods(type), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getDeclaredMemberMethods(Class type) {
-        return WEAK.get(type, TypeEnum.DECLARED_STATIC, (clazz, n) ->
-            FilterUtil.filter(getDeclaredMethods(clazz), Asserts.isMember, get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.DECLARED_MEMBER, null, () ->
+            FilterUtil.filter(getDeclaredMethods(type), Asserts.isMember, get()).flipToNot());
     }
 
     // 返回所有符合名字的 declared 方法
 
     public final static List<Method> getDeclaredMethods(Class type, String methodName) {
-        return WEAK.get(type, methodName, (clazz, name) ->
-            FilterUtil.filter(getDeclaredMethods(clazz), nameTester(name), get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.DECLARED, methodName, () ->
+            FilterUtil.filter(getDeclaredMethods(type), nameTester(methodName), get()).flipToNot());
     }
 
     public final static List<Method> getDeclaredStaticMethods(Class type, String methodName) {
-        return FilterUtil.filter(getDeclaredMethods(type, methodName), Asserts.isStatic, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.DECLARED_STATIC, methodName, () ->
+            FilterUtil.filter(getDeclaredMethods(type, methodName), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getDeclaredMemberMethods(Class type, String methodName) {
-        return FilterUtil.filter(getDeclaredMethods(type, methodName), Asserts.isMember, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.DECLARED_MEMBER, methodName, () ->
+            FilterUtil.filter(getDeclaredMethods(type, methodName), Asserts.isMember, get()).flipToNot());
     }
 
     public final static Method getDeclaredMethod(Class type, String methodName) {
@@ -149,17 +148,18 @@ public final class MethodUtil {
     // 返回所有符合名字和参数类型列表的 declared 方法
 
     public final static List<Method> getDeclaredMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(WEAK.get(type, Arrays.hashCode(parameterTypes),
-            () -> matching(getDeclaredMethods(type, methodName), parameterTypes).flipToNot()),
-            nameTester(methodName), get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.DECLARED, methodName, parameterTypes, () ->
+            (List) matching(getDeclaredMethods(type, methodName), parameterTypes).flipToNot());
     }
 
     public final static List<Method> getDeclaredStaticMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(getDeclaredMethods(type, methodName, parameterTypes), Asserts.isStatic, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.DECLARED_STATIC, methodName, parameterTypes, () ->
+            FilterUtil.filter(getDeclaredMethods(type, methodName, parameterTypes), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getDeclaredMemberMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(getDeclaredMethods(type, methodName, parameterTypes), Asserts.isMember, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.DECLARED_MEMBER, methodName, parameterTypes, () ->
+            FilterUtil.filter(getDeclaredMethods(type, methodName, parameterTypes), Asserts.isMember, get()).flipToNot());
     }
 
     public final static Method getDeclaredMethod(Class type, String methodName, Class... parameterTypes) {
@@ -176,34 +176,38 @@ public final class MethodUtil {
      * -----------------------------------------------------------------------------------------
      */
 
+    // 没有方法名，返回所有方法
+
     public final static List<Method> getAllMethods(Class type) {
-        return WEAK.get(type, TypeEnum.ALL, (clazz, n) ->
+        return ResolutionCache.get(type, TypeEnum.ALL, null, () ->
             unmodify(getPublicMethods(type), getDeclaredMethods(type), type).flipToNot());
     }
 
     public final static List<Method> getAllStaticMethods(Class type) {
-        return WEAK.get(type, TypeEnum.ALL_STATIC, (clazz, n) ->
-            FilterUtil.filter(getAllMethods(clazz), Asserts.isStatic, get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.ALL_STATIC, null, () ->
+            FilterUtil.filter(getAllMethods(type), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getAllMemberMethods(Class type) {
-        return WEAK.get(type, TypeEnum.ALL_STATIC, (clazz, n) ->
-            FilterUtil.filter(getAllMethods(clazz), Asserts.isMember, get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.ALL_MEMBER, null, () ->
+            FilterUtil.filter(getAllMethods(type), Asserts.isMember, get()).flipToNot());
     }
 
     // 返回所有符合名字的所有方法
 
     public final static List<Method> getAllMethods(Class type, String methodName) {
-        return WEAK.get(type, methodName, (clazz, name) ->
-            FilterUtil.filter(getAllMethods(clazz), nameTester(name), get()).flipToNot());
+        return ResolutionCache.get(type, TypeEnum.ALL, methodName, () ->
+            FilterUtil.filter(getAllMethods(type), nameTester(methodName), get()).flipToNot());
     }
 
     public final static List<Method> getAllStaticMethods(Class type, String methodName) {
-        return FilterUtil.filter(getAllMethods(type, methodName), Asserts.isStatic, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.ALL_STATIC, methodName, () ->
+            FilterUtil.filter(getAllMethods(type, methodName), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getAllMemberMethods(Class type, String methodName) {
-        return FilterUtil.filter(getAllMethods(type, methodName), Asserts.isMember, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.ALL_MEMBER, methodName, () ->
+            FilterUtil.filter(getAllMethods(type, methodName), Asserts.isMember, get()).flipToNot());
     }
 
     public final static Method getAccessibleMethod(Class type, String methodName) {
@@ -217,17 +221,18 @@ public final class MethodUtil {
     // 返回所有符合名字和参数类型列表的所有方法
 
     public final static List<Method> getAllMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(WEAK.get(type, Arrays.hashCode(parameterTypes),
-            () -> matching(getAllMethods(type, methodName), parameterTypes).flipToNot()),
-            nameTester(methodName), get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.ALL, methodName, parameterTypes, () ->
+            (List) matching(getAllMethods(type, methodName), parameterTypes).flipToNot());
     }
 
     public final static List<Method> getAllStaticMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(getAllMethods(type, methodName, parameterTypes), Asserts.isStatic, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.ALL_STATIC, methodName, parameterTypes, () ->
+            FilterUtil.filter(getAllMethods(type, methodName, parameterTypes), Asserts.isStatic, get()).flipToNot());
     }
 
     public final static List<Method> getAllMemberMethods(Class type, String methodName, Class... parameterTypes) {
-        return FilterUtil.filter(getAllMethods(type, methodName, parameterTypes), Asserts.isMember, get()).flipToNot();
+        return ResolutionCache.get(type, TypeEnum.ALL_MEMBER, methodName, parameterTypes, () ->
+            FilterUtil.filter(getAllMethods(type, methodName, parameterTypes), Asserts.isMember, get()).flipToNot());
     }
 
     public final static Method getAccessibleMethod(Class type, String methodName, Class... parameterTypes) {
@@ -238,6 +243,16 @@ public final class MethodUtil {
         return methods.get(0);
     }
 
+    /**
+     * 返回方法对应的 MethodHandle（固定参数个数），每个方法只创建一次
+     *
+     * @param method
+     * @return
+     */
+    public final static MethodHandle getMethodHandle(Method method) {
+        return ResolutionCache.getHandle(method);
+    }
+
     /*
      * -----------------------------------------------------------------------------------------
      * invokers
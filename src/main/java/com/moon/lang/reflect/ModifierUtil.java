@@ -127,4 +127,45 @@ public final class ModifierUtil {
     public static void closeAccessible(AccessibleObject ao) {
         ao.setAccessible(false);
     }
+
+    /**
+     * 取得 Method、Field 或 Constructor 的一个独立副本并打开访问权限；
+     * 不修改传入的（可能被多处共享的）对象，也就不会影响其他线程对它的使用
+     *
+     * @param member
+     * @param <T>
+     * @return
+     */
+    public static <T extends AccessibleObject> T accessibleCopy(T member) {
+        AccessibleObject copy;
+        try {
+            if (member instanceof Method) {
+                copy = copyOf((Method) member);
+            } else if (member instanceof Field) {
+                Field field = (Field) member;
+                copy = field.getDeclaringClass().getDeclaredField(field.getName());
+            } else if (member instanceof Constructor) {
+                Constructor constructor = (Constructor) member;
+                copy = constructor.getDeclaringClass().getDeclaredConstructor(constructor.getParameterTypes());
+            } else {
+                throw new IllegalArgumentException("Unsupported member: " + member);
+            }
+        } catch (NoSuchFieldException | NoSuchMethodException e) {
+            return ThrowUtil.throwRuntime(e);
+        }
+        copy.setAccessible(true);
+        return (T) copy;
+    }
+
+    /**
+     * 按 equals 匹配（含返回值类型），避免协变返回值的桥接方法被替换成同名同参数的另一个方法
+     */
+    private static Method copyOf(Method method) throws NoSuchMethodException {
+        for (Method declared : method.getDeclaringClass().getDeclaredMethods()) {
+            if (declared.equals(method)) {
+                return declared;
+            }
+        }
+        throw new NoSuchMethodException(method.toString());
+    }
 }
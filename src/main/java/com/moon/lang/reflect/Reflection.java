@@ -2,7 +2,6 @@ package com.moon.lang.reflect;
 
 import com.moon.lang.StringUtil;
 import com.moon.lang.ThrowUtil;
-import com.moon.lang.ref.ReferenceUtil;
 import com.moon.util.FilterUtil;
 
 import java.lang.reflect.Executable;
@@ -34,15 +33,15 @@ final class Reflection {
         double.class
     };
 
-    private final static Map<Object, Predicate<Method>> CACHE = ReferenceUtil.manageMap();
-
+    /**
+     * 只在加载 {@link ResolutionCache} 时调用，结果随方法列表一起缓存，故不再单独缓存
+     *
+     * @param name
+     * @return
+     */
     final static Predicate<Method> nameTester(Object name) {
-        Predicate<Method> tester = CACHE.get(name);
-        if (tester == null) {
-            final String finalName = StringUtil.requireNotEmpty(name.toString().trim());
-            CACHE.put(name, tester = method -> method.getName().equals(finalName));
-        }
-        return tester;
+        final String finalName = StringUtil.requireNotEmpty(name.toString().trim());
+        return method -> method.getName().equals(finalName);
     }
 
     final static <T> T throwErr(Class type, String name) {
@@ -0,0 +1,138 @@
+package com.moon.lang.reflect;
+
+import com.moon.lang.ThrowUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.moon.lang.ThrowUtil.noInstanceError;
+
+/**
+ * 方法、构造器查找结果缓存：按 (类, 查找范围, 名称, 参数类型列表) 缓存查找结果，
+ * 找不到的结果也会缓存（空列表或抛出异常的 Supplier）；
+ * 每个类的缓存挂在 {@link ClassValue} 上，随类卸载一起回收
+ *
+ * @author benshaoye
+ */
+final class ResolutionCache {
+
+    private ResolutionCache() {
+        noInstanceError();
+    }
+
+    private final static ClassValue<Map<Key, Object>> CACHE = new ClassValue<Map<Key, Object>>() {
+        @Override
+        protected Map<Key, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final static ClassValue<Map<Method, MethodHandle>> HANDLES = new ClassValue<Map<Method, MethodHandle>>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * 返回缓存的查找结果，不存在时由 loader 加载；loader 不能返回 null
+     *
+     * @param type           所属类
+     * @param scope          查找范围，如 {@link TypeEnum#PUBLIC}
+     * @param name           方法名，构造器为 null
+     * @param parameterTypes 参数类型列表，null 表示不限参数
+     * @param loader         加载器
+     * @param <T>
+     * @return
+     */
+    static <T> T get(Class type, Object scope, String name, Class[] parameterTypes, Supplier<T> loader) {
+        Map<Key, Object> cache = CACHE.get(type);
+        Object value = cache.get(new Key(scope, name, parameterTypes));
+        if (value == null) {
+            value = Objects.requireNonNull(loader.get());
+            Class[] types = parameterTypes == null ? null : parameterTypes.clone();
+            Object present = cache.putIfAbsent(new Key(scope, name, types), value);
+            if (present != null) {
+                value = present;
+            }
+        }
+        return (T) value;
+    }
+
+    static <T> T get(Class type, Object scope, String name, Supplier<T> loader) {
+        return get(type, scope, name, null, loader);
+    }
+
+    /**
+     * 返回方法对应的固定参数个数的 MethodHandle
+     *
+     * @param method
+     * @return
+     */
+    static MethodHandle getHandle(Method method) {
+        Map<Method, MethodHandle> handles = HANDLES.get(method.getDeclaringClass());
+        MethodHandle handle = handles.get(method);
+        if (handle == null) {
+            handle = unreflect(method);
+            MethodHandle present = handles.putIfAbsent(method, handle);
+            if (present != null) {
+                handle = present;
+            }
+        }
+        return handle;
+    }
+
+    private final static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            // 非公共方法或非公共类中的方法
+        }
+        try {
+            // 在副本上打开访问权限，缓存中共享的 Method 保持不变
+            return MethodHandles.lookup().unreflect(ModifierUtil.accessibleCopy(method)).asFixedArity();
+        } catch (IllegalAccessException e) {
+            return ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    private final static class Key {
+        private final Object scope;
+        private final String name;
+        private final Class[] parameterTypes;
+        private final int hash;
+
+        Key(Object scope, String name, Class[] parameterTypes) {
+            this.scope = scope;
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.hash = (Objects.hashCode(scope) * 31 + Objects.hashCode(name)) * 31 + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash
+                && scope == key.scope
+                && Objects.equals(name, key.name)
+                && Arrays.equals(parameterTypes, key.parameterTypes);
+        }
+    }
+}
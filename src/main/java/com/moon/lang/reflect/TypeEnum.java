@@ -14,4 +14,10 @@ enum TypeEnum {
     SUPER, SUPER_STATIC, SUPER_MEMBER,
 
     ALL, ALL_STATIC, ALL_MEMBER,
+
+    CONSTRUCTORS, DECLARED_CONSTRUCTORS,
+
+    EMPTY_CONSTRUCTOR, EMPTY_DECLARED_CONSTRUCTOR,
+
+    MATCH_CONSTRUCTORS, MATCH_CONSTRUCTOR,
 }
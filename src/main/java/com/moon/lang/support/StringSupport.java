@@ -104,77 +104,122 @@ public class StringSupport {
         return getChars(str, 0, str.length(), chars, begin);
     }
 
+    /**
+     * 格式化：先扫描模板确定占位符位置，将每个参数转换为字符串一次，按总长度一次分配数组后依次填入；
+     * 参数多于占位符时多余的参数依次追加在末尾，少于占位符时剩余的占位符原样保留
+     *
+     * @param function 接收结果长度和数组
+     * @param template 模板，‘{}’占位符
+     * @param values   参数
+     * @param <T>      返回类型
+     * @return
+     */
     public static <T> T format0(IntBiFunction<char[], T> function, char[] template, Object... values) {
         template = template == null ? EMPTY : template;
         final char[] marks = MARK;
-
-        final int valuesLen = values.length;
+        final int valuesLen = values == null ? 0 : values.length;
         final int tempLen = template.length;
 
-        char[] chars = EMPTY;
-
-        int valueIndex = 0;
-        int charIndex = 0;
-        int currIndex = 0;
-        int lastIndex = 0;
-
-        String temp;
-
-        do {
-            currIndex = CharUtil.indexOf(template, marks, currIndex);
-            if (currIndex < 0) {
-                currIndex = tempLen;
-                chars = copyOfRangeTo(template, lastIndex, tempLen, chars, charIndex, chars.length, true);
-                charIndex = currIndex - lastIndex + charIndex;
-
-                for (; valueIndex < valuesLen; valueIndex++) {
-                    temp = String.valueOf(values[valueIndex]);
-                    chars = setString(chars, charIndex, temp);
-                    charIndex += temp.length();
-                }
-                return function.apply(charIndex, chars);
-            } else {
-                chars = copyOfRangeTo(template, lastIndex, tempLen, chars, charIndex, chars.length, true);
-                charIndex = currIndex - lastIndex + charIndex;
+        final int[] positions = new int[Math.min(valuesLen, tempLen / 2)];
+        int count = 0;
+        for (int index = 0; count < positions.length; ) {
+            index = CharUtil.indexOf(template, marks, index);
+            if (index < 0) {
+                break;
+            }
+            positions[count++] = index;
+            index += 2;
+        }
 
-                temp = String.valueOf(values[valueIndex++]);
-                chars = setString(chars, charIndex, temp);
-                charIndex += temp.length();
+        final String[] texts = new String[valuesLen];
+        int total = tempLen - count * 2;
+        for (int i = 0; i < valuesLen; i++) {
+            total += (texts[i] = String.valueOf(values[i])).length();
+        }
 
-                currIndex += 2;
-                lastIndex = currIndex;
-            }
-        } while (valueIndex < valuesLen);
-        chars = copyOfRangeTo(template, lastIndex, tempLen, chars, charIndex, chars.length, true);
-        return function.apply(tempLen - lastIndex + charIndex, chars);
+        final char[] chars = new char[total];
+        int charIndex = 0, lastIndex = 0, length;
+        for (int i = 0; i < count; i++) {
+            length = positions[i] - lastIndex;
+            System.arraycopy(template, lastIndex, chars, charIndex, length);
+            charIndex += length;
+            String text = texts[i];
+            text.getChars(0, text.length(), chars, charIndex);
+            charIndex += text.length();
+            lastIndex = positions[i] + 2;
+        }
+        length = tempLen - lastIndex;
+        System.arraycopy(template, lastIndex, chars, charIndex, length);
+        charIndex += length;
+        for (int i = count; i < valuesLen; i++) {
+            String text = texts[i];
+            text.getChars(0, text.length(), chars, charIndex);
+            charIndex += text.length();
+        }
+        return function.apply(charIndex, chars);
     }
 
-    private static char[] copyOfRangeTo(
-        Object chars,
-        int fromIndex,
-        int toIndex,
-        char[] to,
-        int distPos,
-        int toLen,
-        boolean newIfNeed) {
-
-        if (newIfNeed) {
-            to = to == null ? new char[0] : to;
+    /**
+     * 格式化并直接追加到 builder，规则同 {@link #format0(IntBiFunction, char[], Object...)}
+     *
+     * @param builder  目标
+     * @param template 模板，‘{}’占位符
+     * @param values   参数
+     * @return builder
+     */
+    public static StringBuilder formatTo(StringBuilder builder, String template, Object... values) {
+        template = template == null ? "" : template;
+        final int valuesLen = values == null ? 0 : values.length;
+        final int tempLen = template.length();
+        builder.ensureCapacity(builder.length() + tempLen + valuesLen * 16);
+        int valueIndex = 0, lastIndex = 0;
+        for (int index; valueIndex < valuesLen && (index = template.indexOf(PLACEHOLDER, lastIndex)) >= 0; ) {
+            builder.append(template, lastIndex, index).append(values[valueIndex++]);
+            lastIndex = index + 2;
+        }
+        builder.append(template, lastIndex, tempLen);
+        for (; valueIndex < valuesLen; valueIndex++) {
+            builder.append(values[valueIndex]);
         }
+        return builder;
+    }
 
-        final int l1 = toIndex - fromIndex, l3 = l1 + distPos;
-        if (l3 > toLen) {
-            if (newIfNeed) {
-                char[] now = new char[l3];
-                System.arraycopy(to, 0, now, 0, distPos);
-                to = now;
+    /**
+     * 格式化为字符串，使用当前线程复用的 StringBuilder，只在最后复制一次
+     *
+     * @param template 模板，‘{}’占位符
+     * @param values   参数
+     * @return
+     */
+    public static String format(String template, Object... values) {
+        FormatBuilder holder = BUILDERS.get();
+        if (holder.using) {
+            // 参数的 toString 中再次格式化
+            return formatTo(new StringBuilder(), template, values).toString();
+        }
+        holder.using = true;
+        StringBuilder builder = holder.builder;
+        try {
+            return formatTo(builder, template, values).toString();
+        } finally {
+            if (builder.capacity() > MAX_CACHED_CAPACITY) {
+                holder.builder = new StringBuilder(256);
             } else {
-                String msg = "new length: " + l3 + ", current length: " + toLen;
-                throw new ArrayIndexOutOfBoundsException(msg);
+                builder.setLength(0);
             }
+            holder.using = false;
         }
-        System.arraycopy(chars, fromIndex, to, distPos, l1);
-        return to;
+    }
+
+    private final static String PLACEHOLDER = "{}";
+
+    private final static int MAX_CACHED_CAPACITY = 1 << 14;
+
+    private final static ThreadLocal<FormatBuilder> BUILDERS = ThreadLocal.withInitial(FormatBuilder::new);
+
+    private final static class FormatBuilder {
+        private StringBuilder builder = new StringBuilder(256);
+        private boolean using;
     }
 
     public static <T> T format0(IntBiFunction<char[], T> function, String template, Object... values) {
@@ -1,33 +1,21 @@
 package com.moon.mail;
 
-import com.moon.util.CPUUtil;
+import com.moon.util.concurrent.ExecutorUtil;
 
 import javax.mail.MessagingException;
 import javax.mail.Transport;
 import javax.mail.internet.MimeMessage;
-import java.util.concurrent.*;
 
 /**
+ * 邮件在专用的阻塞 IO 执行器 "mail" 中发送，不占用其他模块的线程
+ *
  * @author benshaoye
+ * @see ExecutorUtil#blocking(String)
  */
 public class SenderExecutor {
 
-    private final static ThreadPoolExecutor executor;
-
-    static {
-        int core = 1;
-        int max = CPUUtil.getCoreCount();
-        long timeout = 60 * 1000;
-        int queueSize = 32;
-        BlockingQueue queue = new ArrayBlockingQueue(queueSize);
-
-        executor = new ThreadPoolExecutor(core, max, timeout, TimeUnit.MILLISECONDS, queue,
-            Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.allowsCoreThreadTimeOut();
-    }
-
     static void sendMail(MimeMessage message) {
-        executor.submit(() -> {
+        ExecutorUtil.blocking("mail").execute(() -> {
             try {
                 Transport.send(message);
             } catch (MessagingException e) {
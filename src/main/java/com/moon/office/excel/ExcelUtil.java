@@ -1,8 +1,13 @@
 package com.moon.office.excel;
 
+import com.moon.office.excel.core.ImportExcel;
+import com.moon.office.excel.core.ImporterUtil;
 import com.moon.office.excel.core.RendererUtil;
+import com.moon.office.excel.enums.TextType;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.io.Writer;
+
 import static com.moon.lang.ThrowUtil.noInstanceError;
 
 /**
@@ -20,4 +25,31 @@ public final class ExcelUtil extends RendererUtil {
     public final static Workbook renderTo(Workbook workbook, Object... data) {
         return parseAndRenderTo(workbook, data);
     }
+
+    /**
+     * 按调用方法上的 TableExcel 模板渲染成 CSV / TSV 写入 writer；
+     * 逐行写出，不会在内存中保留整个文档
+     *
+     * @param writer
+     * @param type
+     * @param data
+     */
+    public final static void renderTo(Writer writer, TextType type, Object... data) {
+        parseAndRenderTo(writer, type, data);
+    }
+
+    /**
+     * 返回 type 上注解的 {@link ImportExcel} 对应的导入器
+     *
+     * @param type
+     * @param <T>
+     * @return
+     */
+    public final static <T> Importer<T> importer(Class type) {
+        return ImporterUtil.getImporter(type);
+    }
+
+    public final static <T> Importer<T> importer(ImportExcel excel) {
+        return ImporterUtil.getImporter(excel);
+    }
 }
@@ -0,0 +1,71 @@
+package com.moon.office.excel;
+
+import com.moon.office.excel.enums.TextType;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 以事件模式读取 excel 文档，每次只持有当前一条（或一批）记录
+ *
+ * @author benshaoye
+ */
+public interface Importer<T> {
+    /**
+     * 逐条读取文档中的记录，自动识别 xls / xlsx
+     *
+     * @param file
+     * @param consumer
+     */
+    void forEach(File file, Consumer<? super T> consumer);
+
+    /**
+     * 逐条读取输入流中的记录；
+     * 输入流会先写入临时文件，读取完成后删除，不会关闭输入流
+     *
+     * @param is
+     * @param consumer
+     */
+    void forEach(InputStream is, Consumer<? super T> consumer);
+
+    /**
+     * 逐条读取 CSV / TSV 文本，只使用第一个 ImportSheet 的配置；
+     * 单元格值都是字符串，由属性类型转换，不会关闭 reader
+     *
+     * @param reader
+     * @param type
+     * @param consumer
+     */
+    void forEach(Reader reader, TextType type, Consumer<? super T> consumer);
+
+    /**
+     * 分批读取文档中的记录，每批最多 batchSize 条
+     *
+     * @param file
+     * @param batchSize
+     * @param consumer
+     */
+    void forEachBatch(File file, int batchSize, Consumer<? super List<T>> consumer);
+
+    /**
+     * 分批读取输入流中的记录，每批最多 batchSize 条
+     *
+     * @param is
+     * @param batchSize
+     * @param consumer
+     */
+    void forEachBatch(InputStream is, int batchSize, Consumer<? super List<T>> consumer);
+
+    /**
+     * 分批读取 CSV / TSV 文本，每批最多 batchSize 条
+     *
+     * @param reader
+     * @param type
+     * @param batchSize
+     * @param consumer
+     */
+    void forEachBatch(Reader reader, TextType type, int batchSize, Consumer<? super List<T>> consumer);
+}
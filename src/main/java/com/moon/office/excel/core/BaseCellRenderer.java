@@ -69,7 +69,7 @@ abstract class BaseCellRenderer<T extends Annotation> extends AbstractRenderer<T
 
     @Override
     public WorkCenterMap beforeRender(WorkCenterMap centerMap) {
-        centerMap.createNextCell(getColspan(centerMap), getRowspan(centerMap), getSkips(centerMap), valueType);
+        centerMap.createNextCell(getColspan(centerMap), getRowspan(centerMap), getSkips(centerMap));
         centerMap.setCellStyle(className);
         centerMap.setHeight(height);
         centerMap.setWidth(width);
@@ -78,11 +78,11 @@ abstract class BaseCellRenderer<T extends Annotation> extends AbstractRenderer<T
 
     @Override
     public WorkCenterMap afterRender(WorkCenterMap centerMap) {
-        centerMap.setCellValue(getValue(centerMap));
+        centerMap.setCellValue(getValue(centerMap), valueType);
         return centerMap;
     }
 
     protected Object getValue(WorkCenterMap centerMap) {
-        return valueType.apply(value.run(centerMap));
+        return value.run(centerMap);
     }
 }
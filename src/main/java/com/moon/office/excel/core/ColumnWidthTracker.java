@@ -0,0 +1,165 @@
+package com.moon.office.excel.core;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * 列宽自适应：写入单元格时估算显示宽度并记录每列最大值，sheet 结束时统一设置列宽；
+ * 不依赖 AWT 字体测量，也不需要回读已写出（如 SXSSF 已刷出）的行
+ * <p>
+ * 宽度单位与 {@link Sheet#setColumnWidth(int, int)} 相同：默认字体中字符 '0' 宽度的 1/256
+ *
+ * @author benshaoye
+ */
+final class ColumnWidthTracker {
+    private final static int UNIT = 256;
+    private final static int PADDING = UNIT * 2;
+    private final static int MAX_WIDTH = UNIT * 255;
+    private final static int WIDE = UNIT * 2;
+    private final static float BOLD = 1.1F;
+
+    /**
+     * ASCII 字符相对 '0' 的宽度，按常见无衬线字体估算
+     */
+    private final static short[] ASCII_WIDTHS = new short[128];
+
+    static {
+        Arrays.fill(ASCII_WIDTHS, (short) UNIT);
+        set(128, " .,:;'|!ijl`");
+        set(170, "()[]{}\"frtI-/\\");
+        set(300, "ABCDEFGHJKLNOPQRSTUVXYZ#$%&+<=>?~_");
+        set(384, "mwMW@");
+    }
+
+    private static void set(int width, String chars) {
+        for (int i = 0, len = chars.length(); i < len; i++) {
+            ASCII_WIDTHS[chars.charAt(i)] = (short) width;
+        }
+    }
+
+    private final Workbook workbook;
+    private final BitSet fixed = new BitSet();
+    private final float defaultHeight;
+    private float[] fontScales = new float[8];
+    private int[] widths = new int[16];
+    private int maxColumn = -1;
+
+    ColumnWidthTracker(Workbook workbook) {
+        this.workbook = workbook;
+        this.defaultHeight = Math.max(workbook.getFontAt(0).getFontHeight(), 1);
+    }
+
+    void track(Cell cell, Object value) {
+        int column = cell.getColumnIndex();
+        if (value == null || fixed.get(column)) {
+            return;
+        }
+        int width = (int) (measureValue(value) * fontScale(cell.getCellStyle().getFontIndexAsInt())) + PADDING;
+        int[] widths = this.widths;
+        if (column >= widths.length) {
+            this.widths = widths = Arrays.copyOf(widths, Math.max(column + 1, widths.length << 1));
+        }
+        if (width > widths[column]) {
+            widths[column] = Math.min(width, MAX_WIDTH);
+            maxColumn = Math.max(maxColumn, column);
+        }
+    }
+
+    /**
+     * 列宽已由 TableCell.width 显式指定，不再自动计算
+     *
+     * @param column
+     */
+    void fix(int column) {
+        if (column > -1) {
+            fixed.set(column);
+        }
+    }
+
+    void applyTo(Sheet sheet) {
+        int[] widths = this.widths;
+        for (int i = 0, max = maxColumn; i <= max; i++) {
+            if (widths[i] > 0 && !fixed.get(i)) {
+                sheet.setColumnWidth(i, widths[i]);
+            }
+        }
+        Arrays.fill(widths, 0);
+        fixed.clear();
+        maxColumn = -1;
+    }
+
+    private final static int DATE_WIDTH = UNIT * 10;
+    private final static int BOOLEAN_WIDTH = UNIT * 5;
+    private final static int DECIMAL_WIDTH = UNIT * 11;
+
+    /**
+     * 数字、日期、布尔值按其常规显示长度估算，不转换成字符串
+     *
+     * @param value
+     * @return
+     */
+    private static int measureValue(Object value) {
+        if (value instanceof CharSequence) {
+            return measure(value.toString());
+        } else if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            long integer = (long) number;
+            if (integer != number) {
+                return DECIMAL_WIDTH;
+            }
+            int width = integer < 0 ? UNIT * 2 : UNIT;
+            for (integer /= 10; integer != 0; integer /= 10) {
+                width += UNIT;
+            }
+            return width;
+        } else if (value instanceof Boolean) {
+            return BOOLEAN_WIDTH;
+        } else if (value instanceof Date || value instanceof Calendar) {
+            return DATE_WIDTH;
+        }
+        return measure(value.toString());
+    }
+
+    /**
+     * 多行文本取最长一行
+     *
+     * @param value
+     * @return
+     */
+    private static int measure(String value) {
+        int max = 0, current = 0;
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char ch = value.charAt(i);
+            if (ch == '\n') {
+                max = Math.max(max, current);
+                current = 0;
+            } else if (ch < 128) {
+                current += ASCII_WIDTHS[ch];
+            } else {
+                current += ch >= '⺀' ? WIDE : UNIT;
+            }
+        }
+        return Math.max(max, current);
+    }
+
+    private float fontScale(int fontIndex) {
+        float[] scales = this.fontScales;
+        if (fontIndex >= scales.length) {
+            this.fontScales = scales = Arrays.copyOf(scales, Math.max(fontIndex + 1, scales.length << 1));
+        }
+        float scale = scales[fontIndex];
+        if (scale == 0) {
+            Font font = workbook.getFontAt(fontIndex);
+            scale = font.getFontHeight() / defaultHeight;
+            scales[fontIndex] = scale = font.getBold() ? scale * BOLD : scale;
+        }
+        return scale;
+    }
+}
@@ -0,0 +1,138 @@
+package com.moon.office.excel.core;
+
+import com.moon.io.FileUtil;
+import com.moon.lang.ThrowUtil;
+import com.moon.lang.reflect.ConstructorUtil;
+import com.moon.office.excel.Importer;
+import com.moon.office.excel.enums.TextType;
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @author benshaoye
+ */
+final class GenericImporter<T> implements Importer<T> {
+    private final Constructor<T> constructor;
+    private final ImportSheetBinder[] binders;
+
+    GenericImporter(ImportExcel excel) {
+        Class<T> target = excel.target();
+        Constructor<T> constructor = ConstructorUtil.getEmptyDeclaredConstructor(target);
+        constructor.setAccessible(true);
+        this.constructor = constructor;
+
+        ImportSheet[] sheets = excel.value();
+        final int length = sheets.length;
+        ImportSheetBinder[] binders = new ImportSheetBinder[length];
+        for (int i = 0; i < length; i++) {
+            binders[i] = new ImportSheetBinder(sheets[i], target);
+        }
+        this.binders = binders;
+    }
+
+    @Override
+    public void forEach(File file, Consumer<? super T> consumer) {
+        ImportCollector collector = new ImportRecordCollector(binders, constructor, consumer);
+        FileMagic magic;
+        try {
+            magic = FileMagic.valueOf(file);
+        } catch (IOException e) {
+            ThrowUtil.wrapAndThrow(e);
+            return;
+        }
+        switch (magic) {
+            case OLE2:
+                XlsImportReader.read(file, collector);
+                break;
+            case OOXML:
+                XlsxImportReader.read(file, collector);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported excel file: " + file);
+        }
+    }
+
+    @Override
+    public void forEach(InputStream is, Consumer<? super T> consumer) {
+        File temp = null;
+        try {
+            temp = File.createTempFile("moon-import-", ".tmp");
+            Files.copy(is, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            forEach(temp, consumer);
+        } catch (IOException e) {
+            ThrowUtil.wrapAndThrow(e);
+        } finally {
+            FileUtil.delete(temp);
+        }
+    }
+
+    @Override
+    public void forEach(Reader reader, TextType type, Consumer<? super T> consumer) {
+        TextImportReader.read(reader, type, new ImportRecordCollector(binders, constructor, consumer));
+    }
+
+    @Override
+    public void forEachBatch(File file, int batchSize, Consumer<? super List<T>> consumer) {
+        Batcher<T> batcher = new Batcher<>(batchSize, consumer);
+        forEach(file, batcher);
+        batcher.flush();
+    }
+
+    @Override
+    public void forEachBatch(InputStream is, int batchSize, Consumer<? super List<T>> consumer) {
+        Batcher<T> batcher = new Batcher<>(batchSize, consumer);
+        forEach(is, batcher);
+        batcher.flush();
+    }
+
+    @Override
+    public void forEachBatch(Reader reader, TextType type, int batchSize, Consumer<? super List<T>> consumer) {
+        Batcher<T> batcher = new Batcher<>(batchSize, consumer);
+        forEach(reader, type, batcher);
+        batcher.flush();
+    }
+
+    private final static class Batcher<T> implements Consumer<T> {
+        private final int batchSize;
+        private final Consumer<? super List<T>> consumer;
+        private List<T> batch;
+
+        Batcher(int batchSize, Consumer<? super List<T>> consumer) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(T item) {
+            List<T> batch = this.batch;
+            if (batch == null) {
+                this.batch = batch = new ArrayList<>(Math.min(batchSize, 1024));
+            }
+            batch.add(item);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            List<T> batch = this.batch;
+            if (batch != null) {
+                this.batch = null;
+                consumer.accept(batch);
+            }
+        }
+    }
+}
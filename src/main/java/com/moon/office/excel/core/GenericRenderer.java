@@ -11,7 +11,7 @@ import java.util.function.Supplier;
 final class GenericRenderer implements Renderer {
     private final TableExcel excel;
     private final Supplier<Workbook> creator;
-    private final CenterRenderer renderer;
+    private final TrueExcelRenderer renderer;
 
     GenericRenderer(TableExcel excel) {
         this.excel = excel;
@@ -22,7 +22,7 @@ final class GenericRenderer implements Renderer {
     @Override
     public Workbook renderTo(Workbook workbook, Object... data) {
         WorkCenterMap centerMap = new WorkCenterMap(
-            workbook == null ? creator.get() : workbook, data);
+            workbook == null ? creator.get() : workbook, renderer.getLayout(), data);
         return renderer.render(centerMap).get();
     }
 }
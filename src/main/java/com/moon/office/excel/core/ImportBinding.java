@@ -0,0 +1,33 @@
+package com.moon.office.excel.core;
+
+import com.moon.beans.BeanInfoUtil;
+import com.moon.beans.FieldDescriptor;
+import com.moon.beans.FieldExecutor;
+import com.moon.lang.ThrowUtil;
+import com.moon.util.TypeConverter;
+
+/**
+ * 单元格与目标属性的绑定关系，解析注解时计算一次
+ *
+ * @author benshaoye
+ */
+final class ImportBinding {
+    private final String name;
+    private final Class type;
+    private final FieldExecutor setter;
+
+    ImportBinding(Class target, String name) {
+        FieldDescriptor descriptor = BeanInfoUtil.getFieldDescriptor(target, name);
+        this.name = name;
+        this.type = descriptor.getPropertyType();
+        this.setter = descriptor.getSetterExecutor();
+    }
+
+    void setValue(Object target, Object value, TypeConverter converter) {
+        try {
+            setter.execute(target, converter.toType(value, type), true);
+        } catch (Exception e) {
+            ThrowUtil.wrapAndThrow(e, "Can not set property: " + name + " with value: " + value);
+        }
+    }
+}
@@ -4,4 +4,24 @@ package com.moon.office.excel.core;
  * @author benshaoye
  */
 public @interface ImportCell {
+    /**
+     * 目标属性名，为空时忽略这一列
+     *
+     * @return
+     */
+    String value() default "";
+
+    /**
+     * 列索引，从 0 开始；小于 0 时紧跟上一个 ImportCell 所在列
+     *
+     * @return
+     */
+    int index() default -1;
+
+    /**
+     * 在上一个 ImportCell 所在列之后跳过的列数，index 大于等于 0 时无效
+     *
+     * @return
+     */
+    int skipCells() default 0;
 }
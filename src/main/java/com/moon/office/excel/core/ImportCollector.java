@@ -0,0 +1,31 @@
+package com.moon.office.excel.core;
+
+/**
+ * 事件读取器与记录映射之间的桥梁
+ *
+ * @author benshaoye
+ */
+interface ImportCollector {
+    /**
+     * 开始读取一个 sheet
+     *
+     * @param index     sheet 位置
+     * @param sheetName sheet 名称
+     * @return 是否需要这个 sheet 的数据，返回 false 时读取器可跳过整个 sheet
+     */
+    boolean startSheet(int index, String sheetName);
+
+    /**
+     * 读取到一个单元格，value 只会是 String、Long、Double、Boolean、Date 中的一种
+     *
+     * @param rowIndex
+     * @param cellIndex
+     * @param value
+     */
+    void setCellValue(int rowIndex, int cellIndex, Object value);
+
+    /**
+     * 当前 sheet 读取结束
+     */
+    void endSheet();
+}
@@ -1,10 +1,27 @@
 package com.moon.office.excel.core;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
 /**
+ * 导入配置，可注解在类或方法上
+ * <p>
+ * 导入时以事件模式（XLSX：SAX；XLS：HSSF 事件模型）逐行读取，
+ * 不会将整个工作簿加载到内存中
+ *
  * @author benshaoye
  */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
 public @interface ImportExcel {
     ImportSheet[] value() default {};
 
+    /**
+     * 每条记录对应的数据类型，必须有无参构造器
+     *
+     * @return
+     */
     Class target();
 }
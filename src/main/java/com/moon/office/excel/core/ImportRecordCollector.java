@@ -0,0 +1,84 @@
+package com.moon.office.excel.core;
+
+import com.moon.lang.reflect.ConstructorUtil;
+import com.moon.util.TypeConverter;
+import com.moon.util.TypeUtil;
+
+import java.lang.reflect.Constructor;
+import java.util.function.Consumer;
+
+/**
+ * 将单元格事件组装成目标记录，每组装完一条立即交给 consumer，不保留已完成的记录
+ *
+ * @author benshaoye
+ */
+final class ImportRecordCollector implements ImportCollector {
+    private final ImportSheetBinder[] binders;
+    private final Constructor constructor;
+    private final Consumer consumer;
+    private final TypeConverter converter = TypeUtil.cast();
+
+    private ImportSheetBinder current;
+    private int recordIndex;
+    private Object record;
+
+    ImportRecordCollector(ImportSheetBinder[] binders, Constructor constructor, Consumer consumer) {
+        this.binders = binders;
+        this.constructor = constructor;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public boolean startSheet(int index, String sheetName) {
+        ImportSheetBinder[] binders = this.binders;
+        for (int i = 0, len = binders.length; i < len; i++) {
+            if (binders[i].matches(index, sheetName)) {
+                current = binders[i];
+                recordIndex = -1;
+                return true;
+            }
+        }
+        current = null;
+        return false;
+    }
+
+    @Override
+    public void setCellValue(int rowIndex, int cellIndex, Object value) {
+        ImportSheetBinder binder = this.current;
+        if (binder == null || value == null) {
+            return;
+        }
+        int offset = rowIndex - binder.getSkipRows();
+        if (offset < 0) {
+            return;
+        }
+        int rows = binder.getRowsCount();
+        int index = offset / rows;
+        if (index != recordIndex) {
+            complete();
+            recordIndex = index;
+        }
+        ImportBinding binding = binder.get(offset % rows, cellIndex);
+        if (binding != null) {
+            Object target = this.record;
+            if (target == null) {
+                this.record = target = ConstructorUtil.newInstance(constructor);
+            }
+            binding.setValue(target, value, converter);
+        }
+    }
+
+    @Override
+    public void endSheet() {
+        complete();
+        current = null;
+    }
+
+    private void complete() {
+        Object target = this.record;
+        if (target != null) {
+            this.record = null;
+            consumer.accept(target);
+        }
+    }
+}
@@ -4,5 +4,32 @@ package com.moon.office.excel.core;
  * @author benshaoye
  */
 public @interface ImportSheet {
+    /**
+     * 一条记录由多少行组成，就应有多少个 ImportRow，
+     * 第 n 个 ImportRow 对应记录中的第 n 行
+     *
+     * @return
+     */
     ImportRow[] value() default {};
+
+    /**
+     * 按 sheetName 匹配工作表，不为空时忽略 index
+     *
+     * @return
+     */
+    String sheetName() default "";
+
+    /**
+     * 按位置匹配工作表，从 0 开始
+     *
+     * @return
+     */
+    int index() default 0;
+
+    /**
+     * 数据开始前跳过的行数（如：表头）
+     *
+     * @return
+     */
+    int skipRows() default 0;
 }
@@ -0,0 +1,80 @@
+package com.moon.office.excel.core;
+
+/**
+ * 一个 ImportSheet 的列绑定，按 [记录内行号][列号] 直接取得绑定
+ *
+ * @author benshaoye
+ */
+final class ImportSheetBinder {
+    private final static ImportBinding[] EMPTY = new ImportBinding[0];
+
+    private final String sheetName;
+    private final int index;
+    private final int skipRows;
+    private final ImportBinding[][] bindings;
+
+    ImportSheetBinder(ImportSheet sheet, Class target) {
+        ImportRow[] rows = sheet.value();
+        final int length = rows.length;
+        if (length < 1) {
+            throw new IllegalArgumentException("ImportSheet must have at least one ImportRow");
+        }
+        this.sheetName = sheet.sheetName().trim();
+        this.index = sheet.index();
+        this.skipRows = Math.max(sheet.skipRows(), 0);
+        this.bindings = new ImportBinding[length][];
+        for (int i = 0; i < length; i++) {
+            bindings[i] = parseRow(rows[i], target);
+        }
+    }
+
+    private final static ImportBinding[] parseRow(ImportRow row, Class target) {
+        ImportCell[] cells = row.value();
+        int max = -1, current = -1;
+        final int length = cells.length;
+        int[] indexes = new int[length];
+        for (int i = 0; i < length; i++) {
+            ImportCell cell = cells[i];
+            current = cell.index() < 0 ? current + 1 + Math.max(cell.skipCells(), 0) : cell.index();
+            max = Math.max(max, indexes[i] = current);
+        }
+        if (max < 0) {
+            return EMPTY;
+        }
+        ImportBinding[] bindings = new ImportBinding[max + 1];
+        for (int i = 0; i < length; i++) {
+            String name = cells[i].value().trim();
+            if (name.length() > 0) {
+                bindings[indexes[i]] = new ImportBinding(target, name);
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * sheetName 为 null 表示数据源没有 sheet 概念（CSV / TSV），此时总是匹配
+     *
+     * @param index
+     * @param sheetName
+     * @return
+     */
+    boolean matches(int index, String sheetName) {
+        if (sheetName == null) {
+            return true;
+        }
+        return this.sheetName.length() > 0 ? this.sheetName.equals(sheetName) : this.index == index;
+    }
+
+    int getSkipRows() {
+        return skipRows;
+    }
+
+    int getRowsCount() {
+        return bindings.length;
+    }
+
+    ImportBinding get(int line, int cellIndex) {
+        ImportBinding[] row = bindings[line];
+        return cellIndex < row.length ? row[cellIndex] : null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.moon.office.excel.core;
+
+import com.moon.lang.annotation.AnnotatedUtil;
+import com.moon.office.excel.Importer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.moon.lang.ThrowUtil.noInstanceError;
+
+/**
+ * @author benshaoye
+ */
+public class ImporterUtil {
+    protected ImporterUtil() {
+        noInstanceError();
+    }
+
+    private final static Map<ImportExcel, Importer> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 读取 type 上注解的 {@link ImportExcel} 并返回对应的导入器
+     *
+     * @param type
+     * @param <T>
+     * @return
+     */
+    public final static <T> Importer<T> getImporter(Class type) {
+        ImportExcel excel = AnnotatedUtil.get(type, ImportExcel.class);
+        if (excel == null) {
+            throw new IllegalArgumentException("can not found Annotation of ImportExcel on: " + type);
+        }
+        return getImporter(excel);
+    }
+
+    public final static <T> Importer<T> getImporter(ImportExcel excel) {
+        return CACHE.computeIfAbsent(Objects.requireNonNull(excel), GenericImporter::new);
+    }
+}
@@ -24,4 +24,29 @@ final class OtherUtil {
             throw new IllegalArgumentException(when);
         }
     }
+
+    /**
+     * 整数值返回 Long，否则返回 Double；转换成字符串时不会出现多余的 ".0"
+     *
+     * @param value
+     * @return
+     */
+    final static Number toNumber(double value) {
+        long longValue = (long) value;
+        return longValue == value ? (Number) longValue : (Number) value;
+    }
+
+    final static Number toNumber(String value) {
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char ch = value.charAt(i);
+            if (ch == '.' || ch == 'E' || ch == 'e') {
+                return toNumber(Double.parseDouble(value));
+            }
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return Double.valueOf(value);
+        }
+    }
 }
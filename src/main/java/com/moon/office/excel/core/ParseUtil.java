@@ -15,7 +15,7 @@ final class ParseUtil {
         noInstanceError();
     }
 
-    final static CenterRenderer parseExcel(TableExcel annotation) {
+    final static TrueExcelRenderer parseExcel(TableExcel annotation) {
         return new TrueExcelRenderer(annotation, parseSheets(annotation));
     }
 
@@ -4,6 +4,7 @@ import com.moon.lang.BooleanUtil;
 import com.moon.lang.SupportUtil;
 import com.moon.lang.ThrowUtil;
 import com.moon.lang.ref.IntAccessor;
+import com.moon.util.compute.SlotLayout;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -73,6 +74,22 @@ final class ParseVar {
         return SupportUtil.throwErr(chars, indexer);
     }
 
+    /**
+     * 变量名在解析时登记为模板的槽位，渲染时按槽位直接写入
+     *
+     * @param layout
+     * @param keys
+     * @return
+     */
+    final static int[] toSlots(SlotLayout layout, String[] keys) {
+        final int length = keys.length;
+        int[] slots = new int[length];
+        for (int i = 0; i < length; i++) {
+            slots[i] = layout.register(keys[i]);
+        }
+        return slots;
+    }
+
     private final static int nextChar(char[] chars, IntAccessor indexer, int len) {
         return SupportUtil.skipWhitespaces(chars, indexer, len);
     }
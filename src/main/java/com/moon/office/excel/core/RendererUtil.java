@@ -1,18 +1,23 @@
 package com.moon.office.excel.core;
 
-import com.moon.lang.ClassUtil;
+import com.moon.lang.StackTraceUtil;
+import com.moon.lang.StackTraceUtil.Frame;
 import com.moon.lang.annotation.AnnotatedUtil;
 import com.moon.lang.reflect.MethodUtil;
 import com.moon.office.excel.ExcelUtil;
 import com.moon.office.excel.Renderer;
+import com.moon.office.excel.enums.TextType;
 import com.moon.util.CollectUtil;
 import com.moon.util.Console;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static com.moon.lang.ThrowUtil.noInstanceError;
 
@@ -27,70 +32,78 @@ public class RendererUtil {
     private final static String NAME = ExcelUtil.class.getName();
     private final static String NAME0 = RendererUtil.class.getName();
 
-    private final static Map<TableExcel, CenterRenderer> CACHE = new HashMap<>();
+    private final static Map<TableExcel, TrueExcelRenderer> CACHE = new HashMap<>();
+
+    /**
+     * 调用位置（类名#方法名）对应的注解
+     */
+    private final static Map<String, TableExcel> CALLER_CACHE = new ConcurrentHashMap<>();
 
     private final static TableExcel getAnnotation() {
-        int foundCount = 0;
-        String TARGET_NAME = NAME, className, methodName, foundName = null;
-        StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-        for (int i = 2, len = elements.length; i < len; i++) {
-            StackTraceElement element = elements[i];
-            className = element.getClassName();
-            if (foundCount > 0) {
-                if (foundCount == 1) {
-                    foundName = className;
-                }
-                if (TARGET_NAME.equals(className)) {
+        final String TARGET_NAME = NAME;
+        final String[] foundName = {null};
+        TableExcel found = StackTraceUtil.walk(new Function<Frame, TableExcel>() {
+            private int foundCount;
+
+            @Override
+            public TableExcel apply(Frame frame) {
+                String className = frame.getClassName();
+                if (foundCount > 0) {
+                    if (foundCount == 1) {
+                        foundName[0] = className;
+                    }
+                    if (TARGET_NAME.equals(className)) {
+                        foundCount++;
+                        return null;
+                    }
+                    String methodName = frame.getMethodName();
+                    if (methodName.startsWith("lambda$")) {
+                        foundCount++;
+                        return null;
+                    }
+                    String key = className + '#' + methodName;
+                    TableExcel excel = CALLER_CACHE.get(key);
+                    if (excel != null) {
+                        return excel;
+                    }
+                    List<Method> methods = MethodUtil.getAllMethods(frame.getDeclaringClass(), methodName);
+                    if (CollectUtil.isNotEmpty(methods)) {
+                        Method method = methods.get(0);
+                        excel = AnnotatedUtil.get(method, TableExcel.class);
+                        if (excel == null) {
+                            throw new NotExistTableExcelException(foundName[0] + '.' + methodName);
+                        }
+                        CALLER_CACHE.put(key, excel);
+                        return excel;
+                    }
                     foundCount++;
-                    continue;
-                }
-                methodName = element.getMethodName();
-                if (methodName.matches("lambda\\$.*\\$\\d+")) {
+                } else if (TARGET_NAME.equals(className)) {
                     foundCount++;
-                    continue;
-                }
-                List<Method> methods = MethodUtil.getAllMethods(ClassUtil.forName(className), methodName);
-                if (CollectUtil.isNotEmpty(methods)) {
-                    Method method = methods.get(0);
-                    TableExcel excel = AnnotatedUtil.get(method, TableExcel.class);
-                    if (excel == null) {
-                        throw new NotExistTableExcelException(foundName + '.' + methodName);
-                    }
-                    return excel;
                 }
-                foundCount++;
-            } else if (TARGET_NAME.equals(className)) {
-                foundCount++;
+                return null;
             }
+        });
+        if (found == null) {
+            throw new NotExistTableExcelException(foundName[0]);
         }
-        throw new NotExistTableExcelException(foundName);
+        return found;
     }
 
     private final static TableExcel getInstanceAnnotation() {
-        StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-        for (int i = 1; i < elements.length; i++) {
-            StackTraceElement elem = elements[i];
-            String className = elem.getClassName();
+        StackTraceUtil.walk(frame -> {
+            String className = frame.getClassName();
             if (!NAME.equals(className) && !NAME0.equals(className)) {
-                String methodName = elem.getMethodName();
-                switch (methodName) {
-                    case "<init>":
-                        break;
-                    case "<clinit>":
-                        break;
-                    default:
-                        break;
-                }
-                Console.out.println(className + '.' + methodName);
-                break;
+                Console.out.println(className + '.' + frame.getMethodName());
+                return className;
             }
-        }
+            return null;
+        });
 
         throw new NotExistTableExcelException("can not found Annotation of: " + NAME);
     }
 
-    final static CenterRenderer getOrParse(TableExcel excel) {
-        CenterRenderer renderer = CACHE.get(excel);
+    final static TrueExcelRenderer getOrParse(TableExcel excel) {
+        TrueExcelRenderer renderer = CACHE.get(excel);
         if (renderer == null) {
             renderer = ParseUtil.parseExcel(excel);
             synchronized (CACHE) {
@@ -108,9 +121,24 @@ public class RendererUtil {
 
     protected final static Workbook parseAndRenderTo(Workbook workbook, Object... data) {
         TableExcel excel = getAnnotation();
-        CenterRenderer renderer = getOrParse(excel);
+        TrueExcelRenderer renderer = getOrParse(excel);
         WorkCenterMap centerMap = new WorkCenterMap(
-            workbook == null ? excel.type().get() : workbook, data);
+            workbook == null ? excel.type().get() : workbook, renderer.getLayout(), data);
         return renderer.render(centerMap).get();
     }
+
+    /**
+     * 以文本格式渲染到 writer，渲染完成后刷新但不关闭 writer
+     *
+     * @param writer
+     * @param type
+     * @param data
+     */
+    protected final static void parseAndRenderTo(Writer writer, TextType type, Object... data) {
+        TableExcel excel = getAnnotation();
+        TrueExcelRenderer renderer = getOrParse(excel);
+        TextCenterMap centerMap = new TextCenterMap(writer, type, renderer.getLayout(), data);
+        renderer.render(centerMap);
+        centerMap.finish();
+    }
 }
@@ -50,6 +50,16 @@ public @interface TableExcel {
             public Workbook get() {
                 return new SXSSFWorkbook();
             }
+        },
+        /**
+         * 流式写入，字符串进入共享字符串表；
+         * 适合大量重复字符串的导出，SUPER 则以内联字符串写入，不在内存中保留字符串表
+         */
+        SUPER_SHARED(".xlsx") {
+            @Override
+            public Workbook get() {
+                return new SXSSFWorkbook(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, false, true);
+            }
         };
 
         @Override
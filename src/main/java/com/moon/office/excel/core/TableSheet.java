@@ -23,4 +23,13 @@ public @interface TableSheet {
     String sheetName() default "'新建'";
 
     String[] delimiters() default {};
+
+    /**
+     * 是否根据单元格内容自动设置列宽；
+     * 写入时估算每列最大显示宽度，sheet 结束时统一设置，
+     * 已通过 TableCell.width 指定宽度的列和合并单元格不参与计算
+     *
+     * @return
+     */
+    boolean autoWidth() default false;
 }
@@ -0,0 +1,216 @@
+package com.moon.office.excel.core;
+
+import com.moon.lang.ThrowUtil;
+import com.moon.office.excel.enums.TextType;
+import com.moon.office.excel.enums.ValueType;
+import com.moon.util.DateUtil;
+import com.moon.util.compute.SlotLayout;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * 以 CSV / TSV 输出的渲染上下文：行列位置计算沿用 {@link WorkCenterMap}，
+ * 每行的字段按列号暂存，换行时一次写出；样式、列宽、合并区域全部忽略
+ *
+ * @author benshaoye
+ */
+final class TextCenterMap extends WorkCenterMap {
+    private final static String[] EMPTY = new String[0];
+
+    private final Writer writer;
+    private final char delimiter;
+
+    private String sheetName;
+    private boolean sheetWritten;
+
+    /**
+     * 当前 sheet 中已写出的最后一行，-1 表示尚未写出
+     */
+    private int writtenRowIndex = -1;
+    private int rowIndex = -1;
+    private int cellIndex;
+
+    private String[] fields = EMPTY;
+    private int fieldsCount;
+
+    TextCenterMap(Writer writer, TextType type, SlotLayout layout, Object... data) {
+        super(null, Integer.MAX_VALUE - 1, layout, data);
+        this.writer = writer;
+        this.delimiter = type.DELIMITER;
+    }
+
+    @Override
+    WorkCenterMap createSheet(String sheetName, boolean autoWidth) {
+        return createSheet(sheetName);
+    }
+
+    @Override
+    WorkCenterMap finishSheet() {
+        flushRow();
+        return this;
+    }
+
+    @Override
+    void openSheet(String sheetName) {
+        flushRow();
+        if (sheetWritten) {
+            // 多个 sheet 之间以空行分隔
+            newLine();
+        }
+        this.sheetName = sheetName;
+        this.sheetWritten = false;
+        this.writtenRowIndex = -1;
+        this.rowIndex = -1;
+    }
+
+    @Override
+    String currentSheetName() {
+        return sheetName;
+    }
+
+    @Override
+    void openRow(int rowIndex) {
+        flushRow();
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    void openCell(int cellIndex) {
+        this.cellIndex = cellIndex;
+    }
+
+    @Override
+    void addMergedRegion(CellRangeAddress range) {
+    }
+
+    @Override
+    WorkCenterMap setHeight(short height) {
+        return this;
+    }
+
+    @Override
+    public void setRowStyle(String className) {
+    }
+
+    @Override
+    WorkCenterMap setWidth(int width) {
+        return this;
+    }
+
+    @Override
+    public void setCellStyle(String className) {
+    }
+
+    @Override
+    WorkCenterMap setCellValue(Object value, ValueType type) {
+        Object actual = type == ValueType._NONE || type == ValueType.FORMULA ? value : type.apply(value);
+        int index = cellIndex;
+        String[] fields = this.fields;
+        if (index >= fields.length) {
+            this.fields = fields = Arrays.copyOf(fields, Math.max(index + 1, fields.length * 2));
+        }
+        fields[index] = stringify(actual);
+        fieldsCount = Math.max(fieldsCount, index + 1);
+        return this;
+    }
+
+    /**
+     * 写出最后一行并刷新 writer，不关闭 writer
+     */
+    void finish() {
+        flushRow();
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            ThrowUtil.wrapAndThrow(e);
+        }
+    }
+
+    private final static String stringify(Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Date) {
+            return DateUtil.format((Date) value);
+        } else if (value instanceof Calendar) {
+            return DateUtil.format(((Calendar) value).getTime());
+        }
+        return value.toString();
+    }
+
+    private void flushRow() {
+        if (rowIndex < 0) {
+            return;
+        }
+        try {
+            Writer writer = this.writer;
+            // 跳过的行输出为空行
+            for (int i = writtenRowIndex + 1; i < rowIndex; i++) {
+                writer.write("\r\n");
+            }
+            String[] fields = this.fields;
+            for (int i = 0, count = fieldsCount; i < count; i++) {
+                if (i > 0) {
+                    writer.write(delimiter);
+                }
+                writeField(writer, fields[i]);
+                fields[i] = null;
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            ThrowUtil.wrapAndThrow(e);
+        }
+        writtenRowIndex = rowIndex;
+        rowIndex = -1;
+        fieldsCount = 0;
+        sheetWritten = true;
+    }
+
+    private void newLine() {
+        try {
+            writer.write("\r\n");
+        } catch (IOException e) {
+            ThrowUtil.wrapAndThrow(e);
+        }
+    }
+
+    /**
+     * 按 RFC 4180：含分隔符、引号或换行的字段用双引号包裹，字段内引号双写
+     */
+    private void writeField(Writer writer, String field) throws IOException {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        final int length = field.length();
+        final char delimiter = this.delimiter;
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            char ch = field.charAt(i);
+            if (ch == delimiter || ch == '"' || ch == '\n' || ch == '\r') {
+                quoted = true;
+                break;
+            }
+        }
+        if (!quoted) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (field.charAt(i) == '"') {
+                writer.write(field, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(field, start, length - start);
+        writer.write('"');
+    }
+}
@@ -0,0 +1,121 @@
+package com.moon.office.excel.core;
+
+import com.moon.lang.ThrowUtil;
+import com.moon.office.excel.enums.TextType;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CSV / TSV 读取：按 RFC 4180 解析引号字段（字段内双引号、换行），
+ * 整个文本视为 index 为 0 的一个 sheet，单元格值都是 String
+ *
+ * @author benshaoye
+ */
+final class TextImportReader {
+
+    private final static int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private TextImportReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * 读取全部内容，不关闭 reader
+     *
+     * @param reader
+     * @param type
+     * @param collector
+     */
+    static void read(Reader reader, TextType type, ImportCollector collector) {
+        if (!collector.startSheet(0, null)) {
+            return;
+        }
+        try {
+            new TextImportReader(reader, type.DELIMITER).read(collector);
+        } catch (IOException e) {
+            ThrowUtil.wrapAndThrow(e);
+        }
+        collector.endSheet();
+    }
+
+    private int next() throws IOException {
+        if (position >= limit) {
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * 退回刚读取的一个字符
+     */
+    private void unread(int ch) {
+        if (ch >= 0) {
+            position--;
+        }
+    }
+
+    private void read(ImportCollector collector) throws IOException {
+        final char delimiter = this.delimiter;
+        final StringBuilder field = new StringBuilder();
+        int rowIndex = 0, cellIndex = 0, ch;
+        boolean quoted = false;
+        for (; ; ) {
+            ch = next();
+            if (quoted) {
+                if (ch == '"') {
+                    ch = next();
+                    if (ch == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(ch);
+                    }
+                    continue;
+                } else if (ch >= 0) {
+                    field.append((char) ch);
+                    continue;
+                }
+                // 未闭合的引号，按已读内容结束
+            }
+            if (ch < 0) {
+                emit(collector, rowIndex, cellIndex, field);
+                return;
+            } else if (ch == delimiter) {
+                emit(collector, rowIndex, cellIndex++, field);
+            } else if (ch == '\r' || ch == '\n') {
+                if (ch == '\r') {
+                    ch = next();
+                    if (ch != '\n') {
+                        unread(ch);
+                    }
+                }
+                emit(collector, rowIndex++, cellIndex, field);
+                cellIndex = 0;
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) ch);
+            }
+        }
+    }
+
+    private final static void emit(ImportCollector collector, int rowIndex, int cellIndex, StringBuilder field) {
+        if (field.length() > 0) {
+            collector.setCellValue(rowIndex, cellIndex, field.toString());
+            field.setLength(0);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.moon.office.excel.core;
 
 import com.moon.enums.ArraysEnum;
 import com.moon.lang.StringUtil;
+import com.moon.util.compute.SlotLayout;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -11,9 +12,11 @@ import java.util.Map;
  */
 class TrueExcelRenderer extends AbstractRenderer<TableExcel> {
     private final Map<String, TableStyle> styleMaps;
+    private final SlotLayout layout = new SlotLayout();
 
     protected TrueExcelRenderer(TableExcel annotation, CenterRenderer[] children) {
         super(annotation, children, annotation.var(), ArraysEnum.STRINGS.empty());
+        bindSlots(this, layout);
 
         TableStyle[] styles = annotation.styles();
         if (styles.length > 0) {
@@ -26,6 +29,24 @@ class TrueExcelRenderer extends AbstractRenderer<TableExcel> {
         }
     }
 
+    /**
+     * 模板中所有变量的槽位表，每次渲染按此创建变量帧
+     *
+     * @return
+     */
+    final SlotLayout getLayout() {
+        return layout;
+    }
+
+    private static void bindSlots(CenterRenderer renderer, SlotLayout layout) {
+        if (renderer instanceof AbstractRenderer) {
+            ((AbstractRenderer) renderer).setter.bindSlots(layout);
+        }
+        for (CenterRenderer child : renderer.getChildren()) {
+            bindSlots(child, layout);
+        }
+    }
+
     @Override
     public WorkCenterMap beforeRender(WorkCenterMap centerMap) {
         centerMap.setStyleMaps(styleMaps);
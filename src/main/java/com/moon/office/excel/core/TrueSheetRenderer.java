@@ -8,16 +8,23 @@ import com.moon.util.compute.RunnerUtil;
  */
 final class TrueSheetRenderer extends AbstractRenderer<TableSheet> {
     private final Runner sheetName;
+    private final boolean autoWidth;
 
     protected TrueSheetRenderer(TableSheet annotation, CenterRenderer[] children, String[] formatted) {
         super(annotation, children, annotation.var(), formatted);
         String sheetName = annotation.sheetName();
         this.sheetName = isZero() ? RunnerUtil.parse(sheetName)
             : RunnerUtil.parse(sheetName, getDelimiters());
+        this.autoWidth = annotation.autoWidth();
     }
 
     @Override
     public WorkCenterMap beforeRender(WorkCenterMap centerMap) {
-        return centerMap.createSheet(sheetName.run(centerMap));
+        return centerMap.createSheet(sheetName.run(centerMap), autoWidth);
+    }
+
+    @Override
+    public WorkCenterMap afterRender(WorkCenterMap centerMap) {
+        return centerMap.finishSheet();
     }
 }
@@ -1,5 +1,7 @@
 package com.moon.office.excel.core;
 
+import com.moon.util.compute.SlotLayout;
+
 /**
  * @author benshaoye
  */
@@ -20,6 +22,14 @@ interface VarSetter {
     default void beforeSetAndRender(WorkCenterMap centerMap, CenterRenderer target) {
     }
 
+    /**
+     * 模板解析完成后把变量名登记到模板的槽位表
+     *
+     * @param layout
+     */
+    default void bindSlots(SlotLayout layout) {
+    }
+
     default boolean isIn() {
         return false;
     }
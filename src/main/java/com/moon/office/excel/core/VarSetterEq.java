@@ -1,6 +1,7 @@
 package com.moon.office.excel.core;
 
 import com.moon.util.compute.RunnerUtil;
+import com.moon.util.compute.SlotLayout;
 
 /**
  * @author benshaoye
@@ -8,22 +9,28 @@ import com.moon.util.compute.RunnerUtil;
 class VarSetterEq implements VarSetter {
     private final String[] keys;
     private final String expression;
+    private int[] slots;
 
     public VarSetterEq(String[] keys, String expression) {
         this.keys = keys;
         this.expression = expression;
     }
 
+    @Override
+    public void bindSlots(SlotLayout layout) {
+        slots = ParseVar.toSlots(layout, keys);
+    }
+
     /**
      * value, key, index, size, first, last
      */
     private final static Object[] objects = {null, 0, 0, 1, true, true, null};
 
-    private static final WorkCenterMap setVar(WorkCenterMap centerMap, String[] keys, Object data) {
+    private static final WorkCenterMap setVar(WorkCenterMap centerMap, int[] slots, Object data) {
         Object[] values = objects;
-        centerMap.put(keys[0], data);
-        for (int i = 1, len = keys.length; i < len; i++) {
-            centerMap.put(keys[i], values[i]);
+        centerMap.setSlot(slots[0], data);
+        for (int i = 1, len = Math.min(slots.length, values.length); i < len; i++) {
+            centerMap.setSlot(slots[i], values[i]);
         }
         return centerMap;
     }
@@ -35,6 +42,6 @@ class VarSetterEq implements VarSetter {
 
     @Override
     public void beforeSetAndRender(WorkCenterMap centerMap, CenterRenderer target) {
-        setVar(centerMap, keys, RunnerUtil.run(expression, centerMap));
+        setVar(centerMap, slots, RunnerUtil.run(expression, centerMap));
     }
 }
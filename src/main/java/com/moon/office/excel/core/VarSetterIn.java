@@ -5,6 +5,7 @@ import com.moon.beans.FieldDescriptor;
 import com.moon.enums.ArrayOperators;
 import com.moon.enums.ArraysEnum;
 import com.moon.util.compute.RunnerUtil;
+import com.moon.util.compute.SlotLayout;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -20,12 +21,18 @@ class VarSetterIn implements VarSetter {
     private final static int NO_SIZE = -1;
     private final String[] keys;
     private final String expression;
+    private int[] slots;
 
     public VarSetterIn(String[] keys, String expression) {
         this.keys = keys;
         this.expression = expression;
     }
 
+    @Override
+    public void bindSlots(SlotLayout layout) {
+        slots = ParseVar.toSlots(layout, keys);
+    }
+
     @Override
     public boolean isIn() {
         return true;
@@ -42,49 +49,49 @@ class VarSetterIn implements VarSetter {
     public WorkCenterMap setVarAndRender(WorkCenterMap centerMap, CenterRenderer target) {
         Object data = RunnerUtil.run(expression, centerMap);
         if (data instanceof Collection) {
-            renderCollect(centerMap, target, keys, data);
+            renderCollect(centerMap, target, slots, data);
         } else if (data instanceof Map) {
-            renderMap(centerMap, target, keys, data);
+            renderMap(centerMap, target, slots, data);
         } else if (data == null) {
             return centerMap;
         } else if (data.getClass().isArray()) {
-            renderArray(centerMap, target, keys, data);
+            renderArray(centerMap, target, slots, data);
         } else if (data instanceof Iterator) {
-            renderIterator(centerMap, target, keys, data);
+            renderIterator(centerMap, target, slots, data);
         } else if (data instanceof Iterable) {
-            renderIterable(centerMap, target, keys, data);
+            renderIterable(centerMap, target, slots, data);
         } else if (data instanceof Number) {
-            renderNumber(centerMap, target, keys, data);
+            renderNumber(centerMap, target, slots, data);
         } else if (data instanceof ResultSet) {
-            renderResultSet(centerMap, target, keys, data);
+            renderResultSet(centerMap, target, slots, data);
         } else if (data instanceof CharSequence) {
-            renderSequence(centerMap, target, keys, data);
+            renderSequence(centerMap, target, slots, data);
         } else {
-            renderBean(centerMap, target, keys, data);
+            renderBean(centerMap, target, slots, data);
         }
         return centerMap;
     }
 
     private final static void renderSequence(
-        WorkCenterMap center, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap center, CenterRenderer target, int[] slots, Object data
     ) {
         char[] chars = data.toString().toCharArray();
         CenterRenderer[] children = target.getChildren();
         final int size = chars.length, length = children.length;
         for (int i = 0; i < size; i++) {
-            setVars(center, keys, chars[i], i, i, size, i == 0, i + 1 == size);
+            setVars(center, slots, chars[i], i, i, size, i == 0, i + 1 == size);
             renderWhen(center, target, children, length);
         }
     }
 
     private final static void renderResultSet(
-        WorkCenterMap center, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap center, CenterRenderer target, int[] slots, Object data
     ) {
         try {
             ResultSet set = (ResultSet) data;
             CenterRenderer[] children = target.getChildren();
             for (int i = 0, length = children.length, size = NO_SIZE; set.next(); i++) {
-                setVars(center, keys, set, i, i, size, set.isFirst(), set.isLast());
+                setVars(center, slots, set, i, i, size, set.isFirst(), set.isLast());
                 renderWhen(center, target, children, length);
             }
         } catch (SQLException e) {
@@ -93,7 +100,7 @@ class VarSetterIn implements VarSetter {
     }
 
     private final static void renderBean(
-        WorkCenterMap center, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap center, CenterRenderer target, int[] slots, Object data
     ) {
         Map<String, FieldDescriptor> descriptorMap = BeanInfoUtil.getFieldDescriptorsMap(data.getClass());
         CenterRenderer[] children = target.getChildren();
@@ -101,7 +108,7 @@ class VarSetterIn implements VarSetter {
         Set<Map.Entry<String, FieldDescriptor>> entries = descriptorMap.entrySet();
         int outerIndex = 0;
         for (Map.Entry<String, FieldDescriptor> entry : entries) {
-            setVars(center, keys, entry.getValue().getValueIfPresent(data, true),
+            setVars(center, slots, entry.getValue().getValueIfPresent(data, true),
                 entry.getKey(), outerIndex, size, outerIndex == 0, outerIndex + 1 == size);
             renderWhen(center, target, children, length);
             outerIndex++;
@@ -109,12 +116,12 @@ class VarSetterIn implements VarSetter {
     }
 
     private final static void renderNumber(
-        WorkCenterMap center, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap center, CenterRenderer target, int[] slots, Object data
     ) {
         CenterRenderer[] children = target.getChildren();
         final int length = children.length, max = ((Number) data).intValue();
         for (int index = 0; index < max; index++) {
-            setVars(center, keys, index, index, index, max, index == 0, false);
+            setVars(center, slots, index, index, index, max, index == 0, false);
             renderWhen(center, target, children, length);
         }
     }
@@ -124,17 +131,17 @@ class VarSetterIn implements VarSetter {
      *
      * @param center
      * @param target
-     * @param keys
+     * @param slots
      * @param data
      */
     private final static void renderIterator(
-        WorkCenterMap center, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap center, CenterRenderer target, int[] slots, Object data
     ) {
         Iterator iterator = (Iterator) data;
         CenterRenderer[] children = target.getChildren();
         final int length = children.length;
         for (int index = 0, size = NO_SIZE; iterator.hasNext(); index++) {
-            setVars(center, keys, iterator.next(), index, index, size, index == 0, false);
+            setVars(center, slots, iterator.next(), index, index, size, index == 0, false);
             renderWhen(center, target, children, length);
         }
     }
@@ -144,24 +151,24 @@ class VarSetterIn implements VarSetter {
      *
      * @param center
      * @param target
-     * @param keys
+     * @param slots
      * @param data
      */
     private final static void renderIterable(
-        WorkCenterMap center, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap center, CenterRenderer target, int[] slots, Object data
     ) {
         Iterable iterable = (Iterable) data;
         CenterRenderer[] children = target.getChildren();
         final int length = children.length, size = NO_SIZE;
         int outerIndex = 0;
         for (Object item : iterable) {
-            setVars(center, keys, item, outerIndex, outerIndex, size, outerIndex == 0, false);
+            setVars(center, slots, item, outerIndex, outerIndex, size, outerIndex == 0, false);
             renderWhen(center, target, children, length);
         }
     }
 
     private final static void renderArray(
-        WorkCenterMap centerMap, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap centerMap, CenterRenderer target, int[] slots, Object data
     ) {
         ArrayOperators arrayType = ArraysEnum.getOrObjects(data);
         CenterRenderer[] children = target.getChildren();
@@ -169,27 +176,27 @@ class VarSetterIn implements VarSetter {
         int index = 0;
         for (Object item; index < size; index++) {
             item = arrayType.get(data, index);
-            setVars(centerMap, keys, item, index, index, size, index == 0, index + 1 == size);
+            setVars(centerMap, slots, item, index, index, size, index == 0, index + 1 == size);
             renderWhen(centerMap, target, children, length);
         }
     }
 
     private final static void renderCollect(
-        WorkCenterMap centerMap, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap centerMap, CenterRenderer target, int[] slots, Object data
     ) {
         Collection collect = (Collection) data;
         CenterRenderer[] children = target.getChildren();
         final int size = collect.size(), length = children.length;
         int index = 0;
         for (Object item : collect) {
-            setVars(centerMap, keys, item, index, index, size, index == 0, index + 1 == size);
+            setVars(centerMap, slots, item, index, index, size, index == 0, index + 1 == size);
             renderWhen(centerMap, target, children, length);
             index++;
         }
     }
 
     private final static void renderMap(
-        WorkCenterMap centerMap, CenterRenderer target, String[] keys, Object data
+        WorkCenterMap centerMap, CenterRenderer target, int[] slots, Object data
     ) {
         Map map = (Map) data;
         int outerIndex = 0;
@@ -197,7 +204,7 @@ class VarSetterIn implements VarSetter {
         final int size = map.size(), length = children.length;
         Set<Map.Entry> entries = map.entrySet();
         for (Map.Entry entry : entries) {
-            setVars(centerMap, keys, entry.getValue(), entry.getKey(),
+            setVars(centerMap, slots, entry.getValue(), entry.getKey(),
                 outerIndex, size, outerIndex == 0, outerIndex + 1 == size);
             renderWhen(centerMap, target, children, length);
             outerIndex++;
@@ -218,13 +225,31 @@ class VarSetterIn implements VarSetter {
     }
 
     /**
+     * 按解析时计算好的槽位写入循环变量：value, key, index, size, first, last
+     *
      * @param centerMap
-     * @param keys
-     * @param values    value, key, index, size, first, last
+     * @param slots
      */
-    private final static void setVars(WorkCenterMap centerMap, String[] keys, Object... values) {
-        for (int i = 0, len = Math.min(keys.length, values.length); i < len; i++) {
-            centerMap.put(keys[i], values[i]);
+    private final static void setVars(
+        WorkCenterMap centerMap, int[] slots,
+        Object value, Object key, int index, int size, boolean first, boolean last
+    ) {
+        final int length = slots.length;
+        centerMap.setSlot(slots[0], value);
+        if (length > 1) {
+            centerMap.setSlot(slots[1], key);
+            if (length > 2) {
+                centerMap.setSlot(slots[2], index);
+                if (length > 3) {
+                    centerMap.setSlot(slots[3], size);
+                    if (length > 4) {
+                        centerMap.setSlot(slots[4], first);
+                        if (length > 5) {
+                            centerMap.setSlot(slots[5], last);
+                        }
+                    }
+                }
+            }
         }
     }
 }
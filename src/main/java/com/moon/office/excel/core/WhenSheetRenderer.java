@@ -8,6 +8,7 @@ import com.moon.util.compute.RunnerUtil;
  */
 final class WhenSheetRenderer extends AbstractRenderer<TableSheet> {
     private final Runner sheetName;
+    private final boolean autoWidth;
     private final String when;
 
     protected WhenSheetRenderer(TableSheet annotation, CenterRenderer[] children, String[] formatted) {
@@ -15,6 +16,7 @@ final class WhenSheetRenderer extends AbstractRenderer<TableSheet> {
         String sheetName = annotation.sheetName();
         this.sheetName = isZero() ? RunnerUtil.parse(sheetName)
             : RunnerUtil.parse(sheetName, getDelimiters());
+        this.autoWidth = annotation.autoWidth();
 
         this.when = annotation.when().trim();
     }
@@ -33,6 +35,11 @@ final class WhenSheetRenderer extends AbstractRenderer<TableSheet> {
 
     @Override
     public WorkCenterMap beforeRender(WorkCenterMap centerMap) {
-        return centerMap.createSheet(sheetName.run(centerMap));
+        return centerMap.createSheet(sheetName.run(centerMap), autoWidth);
+    }
+
+    @Override
+    public WorkCenterMap afterRender(WorkCenterMap centerMap) {
+        return centerMap.finishSheet();
     }
 }
@@ -2,7 +2,10 @@ package com.moon.office.excel.core;
 
 import com.moon.lang.StringUtil;
 import com.moon.office.excel.enums.ValueType;
-import com.moon.util.compute.RunnerDataMap;
+import com.moon.util.MetricsUtil;
+import com.moon.util.compute.FrameDataMap;
+import com.moon.util.compute.SlotLayout;
+import com.moon.util.metrics.Counter;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -17,21 +20,26 @@ import java.util.function.Supplier;
 /**
  * @author benshaoye
  */
-class WorkCenterMap extends RunnerDataMap
+class WorkCenterMap extends FrameDataMap
     implements Supplier<Workbook> {
     private final static Class TEMP = WorkCenterMap.class;
+    private final static Counter ROWS = MetricsUtil.counter("moon.excel.rows");
     private final Workbook workbook;
     private final int lastRowIndex;
     private final HashMap<Integer, HashMap<Integer, Class>> mergeManage = new HashMap<>();
 
-    public WorkCenterMap(Workbook workbook, Object... data) {
-        super(data);
+    public WorkCenterMap(Workbook workbook, SlotLayout layout, Object... data) {
+        this(workbook, (2 << (workbook instanceof HSSFWorkbook ? 16 : 20)) - 5, layout, data);
+    }
+
+    protected WorkCenterMap(Workbook workbook, int lastRowIndex, SlotLayout layout, Object... data) {
+        super(layout, data);
         this.workbook = workbook;
-        this.lastRowIndex = (2 << (workbook instanceof HSSFWorkbook ? 16 : 20)) - 5;
+        this.lastRowIndex = lastRowIndex;
     }
 
     public WorkCenterMap(Supplier<Workbook> type) {
-        this(type.get());
+        this(type.get(), new SlotLayout());
     }
 
     @Override
@@ -58,15 +66,69 @@ class WorkCenterMap extends RunnerDataMap
     private int currentRowIndex;
     private int currentCellIndex;
 
+    private boolean autoWidth;
+    private ColumnWidthTracker widthTracker;
+
+    WorkCenterMap createSheet(String sheetName, boolean autoWidth) {
+        // 上一个 sheet 按它自己的 autoWidth 结束
+        finishSheet();
+        this.autoWidth = autoWidth;
+        if (autoWidth && widthTracker == null) {
+            widthTracker = new ColumnWidthTracker(workbook);
+        }
+        return newSheet(sheetName);
+    }
+
     WorkCenterMap createSheet(String sheetName) {
-        currentSheet = ensureCreateSheet(String.valueOf(sheetName));
+        finishSheet();
+        return newSheet(sheetName);
+    }
+
+    private WorkCenterMap newSheet(String sheetName) {
+        openSheet(String.valueOf(sheetName));
         currentRowIndex = 0;
         mergeManage.clear();
         return this;
     }
 
+    /**
+     * 当前 sheet 结束，应用自适应列宽
+     *
+     * @return
+     */
+    WorkCenterMap finishSheet() {
+        if (autoWidth && currentSheet != null) {
+            widthTracker.applyTo(currentSheet);
+        }
+        return this;
+    }
+
     private int prevRowIndex;
 
+    /*
+     * -------------------------------------------------------
+     * 以下 openXxx 是实际创建文档结构的地方，位置计算都在调用方完成，
+     * 输出目标不是 Workbook 时（如 CSV）重写这几个方法即可
+     * -------------------------------------------------------
+     */
+
+    void openSheet(String sheetName) {
+        currentSheet = ensureCreateSheet(sheetName);
+    }
+
+    void openRow(int rowIndex) {
+        ROWS.increment();
+        currentRow = currentSheet.createRow(rowIndex);
+    }
+
+    void openCell(int cellIndex) {
+        currentCell = currentRow.createCell(cellIndex);
+    }
+
+    void addMergedRegion(CellRangeAddress range) {
+        currentSheet.addMergedRegion(range);
+    }
+
     private Sheet ensureCreateSheet(String sheetName) {
         Sheet sheet = workbook.getSheet(sheetName);
         if (sheet == null) {
@@ -94,17 +156,21 @@ class WorkCenterMap extends RunnerDataMap
         }
     }
 
+    String currentSheetName() {
+        return currentSheet.getSheetName();
+    }
+
     WorkCenterMap createNextRow(int skips) {
         int actualIndex = prevRowIndex = currentRowIndex + skips, index;
         if (actualIndex > lastRowIndex) {
-            createSheet(currentSheet.getSheetName());
+            createSheet(currentSheetName());
             return createNextRow(0);
         } else {
             for (index = currentRowIndex - 1; index < actualIndex; index++) {
                 mergeManage.remove(index);
             }
 
-            currentRow = currentSheet.createRow(actualIndex);
+            openRow(actualIndex);
             currentRowIndex = actualIndex + 1;
 
             currentCellIndex = 0;
@@ -123,15 +189,14 @@ class WorkCenterMap extends RunnerDataMap
         CellStyleUtil.setRowStyle(workbook, currentSheet, null, currentRow, getStyles(className));
     }
 
-    WorkCenterMap createNextCell(int colspan, int rowspan, int skips, ValueType type) {
+    WorkCenterMap createNextCell(int colspan, int rowspan, int skips) {
         int index = currentCellIndex + skips;
         HashMap<Integer, Class> row = mergeManage.get(prevRowIndex);
         if (row != null) {
             for (; row.get(index) != null; index++) {
             }
         }
-        Cell cell = this.currentCell = currentRow.createCell(index);
-        cell.setCellType(type.TYPE);
+        openCell(index);
         createMergeRegion(colspan, rowspan, index);
         return this;
     }
@@ -139,6 +204,9 @@ class WorkCenterMap extends RunnerDataMap
     WorkCenterMap setWidth(int width) {
         if (width > -1) {
             currentSheet.setColumnWidth(currentCellIndex - 1, width);
+            if (autoWidth) {
+                widthTracker.fix(currentCellIndex - 1);
+            }
         }
         return this;
     }
@@ -160,7 +228,7 @@ class WorkCenterMap extends RunnerDataMap
 
     private void fillRegionCell(int firstRow, int lastRow, int firstCell, int lastCell) {
         CellRangeAddress range = new CellRangeAddress(firstRow, lastRow, firstCell, lastCell);
-        currentSheet.addMergedRegion(range);
+        addMergedRegion(range);
         currentRange = range;
         for (int i = firstRow, outerEnd = lastRow + 1; i < outerEnd; i++) {
             HashMap<Integer, Class> current = mergeManage.get(i);
@@ -173,8 +241,19 @@ class WorkCenterMap extends RunnerDataMap
         }
     }
 
-    WorkCenterMap setCellValue(Object value) {
-        currentCell.setCellValue(String.valueOf(value));
+    /**
+     * 由 type 按值的实际类型直接写入，不经过中间字符串或包装对象
+     *
+     * @param value
+     * @param type
+     * @return
+     */
+    WorkCenterMap setCellValue(Object value, ValueType type) {
+        Cell cell = currentCell;
+        type.setCellValue(cell, value);
+        if (autoWidth && currentRange == null) {
+            widthTracker.track(cell, value);
+        }
         return this;
     }
 
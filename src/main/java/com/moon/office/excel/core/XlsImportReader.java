@@ -0,0 +1,157 @@
+package com.moon.office.excel.core;
+
+import com.moon.lang.ThrowUtil;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 以 HSSF 事件模型读取 xls，记录按流的顺序到达，不构建任何 usermodel 对象
+ *
+ * @author benshaoye
+ */
+final class XlsImportReader implements HSSFListener {
+
+    static void read(File file, ImportCollector collector) {
+        try (POIFSFileSystem fs = new POIFSFileSystem(file, true)) {
+            XlsImportReader reader = new XlsImportReader(collector);
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(reader.formats);
+            new HSSFEventFactory().processWorkbookEvents(request, fs);
+        } catch (Exception e) {
+            ThrowUtil.wrapAndThrow(e);
+        }
+    }
+
+    private final ImportCollector collector;
+    private final FormatTrackingHSSFListener formats;
+    private final List<BoundSheetRecord> sheetRecords = new ArrayList<>();
+
+    private BoundSheetRecord[] orderedSheets;
+    private SSTRecord strings;
+    private int sheetIndex = -1;
+    /**
+     * BOF 与 EOF 的嵌套深度：工作表内嵌的图表有自己的 BOF/EOF
+     */
+    private int depth;
+    private boolean reading;
+    private boolean worksheet;
+    private FormulaRecord formulaWithString;
+
+    private XlsImportReader(ImportCollector collector) {
+        this.collector = collector;
+        this.formats = new FormatTrackingHSSFListener(this);
+    }
+
+    @Override
+    public void processRecord(Record record) {
+        switch (record.getSid()) {
+            case BoundSheetRecord.sid:
+                sheetRecords.add((BoundSheetRecord) record);
+                break;
+            case BOFRecord.sid:
+                int type = ((BOFRecord) record).getType();
+                if (depth++ == 0 && type != BOFRecord.TYPE_WORKBOOK) {
+                    // 每个 sheet 级的 BOF（包括图表 sheet）都占一个序号，与工作簿中的顺序一致
+                    if (orderedSheets == null) {
+                        orderedSheets = BoundSheetRecord.orderByBofPosition(sheetRecords);
+                    }
+                    sheetIndex++;
+                    String name = sheetIndex < orderedSheets.length ? orderedSheets[sheetIndex].getSheetname() : null;
+                    worksheet = type == BOFRecord.TYPE_WORKSHEET;
+                    reading = collector.startSheet(sheetIndex, name);
+                }
+                break;
+            case EOFRecord.sid:
+                if (--depth == 0 && reading) {
+                    reading = false;
+                    collector.endSheet();
+                }
+                break;
+            case SSTRecord.sid:
+                strings = (SSTRecord) record;
+                break;
+            default:
+                if (reading && worksheet && depth == 1) {
+                    processCell(record);
+                }
+                break;
+        }
+    }
+
+    private void processCell(Record record) {
+        switch (record.getSid()) {
+            case NumberRecord.sid:
+                NumberRecord number = (NumberRecord) record;
+                setCellValue(number, toNumber(number, number.getValue()));
+                break;
+            case LabelSSTRecord.sid:
+                LabelSSTRecord label = (LabelSSTRecord) record;
+                setCellValue(label, strings.getString(label.getSSTIndex()).getString());
+                break;
+            case LabelRecord.sid:
+                LabelRecord labelRecord = (LabelRecord) record;
+                setCellValue(labelRecord, labelRecord.getValue());
+                break;
+            case BoolErrRecord.sid:
+                BoolErrRecord bool = (BoolErrRecord) record;
+                if (bool.isBoolean()) {
+                    setCellValue(bool, bool.getBooleanValue());
+                }
+                break;
+            case FormulaRecord.sid:
+                FormulaRecord formula = (FormulaRecord) record;
+                if (formula.hasCachedResultString()) {
+                    formulaWithString = formula;
+                } else {
+                    CellType type = CellType.forInt(formula.getCachedResultType());
+                    if (type == CellType.BOOLEAN) {
+                        setCellValue(formula, formula.getCachedBooleanValue());
+                    } else if (type == CellType.NUMERIC) {
+                        setCellValue(formula, toNumber(formula, formula.getValue()));
+                    }
+                }
+                break;
+            case StringRecord.sid:
+                if (formulaWithString != null) {
+                    setCellValue(formulaWithString, ((StringRecord) record).getString());
+                    formulaWithString = null;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Object toNumber(CellValueRecordInterface record, double value) {
+        int index = formats.getFormatIndex(record);
+        if (DateUtil.isADateFormat(index, formats.getFormatString(index))) {
+            return DateUtil.getJavaDate(value);
+        }
+        return OtherUtil.toNumber(value);
+    }
+
+    private void setCellValue(CellValueRecordInterface record, Object value) {
+        collector.setCellValue(record.getRow(), record.getColumn(), value);
+    }
+}
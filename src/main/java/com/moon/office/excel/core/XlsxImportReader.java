@@ -0,0 +1,181 @@
+package com.moon.office.excel.core;
+
+import com.moon.lang.ThrowUtil;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 以 SAX 方式读取 xlsx，只解析需要的 sheet，不构建任何 usermodel 对象
+ *
+ * @author benshaoye
+ */
+final class XlsxImportReader extends DefaultHandler {
+
+    private final static String ROW = "row";
+    private final static String CELL = "c";
+    private final static String VALUE = "v";
+    private final static String INLINE_TEXT = "t";
+    private final static String INLINE_STR = "inlineStr";
+
+    static void read(File file, ImportCollector collector) {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XlsxImportReader handler = new XlsxImportReader(
+                new ReadOnlySharedStringsTable(pkg), reader.getStylesTable(), collector);
+            XMLReader parser = SAXHelper.newXMLReader();
+            parser.setContentHandler(handler);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (int index = 0; sheets.hasNext(); index++) {
+                try (InputStream sheet = sheets.next()) {
+                    if (collector.startSheet(index, sheets.getSheetName())) {
+                        handler.rowIndex = -1;
+                        parser.parse(new InputSource(sheet));
+                        collector.endSheet();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            ThrowUtil.wrapAndThrow(e);
+        }
+    }
+
+    private final ReadOnlySharedStringsTable strings;
+    private final StylesTable styles;
+    private final ImportCollector collector;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private final StringBuilder text = new StringBuilder();
+
+    private int rowIndex;
+    private int cellIndex;
+    private String cellType;
+    private String cellStyle;
+    private boolean reading;
+
+    private XlsxImportReader(ReadOnlySharedStringsTable strings, StylesTable styles, ImportCollector collector) {
+        this.strings = strings;
+        this.styles = styles;
+        this.collector = collector;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case ROW:
+                String r = attributes.getValue("r");
+                rowIndex = r == null ? rowIndex + 1 : Integer.parseInt(r) - 1;
+                cellIndex = -1;
+                break;
+            case CELL:
+                cellIndex = toCellIndex(attributes.getValue("r"), cellIndex);
+                cellType = attributes.getValue("t");
+                cellStyle = attributes.getValue("s");
+                text.setLength(0);
+                break;
+            case VALUE:
+            case INLINE_TEXT:
+                reading = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (reading) {
+            text.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        switch (localName) {
+            case VALUE:
+            case INLINE_TEXT:
+                reading = false;
+                break;
+            case CELL:
+                if (text.length() > 0) {
+                    collector.setCellValue(rowIndex, cellIndex, toValue(text.toString()));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Object toValue(String value) {
+        String type = cellType;
+        if (type == null || "n".equals(type)) {
+            if (isDateStyle(cellStyle)) {
+                return DateUtil.getJavaDate(Double.parseDouble(value));
+            }
+            return OtherUtil.toNumber(value);
+        }
+        switch (type) {
+            case "s":
+                return strings.getItemAt(Integer.parseInt(value)).getString();
+            case "b":
+                return "1".equals(value);
+            case "e":
+                return null;
+            case INLINE_STR:
+            case "str":
+            default:
+                return value;
+        }
+    }
+
+    private boolean isDateStyle(String style) {
+        if (style == null || styles == null) {
+            return false;
+        }
+        Integer index = Integer.valueOf(style);
+        Boolean date = dateStyles.get(index);
+        if (date == null) {
+            XSSFCellStyle cellStyle = styles.getStyleAt(index);
+            date = cellStyle != null && DateUtil.isADateFormat(
+                cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+            dateStyles.put(index, date);
+        }
+        return date;
+    }
+
+    /**
+     * "AB12" => 27
+     *
+     * @param reference
+     * @param prevIndex
+     * @return
+     */
+    private final static int toCellIndex(String reference, int prevIndex) {
+        if (reference == null) {
+            return prevIndex + 1;
+        }
+        int index = 0;
+        for (int i = 0, len = reference.length(); i < len; i++) {
+            char ch = reference.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                index = index * 26 + (ch - 'A' + 1);
+            } else {
+                break;
+            }
+        }
+        return index - 1;
+    }
+}
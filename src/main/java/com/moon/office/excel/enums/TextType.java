@@ -0,0 +1,28 @@
+package com.moon.office.excel.enums;
+
+import java.util.function.Predicate;
+
+/**
+ * 纯文本导出格式，与 {@link ExcelType} 共用同一套 TableExcel 模板；
+ * 文本格式没有样式、列宽和合并单元格，合并区域只占位不输出
+ *
+ * @author benshaoye
+ */
+public enum TextType implements Predicate<String> {
+    CSV(".csv", ','),
+    TSV(".tsv", '\t');
+
+    public final char DELIMITER;
+
+    private final String suffix;
+
+    TextType(String suffix, char delimiter) {
+        this.suffix = suffix;
+        this.DELIMITER = delimiter;
+    }
+
+    @Override
+    public boolean test(String name) {
+        return name == null ? false : name.toLowerCase().endsWith(suffix);
+    }
+}
@@ -2,20 +2,51 @@ package com.moon.office.excel.enums;
 
 import com.moon.exception.NumberException;
 import com.moon.lang.BooleanUtil;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 
 import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.Date;
 import java.util.function.Function;
 
 /**
+ * 单元格值类型
+ * <p>
+ * {@link #setCellValue(Cell, Object)} 按值的实际类型直接调用 POI 对应的 setCellValue 重载，
+ * 数字、日期、布尔值不会先转换成字符串或其他包装对象
+ *
  * @author benshaoye
  */
 public enum ValueType implements Function {
+    /**
+     * 按值的实际类型写入：数字、布尔、日期写成对应类型的单元格，其他写成字符串
+     */
     _NONE(CellType._NONE) {
         @Override
         public Object apply(Object o) {
             return STRING.apply(o);
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+            if (o == null) {
+                return;
+            }
+            if (o instanceof String) {
+                cell.setCellValue((String) o);
+            } else if (o instanceof Number) {
+                cell.setCellValue(((Number) o).doubleValue());
+            } else if (o instanceof Boolean) {
+                cell.setCellValue(((Boolean) o).booleanValue());
+            } else if (o instanceof Date) {
+                cell.setCellValue((Date) o);
+            } else if (o instanceof Calendar) {
+                cell.setCellValue((Calendar) o);
+            } else {
+                cell.setCellValue(o.toString());
+            }
+        }
     },
 
     NUMERIC(CellType.NUMERIC) {
@@ -28,6 +59,15 @@ public enum ValueType implements Function {
             }
             throw new NumberException(String.valueOf(o));
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+            if (o instanceof Number) {
+                cell.setCellValue(((Number) o).doubleValue());
+            } else {
+                throw new NumberException(String.valueOf(o));
+            }
+        }
     },
 
     STRING(CellType.STRING) {
@@ -35,6 +75,11 @@ public enum ValueType implements Function {
         public Object apply(Object o) {
             return o == null ? "" : o.toString();
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+            cell.setCellValue(o == null ? "" : o.toString());
+        }
     },
 
     FORMULA(CellType.FORMULA) {
@@ -42,6 +87,13 @@ public enum ValueType implements Function {
         public Object apply(Object o) {
             return null;
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+            if (o != null) {
+                cell.setCellFormula(o.toString());
+            }
+        }
     },
 
     BLANK(CellType.BLANK) {
@@ -49,6 +101,10 @@ public enum ValueType implements Function {
         public Object apply(Object o) {
             return "";
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+        }
     },
 
     BOOLEAN(CellType.BOOLEAN) {
@@ -56,6 +112,11 @@ public enum ValueType implements Function {
         public Object apply(Object o) {
             return BooleanUtil.toBoolean(o);
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+            cell.setCellValue(o instanceof Boolean ? (Boolean) o : BooleanUtil.toBooleanValue(o));
+        }
     },
 
     ERROR(CellType.ERROR) {
@@ -63,6 +124,11 @@ public enum ValueType implements Function {
         public Object apply(Object o) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        public void setCellValue(Cell cell, Object o) {
+            throw new UnsupportedOperationException();
+        }
     };
 
     public final CellType TYPE;
@@ -70,4 +136,12 @@ public enum ValueType implements Function {
     ValueType(CellType type) {
         TYPE = type;
     }
+
+    /**
+     * 将表达式返回值以当前类型写入单元格
+     *
+     * @param cell
+     * @param o
+     */
+    public abstract void setCellValue(Cell cell, Object o);
 }
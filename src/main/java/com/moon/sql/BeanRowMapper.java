@@ -0,0 +1,178 @@
+package com.moon.sql;
+
+import com.moon.beans.BeanBinder;
+import com.moon.beans.BeanInfoUtil;
+import com.moon.lang.ThrowUtil;
+import com.moon.util.TypeConverter;
+import com.moon.util.TypeUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按列号映射到实体：列与属性在创建时按列名（忽略大小写）匹配一次，
+ * 基本类型属性用 getInt / getLong 等直接取值并以不装箱的 setter 写入，
+ * 列值为 null 时保留属性默认值
+ *
+ * @author benshaoye
+ */
+final class BeanRowMapper<T> implements RowMapper<T> {
+
+    private final BeanBinder<T> binder;
+    private final Column[] columns;
+
+    BeanRowMapper(String[] labels, Class<T> type) {
+        BeanBinder<T> binder = BeanInfoUtil.getBeanBinder(type);
+        Map<String, Integer> properties = new HashMap<>();
+        for (int i = 0, size = binder.size(); i < size; i++) {
+            properties.putIfAbsent(binder.getName(i).toLowerCase(), i);
+        }
+        List<Column> columns = new ArrayList<>(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            // 重复的列名只取第一列，与按列名取值一致
+            Integer index = properties.remove(labels[i].toLowerCase());
+            if (index != null) {
+                columns.add(Column.of(i + 1, binder.getPropertyType(index), binder.getSetter(index)));
+            }
+        }
+        this.binder = binder;
+        this.columns = columns.toArray(new Column[columns.size()]);
+    }
+
+    @Override
+    public T mapRow(ResultSet set) throws SQLException {
+        T bean = binder.newInstance();
+        try {
+            for (Column column : columns) {
+                column.setValue(set, bean);
+            }
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            ThrowUtil.throwRuntime(e);
+        }
+        return bean;
+    }
+
+    private abstract static class Column {
+        final int index;
+        final MethodHandle setter;
+
+        Column(int index, MethodHandle setter, Class type) {
+            this.index = index;
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+        }
+
+        abstract void setValue(ResultSet set, Object bean) throws Throwable;
+
+        static Column of(int index, Class type, MethodHandle setter) {
+            if (type == int.class) {
+                return new IntColumn(index, setter);
+            } else if (type == long.class) {
+                return new LongColumn(index, setter);
+            } else if (type == double.class) {
+                return new DoubleColumn(index, setter);
+            } else if (type == boolean.class) {
+                return new BooleanColumn(index, setter);
+            } else if (type == String.class) {
+                return new StringColumn(index, setter);
+            }
+            return new ObjectColumn(index, setter, type);
+        }
+    }
+
+    private final static class IntColumn extends Column {
+        IntColumn(int index, MethodHandle setter) {
+            super(index, setter, int.class);
+        }
+
+        @Override
+        void setValue(ResultSet set, Object bean) throws Throwable {
+            int value = set.getInt(index);
+            if (!set.wasNull()) {
+                setter.invokeExact(bean, value);
+            }
+        }
+    }
+
+    private final static class LongColumn extends Column {
+        LongColumn(int index, MethodHandle setter) {
+            super(index, setter, long.class);
+        }
+
+        @Override
+        void setValue(ResultSet set, Object bean) throws Throwable {
+            long value = set.getLong(index);
+            if (!set.wasNull()) {
+                setter.invokeExact(bean, value);
+            }
+        }
+    }
+
+    private final static class DoubleColumn extends Column {
+        DoubleColumn(int index, MethodHandle setter) {
+            super(index, setter, double.class);
+        }
+
+        @Override
+        void setValue(ResultSet set, Object bean) throws Throwable {
+            double value = set.getDouble(index);
+            if (!set.wasNull()) {
+                setter.invokeExact(bean, value);
+            }
+        }
+    }
+
+    private final static class BooleanColumn extends Column {
+        BooleanColumn(int index, MethodHandle setter) {
+            super(index, setter, boolean.class);
+        }
+
+        @Override
+        void setValue(ResultSet set, Object bean) throws Throwable {
+            boolean value = set.getBoolean(index);
+            if (!set.wasNull()) {
+                setter.invokeExact(bean, value);
+            }
+        }
+    }
+
+    private final static class StringColumn extends Column {
+        StringColumn(int index, MethodHandle setter) {
+            super(index, setter, String.class);
+        }
+
+        @Override
+        void setValue(ResultSet set, Object bean) throws Throwable {
+            String value = set.getString(index);
+            if (!set.wasNull()) {
+                setter.invokeExact(bean, value);
+            }
+        }
+    }
+
+    private final static class ObjectColumn extends Column {
+        private final static TypeConverter CONVERTER = TypeUtil.cast();
+
+        private final Class type;
+
+        ObjectColumn(int index, MethodHandle setter, Class type) {
+            super(index, setter, Object.class);
+            this.type = type;
+        }
+
+        @Override
+        void setValue(ResultSet set, Object bean) throws Throwable {
+            Object value = set.getObject(index);
+            if (value != null) {
+                setter.invokeExact(bean, CONVERTER.toType(value, type));
+            }
+        }
+    }
+}
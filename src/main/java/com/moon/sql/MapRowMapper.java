@@ -0,0 +1,30 @@
+package com.moon.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 按列号映射成 {@link RowMap}，所有行共享列名索引
+ *
+ * @author benshaoye
+ */
+final class MapRowMapper implements RowMapper<Map<String, Object>> {
+
+    private final RowMap.Columns columns;
+
+    MapRowMapper(String[] labels) {
+        this.columns = new RowMap.Columns(labels);
+    }
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet set) throws SQLException {
+        final int[] columnIndexes = columns.columnIndexes;
+        final int length = columnIndexes.length;
+        Object[] values = new Object[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = set.getObject(columnIndexes[i]);
+        }
+        return new RowMap(columns, values);
+    }
+}
@@ -59,16 +59,7 @@ public final class ResultSetUtil {
      * @return
      */
     public static List<Map<String, Object>> restToMap(ResultSet set) {
-        try {
-            String[] columns = getColumnsLabel(set);
-            List<Map<String, Object>> ret = new ArrayList<>();
-            while (set.next()) {
-                ret.add(oneToMap(set, columns));
-            }
-            return ret;
-        } catch (Exception e) {
-            return wrapAndThrow(e);
-        }
+        return restTo(set, mapMapper(set));
     }
 
     /**
@@ -152,19 +143,99 @@ public final class ResultSetUtil {
      * @return
      */
     public static <T> List<T> restToInstance(ResultSet set, Class<T> type) {
+        return restTo(set, beanMapper(set, type));
+    }
+
+    /**
+     * 将所有剩余行用 mapper 映射，放进 List 返回
+     *
+     * @param set
+     * @param mapper
+     * @param <T>
+     * @return
+     */
+    public static <T> List<T> restTo(ResultSet set, RowMapper<T> mapper) {
+        List<T> ret = new ArrayList<>();
+        forEach(set, mapper, ret::add);
+        return ret;
+    }
+
+    /*
+     * -------------------------------------------------------------------------------
+     * row mapper
+     * -------------------------------------------------------------------------------
+     */
+
+    /**
+     * 返回按列号映射到 type 实例的 RowMapper，创建时读取一次列信息；
+     * 列名与属性名忽略大小写匹配，没有对应属性的列忽略，列值为 null 时保留属性默认值
+     *
+     * @param set
+     * @param type
+     * @param <T>
+     * @return
+     */
+    public static <T> RowMapper<T> beanMapper(ResultSet set, Class<T> type) {
+        return new BeanRowMapper<>(getColumnsLabel(set), type);
+    }
+
+    /**
+     * 返回按列号映射成 Map 的 RowMapper，所有行共享列名索引，每行只保存一个值数组
+     *
+     * @param set
+     * @return
+     */
+    public static RowMapper<Map<String, Object>> mapMapper(ResultSet set) {
+        return new MapRowMapper(getColumnsLabel(set));
+    }
+
+    /**
+     * 逐行映射剩余行，不在内存中保留所有数据
+     *
+     * @param set
+     * @param mapper
+     * @param consumer
+     * @param <T>
+     */
+    public static <T> void forEach(ResultSet set, RowMapper<T> mapper, Consumer<? super T> consumer) {
         try {
-            Map<String, FieldDescriptor> descMap = BeanInfoUtil.getFieldDescriptorsMap(type);
-            List<T> ret = new ArrayList<>();
             while (set.next()) {
-                T bean = ConstructorUtil.newInstance(type);
-                Consumer<FieldDescriptor> consumer = getConsumer(set, bean);
-                descMap.forEach((name, desc) -> desc.ifSetterPresent(consumer));
-                ret.add(bean);
+                consumer.accept(mapper.mapRow(set));
             }
-            return ret;
-        } catch (Exception e) {
-            return wrapAndThrow(e);
+        } catch (SQLException e) {
+            wrapAndThrow(e);
+        }
+    }
+
+    /**
+     * 逐行映射剩余行，并提示驱动每次获取 fetchSize 行
+     *
+     * @param set
+     * @param fetchSize
+     * @param mapper
+     * @param consumer
+     * @param <T>
+     */
+    public static <T> void forEach(ResultSet set, int fetchSize, RowMapper<T> mapper, Consumer<? super T> consumer) {
+        try {
+            set.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            wrapAndThrow(e);
         }
+        forEach(set, mapper, consumer);
+    }
+
+    /**
+     * 逐行映射剩余行到 type 实例
+     *
+     * @param set
+     * @param fetchSize
+     * @param type
+     * @param consumer
+     * @param <T>
+     */
+    public static <T> void forEach(ResultSet set, int fetchSize, Class<T> type, Consumer<? super T> consumer) {
+        forEach(set, fetchSize, beanMapper(set, type), consumer);
     }
 
 
@@ -0,0 +1,220 @@
+package com.moon.sql;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 一行查询结果：同一个结果集的所有行共享列名和列位置索引，每行只持有一个值数组；
+ * 新增列名以外的键时存入额外的 Map，行为与普通 Map 一致
+ *
+ * @author benshaoye
+ */
+final class RowMap extends AbstractMap<String, Object> {
+
+    /**
+     * 被移除的列
+     */
+    private final static Object REMOVED = new Object();
+
+    /**
+     * 同一结果集共享的列信息，重复的列名只保留第一列（与按列名取值一致）
+     */
+    final static class Columns {
+        final String[] labels;
+        /**
+         * labels[i] 在结果集中的列号（从 1 开始）
+         */
+        final int[] columnIndexes;
+        final Map<Object, Integer> indexes;
+
+        Columns(String[] allLabels) {
+            final int length = allLabels.length;
+            Map<Object, Integer> indexes = new HashMap<>(length * 4 / 3 + 1);
+            String[] labels = new String[length];
+            int[] columnIndexes = new int[length];
+            int size = 0;
+            for (int i = 0; i < length; i++) {
+                String label = allLabels[i];
+                if (!indexes.containsKey(label)) {
+                    indexes.put(label, size);
+                    labels[size] = label;
+                    columnIndexes[size++] = i + 1;
+                }
+            }
+            this.indexes = indexes;
+            this.labels = size == length ? labels : Arrays.copyOf(labels, size);
+            this.columnIndexes = size == length ? columnIndexes : Arrays.copyOf(columnIndexes, size);
+        }
+    }
+
+    private final Columns columns;
+    private final Object[] values;
+    private Map<String, Object> extra;
+    private int removedCount;
+    private Set<Entry<String, Object>> entrySet;
+
+    RowMap(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        int size = values.length - removedCount;
+        return extra == null ? size : size + extra.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Integer index = columns.indexes.get(key);
+        if (index != null) {
+            return values[index] != REMOVED;
+        }
+        return extra != null && extra.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer index = columns.indexes.get(key);
+        if (index != null) {
+            Object value = values[index];
+            return value == REMOVED ? null : value;
+        }
+        return extra == null ? null : extra.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Integer index = columns.indexes.get(key);
+        if (index != null) {
+            Object old = values[index];
+            values[index] = value;
+            if (old == REMOVED) {
+                removedCount--;
+                return null;
+            }
+            return old;
+        }
+        if (extra == null) {
+            extra = new LinkedHashMap<>();
+        }
+        return extra.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Integer index = columns.indexes.get(key);
+        if (index != null) {
+            Object old = values[index];
+            if (old == REMOVED) {
+                return null;
+            }
+            values[index] = REMOVED;
+            removedCount++;
+            return old;
+        }
+        return extra == null ? null : extra.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        Object[] values = this.values;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = REMOVED;
+        }
+        removedCount = values.length;
+        extra = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> set = entrySet;
+        return set == null ? (entrySet = new EntrySet()) : set;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return RowMap.this.size();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int index = -1;
+        private int nextIndex = seek(0);
+        private Iterator<Entry<String, Object>> extraIterator;
+
+        private int seek(int from) {
+            Object[] values = RowMap.this.values;
+            for (int i = from; i < values.length; i++) {
+                if (values[i] != REMOVED) {
+                    return i;
+                }
+            }
+            return values.length;
+        }
+
+        private Iterator<Entry<String, Object>> extraIterator() {
+            if (extraIterator == null && extra != null) {
+                extraIterator = extra.entrySet().iterator();
+            }
+            return extraIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextIndex < values.length) {
+                return true;
+            }
+            Iterator<Entry<String, Object>> iterator = extraIterator();
+            return iterator != null && iterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (nextIndex < values.length) {
+                final int current = index = nextIndex;
+                nextIndex = seek(current + 1);
+                return new SimpleEntry<String, Object>(columns.labels[current], values[current]) {
+                    @Override
+                    public Object setValue(Object value) {
+                        values[current] = value;
+                        return super.setValue(value);
+                    }
+                };
+            }
+            Iterator<Entry<String, Object>> iterator = extraIterator();
+            if (iterator == null) {
+                throw new NoSuchElementException();
+            }
+            index = values.length;
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (index < 0) {
+                throw new IllegalStateException();
+            } else if (index < values.length) {
+                if (values[index] != REMOVED) {
+                    values[index] = REMOVED;
+                    removedCount++;
+                }
+            } else {
+                extraIterator.remove();
+            }
+        }
+    }
+}
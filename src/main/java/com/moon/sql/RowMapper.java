@@ -0,0 +1,24 @@
+package com.moon.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 将 ResultSet 当前行映射成一个对象；
+ * 由 {@link ResultSetUtil} 创建的实现在创建时读取一次 ResultSetMetaData，之后按列号取值
+ *
+ * @author benshaoye
+ * @see ResultSetUtil#beanMapper(ResultSet, Class)
+ * @see ResultSetUtil#mapMapper(ResultSet)
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * 映射当前行
+     *
+     * @param set
+     * @return
+     * @throws SQLException
+     */
+    T mapRow(ResultSet set) throws SQLException;
+}
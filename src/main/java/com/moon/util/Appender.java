@@ -1,6 +1,6 @@
 package com.moon.util;
 
-import com.moon.util.concurrent.ExecutorUtil;
+import com.moon.util.console.AsyncConsoleWriter;
 
 import java.io.PrintStream;
 import java.util.function.Function;
@@ -24,12 +24,12 @@ public interface Appender extends Function<Console.Level, PrintStream> {
     PrintStream apply(Console.Level level);
 
     /**
-     * 追加输出指定级别内容
+     * 追加输出指定级别内容，输出流和内容都在异步输出线程中获取
      *
      * @param level
      * @param supplier
      */
     default void append(Console.Level level, Supplier supplier) {
-        ExecutorUtil.execute(() -> apply(level).println(supplier.get()));
+        AsyncConsoleWriter.getDefault().println(this, level, supplier);
     }
 }
@@ -2,9 +2,11 @@ package com.moon.util;
 
 import com.moon.beans.BeanInfoUtil;
 import com.moon.enums.Converters;
+import com.moon.lang.ClassUtil;
 import com.moon.lang.ThrowUtil;
 import com.moon.lang.ref.WeakAccessor;
 import com.moon.lang.reflect.ConstructorUtil;
+import com.moon.util.metrics.Counter;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
@@ -12,7 +14,11 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 /**
@@ -26,7 +32,15 @@ public class GenericTypeConverter implements TypeConverter {
     protected final WeakAccessor<ArrayBuilder> arrayAccessor = WeakAccessor.of(ArrayBuilder::new);
     protected final WeakAccessor<CollectionBuilder> collectionAccessor = WeakAccessor.of(CollectionBuilder::new);
 
-    protected final Map<Class, BiFunction<Object, Class, Object>> converters = new HashMap<>();
+    protected final Map<Class, BiFunction<Object, Class, Object>> converters = new ConcurrentHashMap<>();
+
+    /**
+     * 转换计划：目标类型 -> 值类型 -> 已确定的转换器
+     * <p>
+     * 以 {@link ClassValue} 保存，随类一起回收，不会因缓存而持有类加载器；
+     * 注册新转换器时整体替换为新的实例，之前正在解析的线程只会写入已废弃的旧实例
+     */
+    private volatile Plans plans = new Plans();
 
     public GenericTypeConverter() {
         registerDefaultConverter();
@@ -167,6 +181,7 @@ public class GenericTypeConverter implements TypeConverter {
     private <C> void add(Class<C> toType, BiFunction<Object, Class<C>, C> func) {
         BiFunction converter = func;
         converters.put(toType, converter);
+        plans = new Plans();
     }
 
     /**
@@ -194,7 +209,9 @@ public class GenericTypeConverter implements TypeConverter {
     @Override
     public <C> TypeConverter registerIfAbsent(Class<C> toType, BiFunction<Object, Class<C>, C> func) {
         BiFunction converter = func;
-        converters.putIfAbsent(toType, converter);
+        if (converters.putIfAbsent(toType, converter) == null) {
+            plans = new Plans();
+        }
         return this;
     }
 
@@ -211,25 +228,94 @@ public class GenericTypeConverter implements TypeConverter {
         if (value == null || type == null) {
             return null;
         }
+        CONVERT.increment();
+        return (T) getPlan(value.getClass(), type).apply(value, type);
+    }
+
+    /**
+     * 取得 valueType 转换到 type 的转换器，同一对类型只解析一次
+     *
+     * @param valueType
+     * @param type
+     * @return
+     */
+    private BiFunction<Object, Class, Object> getPlan(Class valueType, Class type) {
+        return plans.get(type).get(valueType);
+    }
+
+    private final class Plans extends ClassValue<ClassValue<BiFunction<Object, Class, Object>>> {
+
+        @Override
+        protected ClassValue<BiFunction<Object, Class, Object>> computeValue(Class<?> type) {
+            return new ClassValue<BiFunction<Object, Class, Object>>() {
+                @Override
+                protected BiFunction<Object, Class, Object> computeValue(Class<?> valueType) {
+                    PLAN_MISS.increment();
+                    return resolvePlan(valueType, type);
+                }
+            };
+        }
+    }
 
+    private BiFunction<Object, Class, Object> resolvePlan(Class valueType, Class type) {
+        if (isIdentity(valueType, type)) {
+            return IDENTITY;
+        }
         BiFunction<Object, Class, Object> func = converters.get(type);
         if (func != null) {
-            return (T) func.apply(value, type);
+            return func;
         } else if (type.isEnum()) {
-            return (T) converters.get(Enum.class).apply(value, type);
+            return converters.get(Enum.class);
         } else if (type.isArray() || type == Array.class) {
-            return toArray(value, type);
+            return this::toArray;
         } else if (List.class.isAssignableFrom(type)) {
-            return (T) converters.get(List.class).apply(value, type);
+            return converters.get(List.class);
         } else if (Collection.class.isAssignableFrom(type)) {
-            return (T) converters.get(Collection.class).apply(value, type);
+            return converters.get(Collection.class);
         } else if (Map.class.isAssignableFrom(type)) {
-            return (T) converters.get(Map.class).apply(value, type);
-        } else if (value instanceof Map) {
-            return toBean((Map) value, type);
+            return converters.get(Map.class);
+        } else if (Map.class.isAssignableFrom(valueType)) {
+            return (value, toType) -> toBean((Map) value, toType);
         }
+        return IDENTITY;
+    }
+
+    private final static BiFunction<Object, Class, Object> IDENTITY = (value, type) -> value;
+
+    private final static Counter CONVERT = MetricsUtil.counter("moon.converter.toType");
+    private final static Counter PLAN_MISS = MetricsUtil.counter("moon.converter.miss");
+
+    /**
+     * 这些类型的值不可变，对应转换器遇到同类型的值也是原样返回
+     */
+    private final static Set<Class> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+        Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+        Float.class, Double.class, BigInteger.class, BigDecimal.class, String.class,
+        LocalDate.class, LocalTime.class, LocalDateTime.class
+    ));
 
-        return (T) value;
+    /**
+     * 值已经是目标类型时不需要任何转换：
+     * 不可变类型、基本类型对应的包装类型、枚举以及已是目标实现的集合
+     *
+     * @param valueType
+     * @param type
+     * @return
+     */
+    private boolean isIdentity(Class valueType, Class type) {
+        BiFunction registered = converters.get(type);
+        if (registered != null && !(registered instanceof Converters)) {
+            // 自定义转换器不做任何假设
+            return false;
+        }
+        if (type == valueType) {
+            return IMMUTABLE_TYPES.contains(type);
+        } else if (type.isPrimitive()) {
+            return ClassUtil.toWrapperClass(type) == valueType;
+        } else if (type.isEnum()) {
+            return type.isAssignableFrom(valueType);
+        }
+        return false;
     }
 
     private <T, S> T convert(Object value, Class<T> type, Class<S> superType) {
@@ -237,7 +323,10 @@ public class GenericTypeConverter implements TypeConverter {
     }
 
     private <E> E convert(Object value, Class<E> type) {
-        return convert(value, type, type);
+        if (value == null) {
+            return convert(value, type, type);
+        }
+        return (E) getPlan(value.getClass(), type).apply(value, type);
     }
 
     @Override
@@ -397,17 +486,7 @@ public class GenericTypeConverter implements TypeConverter {
         if (clazz == null || map == null) {
             return null;
         }
-        T obj = ConstructorUtil.newInstance(clazz);
-        if (!map.isEmpty()) {
-            BeanInfoUtil.getFieldDescriptorsMap(clazz).forEach((name, desc) -> {
-                map.computeIfPresent(name, (key, value) -> {
-                    desc.ifSetterPresent(descriptor ->
-                        descriptor.setValue(obj, value, true));
-                    return value;
-                });
-            });
-        }
-        return obj;
+        return BeanInfoUtil.getBeanBinder(clazz).bind(map, this);
     }
 
     /**
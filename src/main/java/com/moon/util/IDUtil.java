@@ -1,5 +1,9 @@
 package com.moon.util;
 
+import com.moon.util.identifier.FastUUID;
+import com.moon.util.identifier.ULID;
+import com.moon.util.identifier.UUIDv7;
+
 import java.util.UUID;
 
 import static com.moon.lang.ThrowUtil.noInstanceError;
@@ -8,13 +12,46 @@ import static com.moon.lang.ThrowUtil.noInstanceError;
  * identifier ID 生成器
  *
  * @author benshaoye
+ * @see com.moon.util.identifier.Identifier
  */
 public final class IDUtil {
     private IDUtil() {
         noInstanceError();
     }
 
+    /**
+     * 随机 UUID，使用 ThreadLocalRandom 生成，不能用作令牌等安全用途（此时使用 {@link #secureUuid()}）
+     *
+     * @return
+     */
     public static String uuid() {
+        return FastUUID.INSTANCE.get();
+    }
+
+    /**
+     * 基于 SecureRandom 的随机 UUID
+     *
+     * @return
+     */
+    public static String secureUuid() {
         return UUID.randomUUID().toString();
     }
+
+    /**
+     * 按时间排序的 UUID（版本 7）
+     *
+     * @return
+     */
+    public static String uuidV7() {
+        return UUIDv7.INSTANCE.get();
+    }
+
+    /**
+     * 按时间排序的 ULID
+     *
+     * @return
+     */
+    public static String ulid() {
+        return ULID.INSTANCE.get();
+    }
 }
@@ -211,6 +211,17 @@ public final class IteratorUtil {
         return file == null ? Null : new TextReaderIterator(file);
     }
 
+    /**
+     * 内存映射方式逐行读取文件，每行以 ByteBuffer 视图返回，不复制数据；
+     * 适用于很大的文件
+     *
+     * @param file
+     * @see MappedFileIterator
+     */
+    public static MappedFileIterator ofMappedLines(File file) {
+        return new MappedFileIterator(file);
+    }
+
     /**
      * 文件流迭代读取器
      * 每次将读取的字节放入数组 buffer 中，并返回读取到的长度
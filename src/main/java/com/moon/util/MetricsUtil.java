@@ -0,0 +1,230 @@
+package com.moon.util;
+
+import com.moon.lang.ThrowUtil;
+import com.moon.util.metrics.*;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static com.moon.lang.ThrowUtil.noInstanceError;
+
+/**
+ * 库内部热点路径的指标
+ * <p>
+ * 默认不做任何记录（{@link NoopMetrics}）；调用 {@link #enable()} 使用内置的 {@link SimpleMetrics}，
+ * 或通过 {@link #setProvider(MetricsProvider)}、ServiceLoader 接入其他实现。
+ * <p>
+ * {@link #counter(String)} 等返回的指标可保存在静态常量中，切换实现后自动指向新的实现
+ *
+ * @author benshaoye
+ */
+public final class MetricsUtil {
+
+    private MetricsUtil() {
+        noInstanceError();
+    }
+
+    /**
+     * JMX 导出的 ObjectName
+     */
+    public final static String OBJECT_NAME = "com.moon.util:type=Metrics";
+
+    private final static Map<String, CounterHandle> COUNTERS = new ConcurrentHashMap<>();
+    private final static Map<String, TimerHandle> TIMERS = new ConcurrentHashMap<>();
+    private final static Map<String, HistogramHandle> HISTOGRAMS = new ConcurrentHashMap<>();
+    private final static Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+
+    private static volatile MetricsProvider provider = loadProvider();
+
+    public static Counter counter(String name) {
+        Counter counter = COUNTERS.get(name);
+        if (counter == null) {
+            synchronized (MetricsUtil.class) {
+                counter = COUNTERS.computeIfAbsent(name, key -> new CounterHandle(provider.counter(key)));
+            }
+        }
+        return counter;
+    }
+
+    public static Timer timer(String name) {
+        Timer timer = TIMERS.get(name);
+        if (timer == null) {
+            synchronized (MetricsUtil.class) {
+                timer = TIMERS.computeIfAbsent(name, key -> new TimerHandle(provider.timer(key)));
+            }
+        }
+        return timer;
+    }
+
+    public static Histogram histogram(String name) {
+        Histogram histogram = HISTOGRAMS.get(name);
+        if (histogram == null) {
+            synchronized (MetricsUtil.class) {
+                histogram = HISTOGRAMS.computeIfAbsent(name, key -> new HistogramHandle(provider.histogram(key)));
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * 注册瞬时值，切换实现后自动注册到新的实现
+     *
+     * @param name
+     * @param supplier
+     */
+    public static synchronized void gauge(String name, LongSupplier supplier) {
+        GAUGES.put(name, supplier);
+        provider.gauge(name, supplier);
+    }
+
+    public static MetricsProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * 切换实现，已取得的指标随之切换；null 表示不记录
+     *
+     * @param provider
+     */
+    public static synchronized void setProvider(MetricsProvider provider) {
+        MetricsProvider current = provider == null ? NoopMetrics.INSTANCE : provider;
+        MetricsUtil.provider = current;
+        COUNTERS.forEach((name, handle) -> handle.delegate = current.counter(name));
+        TIMERS.forEach((name, handle) -> handle.delegate = current.timer(name));
+        HISTOGRAMS.forEach((name, handle) -> handle.delegate = current.histogram(name));
+        GAUGES.forEach(current::gauge);
+    }
+
+    /**
+     * 当前不记录时启用内置实现
+     *
+     * @return 当前的实现
+     */
+    public static synchronized MetricsProvider enable() {
+        if (!isEnabled()) {
+            setProvider(new SimpleMetrics());
+        }
+        return provider;
+    }
+
+    public static void disable() {
+        setProvider(null);
+    }
+
+    public static boolean isEnabled() {
+        return provider != NoopMetrics.INSTANCE;
+    }
+
+    public static MetricsSnapshot snapshot() {
+        return provider.snapshot();
+    }
+
+    /**
+     * 注册到平台 MBeanServer（{@link #OBJECT_NAME}），已注册时忽略
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(MetricsUtil::snapshot), name);
+            }
+        } catch (JMException e) {
+            ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    public static synchronized void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            ThrowUtil.throwRuntime(e);
+        }
+    }
+
+    private static MetricsProvider loadProvider() {
+        try {
+            Iterator<MetricsProvider> iterator = ServiceLoader.load(MetricsProvider.class).iterator();
+            if (iterator.hasNext()) {
+                return iterator.next();
+            }
+        } catch (Throwable e) {
+            // 忽略配置错误的实现
+        }
+        return NoopMetrics.INSTANCE;
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * handles：切换实现时只替换 delegate
+     * -------------------------------------------------------------
+     */
+
+    private final static class CounterHandle implements Counter {
+        private volatile Counter delegate;
+
+        CounterHandle(Counter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void increment() {
+            delegate.increment();
+        }
+
+        @Override
+        public void add(long amount) {
+            delegate.add(amount);
+        }
+    }
+
+    private final static class TimerHandle implements Timer {
+        private volatile Timer delegate;
+
+        TimerHandle(Timer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void record(long nanos) {
+            delegate.record(nanos);
+        }
+
+        @Override
+        public long start() {
+            return delegate.start();
+        }
+
+        @Override
+        public void stop(long start) {
+            // 计时期间由不记录切换为记录时 start 为 0，忽略这一次
+            if (start != 0) {
+                delegate.stop(start);
+            }
+        }
+    }
+
+    private final static class HistogramHandle implements Histogram {
+        private volatile Histogram delegate;
+
+        HistogramHandle(Histogram delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void record(long value) {
+            delegate.record(value);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.moon.util.compute;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 带变量帧的 {@link RunnerDataMap}，每次渲染创建一个实例
+ * <p>
+ * 变量按模板的 {@link SlotLayout} 存放在帧数组中：循环变量通过 {@link #setSlot(int, Object)} 按槽位写入；
+ * 外部数据源中的变量在本次渲染中第一次读取时绑定到帧，之后的读取只是一次数组访问，
+ * 所以渲染期间外部数据源的变化不可见。
+ * 按 Map 接口读写时同样先查帧，帧中写入的变量不同时存在于 HashMap 中
+ *
+ * @author benshaoye
+ */
+public class FrameDataMap extends RunnerDataMap {
+
+    private final static Object UNBOUND = new Object();
+
+    private final SlotLayout layout;
+    /**
+     * 按槽位存放的变量值，UNBOUND 表示尚未绑定
+     */
+    private Object[] frame;
+    /**
+     * 通过 setSlot 或 put 写入帧的槽位；其余已绑定的槽位只是外部数据的副本
+     */
+    private boolean[] locals;
+    private int localCount;
+
+    public FrameDataMap(SlotLayout layout, Object... dataArr) {
+        super(dataArr);
+        this.layout = Objects.requireNonNull(layout);
+        int size = layout.size();
+        this.frame = unbound(new Object[size], 0);
+        this.locals = new boolean[size];
+    }
+
+    public final SlotLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * 按槽位读取变量，第一次读取时从当前数据及外部数据源中绑定
+     *
+     * @param slot
+     * @return
+     */
+    public final Object getSlot(int slot) {
+        Object[] frame = this.frame;
+        if (slot < frame.length) {
+            Object value = frame[slot];
+            if (value != UNBOUND) {
+                return value;
+            }
+        }
+        return bind(slot);
+    }
+
+    /**
+     * 按槽位写入变量
+     *
+     * @param slot
+     * @param value
+     */
+    public final void setSlot(int slot, Object value) {
+        writeLocal(slot, value);
+    }
+
+    private Object writeLocal(int slot, Object value) {
+        ensureCapacity(slot);
+        Object old;
+        if (locals[slot]) {
+            old = frame[slot];
+        } else {
+            // 第一次写入时移除 HashMap 中的同名键，保证同一变量只存在一处
+            old = super.remove(layout.nameOf(slot));
+            locals[slot] = true;
+            localCount++;
+        }
+        frame[slot] = value;
+        return old;
+    }
+
+    private Object bind(int slot) {
+        ensureCapacity(slot);
+        Object value = super.get(layout.nameOf(slot));
+        frame[slot] = value;
+        return value;
+    }
+
+    private void ensureCapacity(int slot) {
+        int length = frame.length;
+        if (slot >= length) {
+            int capacity = Math.max(slot + 1, layout.size());
+            frame = unbound(Arrays.copyOf(frame, capacity), length);
+            locals = Arrays.copyOf(locals, capacity);
+        }
+    }
+
+    private static Object[] unbound(Object[] frame, int from) {
+        Arrays.fill(frame, from, frame.length, UNBOUND);
+        return frame;
+    }
+
+    private int slotOf(Object key) {
+        return key instanceof String ? layout.indexOf((String) key) : -1;
+    }
+
+    private boolean isLocal(int slot) {
+        return slot > -1 && slot < locals.length && locals[slot];
+    }
+
+    /**
+     * 帧中的变量移回 HashMap，并清除该槽位的绑定，之后由 HashMap 直接操作
+     */
+    private Object materialize(Object key) {
+        int slot = slotOf(key);
+        if (slot > -1 && slot < frame.length) {
+            if (locals[slot]) {
+                super.put(key, frame[slot]);
+                locals[slot] = false;
+                localCount--;
+            }
+            frame[slot] = UNBOUND;
+        }
+        return key;
+    }
+
+    private void materializeAll() {
+        for (int i = 0, length = frame.length; localCount > 0 && i < length; i++) {
+            if (locals[i]) {
+                super.put(layout.nameOf(i), frame[i]);
+                locals[i] = false;
+                localCount--;
+            }
+        }
+        unbound(frame, 0);
+    }
+
+    /*
+     * -----------------------------------------------------------
+     * map
+     * -----------------------------------------------------------
+     */
+
+    @Override
+    public Object get(Object key) {
+        int slot = slotOf(key);
+        return slot > -1 ? getSlot(slot) : super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        int slot = slotOf(key);
+        return isLocal(slot) ? frame[slot] : super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        int slot = slotOf(key);
+        return slot < 0 ? super.put(key, value) : writeLocal(slot, value);
+    }
+
+    @Override
+    public void putAll(Map m) {
+        m.forEach(this::put);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int slot = slotOf(key);
+        if (isLocal(slot)) {
+            Object old = frame[slot];
+            frame[slot] = UNBOUND;
+            locals[slot] = false;
+            localCount--;
+            return old;
+        }
+        return super.remove(materialize(key));
+    }
+
+    @Override
+    public void clear() {
+        unbound(frame, 0);
+        Arrays.fill(locals, false);
+        localCount = 0;
+        super.clear();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isLocal(slotOf(key)) || super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; localCount > 0 && i < frame.length; i++) {
+            if (locals[i] && Objects.equals(frame[i], value)) {
+                return true;
+            }
+        }
+        return super.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return localCount + super.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer action) {
+        for (int i = 0; localCount > 0 && i < frame.length; i++) {
+            if (locals[i]) {
+                action.accept(layout.nameOf(i), frame[i]);
+            }
+        }
+        super.forEach(action);
+    }
+
+    /*
+     * 以下方法由 HashMap 直接操作内部节点，先把帧中的值移回 HashMap 再执行
+     */
+
+    @Override
+    public Object putIfAbsent(Object key, Object value) {
+        return super.putIfAbsent(materialize(key), value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return super.remove(materialize(key), value);
+    }
+
+    @Override
+    public boolean replace(Object key, Object oldValue, Object newValue) {
+        return super.replace(materialize(key), oldValue, newValue);
+    }
+
+    @Override
+    public Object replace(Object key, Object value) {
+        return super.replace(materialize(key), value);
+    }
+
+    @Override
+    public Object computeIfAbsent(Object key, Function mappingFunction) {
+        return super.computeIfAbsent(materialize(key), mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(Object key, BiFunction remappingFunction) {
+        return super.computeIfPresent(materialize(key), remappingFunction);
+    }
+
+    @Override
+    public Object compute(Object key, BiFunction remappingFunction) {
+        return super.compute(materialize(key), remappingFunction);
+    }
+
+    @Override
+    public Object merge(Object key, Object value, BiFunction remappingFunction) {
+        return super.merge(materialize(key), value, remappingFunction);
+    }
+
+    @Override
+    public void replaceAll(BiFunction function) {
+        materializeAll();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Set keySet() {
+        materializeAll();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection values() {
+        materializeAll();
+        return super.values();
+    }
+
+    @Override
+    public Set<Entry> entrySet() {
+        materializeAll();
+        return super.entrySet();
+    }
+}
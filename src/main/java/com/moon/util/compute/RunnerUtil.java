@@ -1,6 +1,8 @@
 package com.moon.util.compute;
 
+import com.moon.util.MetricsUtil;
 import com.moon.util.compute.core.ParseUtil;
+import com.moon.util.metrics.Timer;
 
 import java.util.Date;
 
@@ -168,6 +170,8 @@ public final class RunnerUtil extends ParseUtil {
         super();
     }
 
+    private final static Timer RUN_TIMER = MetricsUtil.timer("moon.compute.run");
+
     /**
      * 运行简单表达式，形如： 1 + 2 或 'a' + 'b' 等不含有参数的表达式。
      * <p>
@@ -182,7 +186,12 @@ public final class RunnerUtil extends ParseUtil {
      * @throws Throwable 如果字符串表达式中包含变量
      */
     public final static Object run(String expression) {
-        return parse(expression).run();
+        long start = RUN_TIMER.start();
+        try {
+            return parse(expression).run();
+        } finally {
+            RUN_TIMER.stop(start);
+        }
     }
 
     /**
@@ -202,7 +211,12 @@ public final class RunnerUtil extends ParseUtil {
      * @throws NullPointerException 如果字符串表达式中包含 data 中没有的变量
      */
     public final static Object run(String expression, Object data) {
-        return parse(expression).run(data);
+        long start = RUN_TIMER.start();
+        try {
+            return parse(expression).run(data);
+        } finally {
+            RUN_TIMER.stop(start);
+        }
     }
 
     /**
@@ -0,0 +1,67 @@
+package com.moon.util.compute;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 一个模板的变量槽位表：模板解析时登记循环变量，表达式第一次按此布局读取时登记其变量，
+ * 之后同一模板的每次渲染都按槽位号读写 {@link FrameDataMap} 的帧数组
+ * <p>
+ * 槽位表只属于一个模板，大小取决于该模板引用的变量数；只增不减，可以多线程同时渲染
+ *
+ * @author benshaoye
+ */
+public final class SlotLayout {
+
+    private final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[8];
+    private volatile int size;
+
+    /**
+     * 变量名对应的槽位，未登记时返回 -1
+     *
+     * @param name
+     * @return
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 登记（或取得已登记的）变量名对应的槽位
+     *
+     * @param name
+     * @return
+     */
+    public int register(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? doRegister(name) : index;
+    }
+
+    private synchronized int doRegister(String name) {
+        Integer index = indexes.get(name);
+        if (index != null) {
+            return index;
+        }
+        final int size = this.size;
+        String[] names = this.names;
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size << 1);
+        }
+        names[size] = name;
+        this.names = names;
+        this.size = size + 1;
+        indexes.put(name, size);
+        return size;
+    }
+
+    public String nameOf(int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+}
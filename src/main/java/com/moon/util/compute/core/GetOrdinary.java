@@ -7,6 +7,8 @@ import com.moon.enums.ArraysEnum;
 import com.moon.lang.BooleanUtil;
 import com.moon.util.ListUtil;
 import com.moon.util.MapUtil;
+import com.moon.util.compute.FrameDataMap;
+import com.moon.util.compute.SlotLayout;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -74,7 +76,9 @@ class GetOrdinary implements AsGetter {
     private AsGetter resetGetter(Object data) {
         Objects.requireNonNull(data, message);
         AsGetter getter;
-        if (data instanceof Map) {
+        if (key instanceof String && data instanceof FrameDataMap) {
+            getter = new FrameGetter((String) key);
+        } else if (data instanceof Map) {
             getter = new MapGetter(key);
         } else if (data instanceof List) {
             BooleanUtil.requireFalse(index < 0, message);
@@ -162,6 +166,45 @@ class GetOrdinary implements AsGetter {
         }
     }
 
+    /**
+     * 按模板的槽位读取 FrameDataMap 中的变量；槽位在第一次遇到某个模板时登记，
+     * 之后同一模板的读取只比较一次布局并读取数组
+     */
+    private static class FrameGetter implements AsGetter {
+        final String name;
+        volatile Binding binding;
+
+        FrameGetter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object run(Object data) {
+            FrameDataMap frame = (FrameDataMap) data;
+            SlotLayout layout = frame.getLayout();
+            Binding binding = this.binding;
+            if (binding == null || binding.layout != layout) {
+                this.binding = binding = new Binding(layout, layout.register(name));
+            }
+            return frame.getSlot(binding.slot);
+        }
+
+        @Override
+        public boolean test(Object o) {
+            return o instanceof FrameDataMap;
+        }
+    }
+
+    private static class Binding {
+        final SlotLayout layout;
+        final int slot;
+
+        Binding(SlotLayout layout, int slot) {
+            this.layout = layout;
+            this.slot = slot;
+        }
+    }
+
     private static class MapGetter implements AsGetter {
         final Object key;
 
@@ -1,6 +1,7 @@
 package com.moon.util.compute.core;
 
 import com.moon.enums.ArraysEnum;
+import com.moon.lang.ThrowUtil;
 import com.moon.lang.reflect.MethodUtil;
 import com.moon.util.FilterUtil;
 
@@ -113,6 +114,12 @@ class InvokeOneEnsure implements AsInvoker {
     public Object run(Object data) {
         data = valuer.run(data);
         Class type = data.getClass();
-        return MethodUtil.invokeStatic(getMethod(data, type), createParams(data, type));
+        Method method = getMethod(data, type);
+        Object params = createParams(data, type);
+        try {
+            return MethodUtil.getMethodHandle(method).invoke(params);
+        } catch (Throwable e) {
+            return ThrowUtil.throwRuntime(e);
+        }
     }
 }
@@ -2,7 +2,10 @@ package com.moon.util.compute.core;
 
 import com.moon.lang.ref.IntAccessor;
 import com.moon.lang.ref.ReferenceUtil;
+import com.moon.util.MetricsUtil;
 import com.moon.util.compute.RunnerSettings;
+import com.moon.util.metrics.Counter;
+import com.moon.util.metrics.Timer;
 
 import java.util.LinkedList;
 import java.util.Map;
@@ -24,6 +27,10 @@ class ParseCore {
 
     private final static Map<String, AsRunner> CACHE = ReferenceUtil.manageMap();
 
+    private final static Counter CACHE_HIT = MetricsUtil.counter("moon.compute.parse.hit");
+    private final static Counter CACHE_MISS = MetricsUtil.counter("moon.compute.parse.miss");
+    private final static Timer PARSE_TIMER = MetricsUtil.timer("moon.compute.parse");
+
     private static final synchronized AsRunner putCache(String expression, AsRunner runner) {
         if (CACHE.get(expression) == null) {
             CACHE.put(expression, runner);
@@ -39,15 +46,21 @@ class ParseCore {
 
     final static AsRunner parse(String expression) {
         AsRunner runner = CACHE.get(expression);
-        return runner == null ? (expression == null
-            ? DataConst.NULL : parse(expression, null)) : runner;
+        if (runner == null) {
+            CACHE_MISS.increment();
+            return expression == null ? DataConst.NULL : parse(expression, null);
+        }
+        CACHE_HIT.increment();
+        return runner;
     }
 
     final static AsRunner parse(
         String expression, RunnerSettings settings
     ) {
+        long start = PARSE_TIMER.start();
         char[] chars = expression.trim().toCharArray();
         AsRunner runner = parse(chars, IntAccessor.of(), chars.length, settings);
+        PARSE_TIMER.stop(start);
         return settings == null ? putCache(expression, runner) : runner;
     }
 
@@ -0,0 +1,280 @@
+package com.moon.util.concurrent;
+
+import com.moon.util.MetricsUtil;
+import com.moon.util.metrics.Counter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按名称缓存的执行器，同一名称只创建一次，线程名为 moon-名称-序号
+ * <p>
+ * 每个执行器注册以下指标（name 为执行器名称）：
+ * <pre>
+ * moon.executor.name.queued   排队中的任务数
+ * moon.executor.name.active   正在执行的任务数
+ * moon.executor.name.threads  当前线程数
+ * moon.executor.name.rejected 被拒绝的任务数
+ * </pre>
+ *
+ * @author benshaoye
+ */
+final class ExecutorPools {
+
+    private final static Map<String, ExecutorService> POOLS = new ConcurrentHashMap<>();
+
+    private final static long KEEP_ALIVE = 60 * 1000;
+
+    private ExecutorPools() {
+    }
+
+    static ThreadPoolExecutor bounded(String name, int threads, int queueCapacity) {
+        return bounded(name, threads, queueCapacity, true);
+    }
+
+    /**
+     * @param callerRuns 队列满时是否由提交线程执行，否则抛出 {@link RejectedExecutionException}
+     */
+    static ThreadPoolExecutor bounded(String name, int threads, int queueCapacity, boolean callerRuns) {
+        ExecutorService executor = POOLS.computeIfAbsent(name,
+            key -> newBounded(key, threads, queueCapacity, callerRuns));
+        if (executor instanceof ThreadPoolExecutor) {
+            return (ThreadPoolExecutor) executor;
+        }
+        throw new IllegalArgumentException("Executor '" + name + "' is not a thread pool: " + executor);
+    }
+
+    /**
+     * 队列无界的线程池：任务总在池中线程执行，只在关闭后拒绝
+     */
+    static ThreadPoolExecutor unbounded(String name, int threads) {
+        ExecutorService executor = POOLS.computeIfAbsent(name,
+            key -> newPool(key, threads, new LinkedBlockingQueue<>(), false));
+        if (executor instanceof ThreadPoolExecutor) {
+            return (ThreadPoolExecutor) executor;
+        }
+        throw new IllegalArgumentException("Executor '" + name + "' is not a thread pool: " + executor);
+    }
+
+    static ForkJoinPool forkJoin(String name, int parallelism) {
+        ExecutorService executor = POOLS.computeIfAbsent(name, key -> newForkJoin(key, parallelism));
+        if (executor instanceof ForkJoinPool) {
+            return (ForkJoinPool) executor;
+        }
+        throw new IllegalArgumentException("Executor '" + name + "' is not a fork-join pool: " + executor);
+    }
+
+    static ExecutorService blocking(String name, int fallbackThreads, int fallbackQueueCapacity) {
+        return blocking(name, fallbackThreads, fallbackQueueCapacity, true);
+    }
+
+    static ExecutorService blocking(String name, int fallbackThreads, int fallbackQueueCapacity, boolean callerRuns) {
+        ExecutorService executor = POOLS.get(name);
+        if (executor == null) {
+            executor = VirtualThreads.SUPPORTED
+                ? POOLS.computeIfAbsent(name, VirtualThreads::newExecutor)
+                : bounded(name, fallbackThreads, fallbackQueueCapacity, callerRuns);
+        }
+        return executor;
+    }
+
+    static boolean shutdown(String name) {
+        ExecutorService executor = POOLS.remove(name);
+        if (executor == null) {
+            return false;
+        }
+        executor.shutdown();
+        return true;
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * factories
+     * -------------------------------------------------------------
+     */
+
+    private static ThreadPoolExecutor newBounded(String name, int threads, int queueCapacity, boolean callerRuns) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("threads: " + threads + ", queueCapacity: " + queueCapacity);
+        }
+        return newPool(name, threads, new ArrayBlockingQueue<>(queueCapacity), callerRuns);
+    }
+
+    private static ThreadPoolExecutor newPool(
+        String name, int threads, BlockingQueue<Runnable> queue, boolean callerRuns) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads: " + threads);
+        }
+        Counter rejected = MetricsUtil.counter(metricName(name, "rejected"));
+        // 核心线程数等于最大线程数：有界队列下 ThreadPoolExecutor 只在队列满后才会增加核心线程以外的线程
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+            KEEP_ALIVE, TimeUnit.MILLISECONDS, queue,
+            new NamedThreadFactory(name), (task, pool) -> {
+            rejected.increment();
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Executor '" + name + "' has been shut down");
+            }
+            if (!callerRuns) {
+                throw new RejectedExecutionException("Executor '" + name + "' is saturated");
+            }
+            // 队列满时由提交线程执行，形成背压
+            task.run();
+        });
+        executor.allowCoreThreadTimeOut(true);
+        MetricsUtil.gauge(metricName(name, "queued"), () -> executor.getQueue().size());
+        MetricsUtil.gauge(metricName(name, "active"), executor::getActiveCount);
+        MetricsUtil.gauge(metricName(name, "threads"), executor::getPoolSize);
+        return executor;
+    }
+
+    private static ForkJoinPool newForkJoin(String name, int parallelism) {
+        final String prefix = "moon-" + name + "-";
+        ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(prefix + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        MetricsUtil.gauge(metricName(name, "queued"),
+            () -> pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+        MetricsUtil.gauge(metricName(name, "active"), pool::getActiveThreadCount);
+        MetricsUtil.gauge(metricName(name, "threads"), pool::getPoolSize);
+        MetricsUtil.gauge(metricName(name, "steals"), pool::getStealCount);
+        return pool;
+    }
+
+    static String metricName(String name, String metric) {
+        return "moon.executor." + name + '.' + metric;
+    }
+
+    private final static class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger index = new AtomicInteger();
+        private final String prefix;
+
+        NamedThreadFactory(String name) {
+            this.prefix = "moon-" + name + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * virtual threads
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * JDK 21+ 的虚拟线程，通过反射访问以兼容 Java 8 编译
+     */
+    static final class VirtualThreads {
+
+        final static boolean SUPPORTED;
+
+        private final static Method OF_VIRTUAL, NAME, FACTORY, NEW_EXECUTOR;
+
+        static {
+            Method ofVirtual = null, name = null, factory = null, newExecutor = null;
+            try {
+                Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                name = builder.getMethod("name", String.class, long.class);
+                factory = builder.getMethod("factory");
+                newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                // 预览版中调用会抛出 UnsupportedOperationException
+                ofVirtual.invoke(null);
+            } catch (Throwable e) {
+                ofVirtual = null;
+            }
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+            NEW_EXECUTOR = newExecutor;
+            SUPPORTED = ofVirtual != null;
+        }
+
+        private VirtualThreads() {
+        }
+
+        static ExecutorService newExecutor(String name) {
+            try {
+                Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), "moon-" + name + "-", 1L);
+                ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+                ExecutorService executor = (ExecutorService) NEW_EXECUTOR.invoke(null, factory);
+                return new TrackingExecutor(name, executor);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 每个任务一个线程的执行器没有队列，只统计执行中的任务数和拒绝数
+     */
+    private final static class TrackingExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final AtomicLong active = new AtomicLong();
+        private final Counter rejected;
+
+        TrackingExecutor(String name, ExecutorService delegate) {
+            this.delegate = delegate;
+            this.rejected = MetricsUtil.counter(metricName(name, "rejected"));
+            MetricsUtil.gauge(metricName(name, "queued"), () -> 0);
+            MetricsUtil.gauge(metricName(name, "active"), active::get);
+            MetricsUtil.gauge(metricName(name, "threads"), active::get);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            active.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                active.decrementAndGet();
+                rejected.increment();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -3,7 +3,12 @@ package com.moon.util.concurrent;
 import com.moon.lang.ThrowUtil;
 import com.moon.util.support.ThreadPoolSupport;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static com.moon.lang.IntUtil.max;
 import static com.moon.lang.ThrowUtil.noInstanceError;
@@ -32,6 +37,277 @@ public final class ExecutorUtil {
         ThreadPoolSupport.set(runner);
     }
 
+    /**
+     * 异步文件 IO（AsynchronousFileChannel）使用的执行器；
+     * 默认为名为 "io" 的线程池：最多 CPU 核心数 2 倍个守护线程，带 moon.executor.io.* 指标，
+     * 队列无界，IO 和完成回调总在池中线程执行，不会由提交线程执行
+     *
+     * @return
+     */
+    public final static ExecutorService ioExecutor() {
+        ExecutorService executor = ioExecutor;
+        return executor == null ? ExecutorPools.unbounded(IO_EXECUTOR, maxCount()) : executor;
+    }
+
+    /**
+     * 设置异步文件 IO 使用的执行器，只影响之后打开的通道；null 恢复默认。
+     * 执行器不应在提交线程中执行任务（如 caller-runs），否则 IO 和完成回调会阻塞调用线程
+     *
+     * @param executor
+     */
+    public final static void setIoExecutor(ExecutorService executor) {
+        ioExecutor = executor;
+    }
+
+    private static volatile ExecutorService ioExecutor;
+
+    private final static String IO_EXECUTOR = "io";
+
+    /*
+     * -------------------------------------------------------------
+     * named executors
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 按名称获取专用的有界线程池，不同子系统使用不同名称，避免相互占满线程；
+     * 最多 CPU 核心数 2 倍个守护线程，队列容量 1024
+     *
+     * @param name 同一名称返回同一个线程池
+     * @return
+     * @see #named(String, int, int)
+     */
+    public final static ThreadPoolExecutor named(String name) {
+        return named(name, maxCount(), NAMED_QUEUE_CAPACITY);
+    }
+
+    /**
+     * 按名称获取专用的有界线程池，只在第一次获取时按参数创建
+     * <p>
+     * 线程名为 moon-name-序号，空闲超时后回收；队列满时由提交线程执行，
+     * 并计入 moon.executor.name.rejected；另有 queued、active、threads 三项瞬时值
+     *
+     * @param name          名称
+     * @param threads       最大线程数
+     * @param queueCapacity 队列容量
+     * @return
+     * @throws IllegalArgumentException 同名执行器不是线程池
+     */
+    public final static ThreadPoolExecutor named(String name, int threads, int queueCapacity) {
+        return ExecutorPools.bounded(name, threads, queueCapacity);
+    }
+
+    /**
+     * 计算密集型任务使用的工作窃取线程池 "cpu"，并行度为 CPU 核心数
+     *
+     * @return
+     */
+    public final static ForkJoinPool forkJoinPool() {
+        return forkJoinPool("cpu", max(getCoreCount(), 1));
+    }
+
+    /**
+     * 按名称获取工作窃取线程池，只在第一次获取时按参数创建；
+     * 队列无界，只有关闭后才会拒绝任务，所以不统计拒绝数，另有 steals 记录窃取次数
+     *
+     * @param name
+     * @param parallelism
+     * @return
+     * @throws IllegalArgumentException 同名执行器不是 ForkJoinPool
+     */
+    public final static ForkJoinPool forkJoinPool(String name, int parallelism) {
+        return ExecutorPools.forkJoin(name, parallelism);
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程（JDK 21+）
+     *
+     * @return
+     */
+    public final static boolean isVirtualThreadSupported() {
+        return ExecutorPools.VirtualThreads.SUPPORTED;
+    }
+
+    /**
+     * 阻塞 IO（网络、邮件等）使用的执行器
+     * <p>
+     * 支持虚拟线程时每个任务一个虚拟线程，不排队；
+     * 否则退化为 {@link #named(String, int, int)}，最多 CPU 核心数 4 倍个线程
+     *
+     * @param name 同一名称返回同一个执行器
+     * @return
+     */
+    public final static ExecutorService blocking(String name) {
+        return ExecutorPools.blocking(name, maxCount() * 2, NAMED_QUEUE_CAPACITY);
+    }
+
+    /**
+     * 关闭并移除指定名称的执行器，之后再获取时重新创建
+     *
+     * @param name
+     * @return 是否存在该执行器
+     */
+    public final static boolean shutdown(String name) {
+        return ExecutorPools.shutdown(name);
+    }
+
+    private final static int NAMED_QUEUE_CAPACITY = 1024;
+
+    private final static String INVOKE_ALL_EXECUTOR = "invoke-all";
+
+
+    /*
+     * -------------------------------------------------------------
+     * parallel
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 并行映射，并行度为 CPU 核心数
+     *
+     * @param items
+     * @param fn
+     * @param <T>
+     * @param <R>
+     * @return
+     * @see #parallelMap(Executor, Collection, Function, int)
+     */
+    public final static <T, R> List<R> parallelMap(Collection<? extends T> items, Function<? super T, ? extends R> fn) {
+        return parallelMap(items, fn, max(getCoreCount(), 1));
+    }
+
+    /**
+     * 在 {@link #forkJoinPool()} 中并行映射
+     *
+     * @param items
+     * @param fn
+     * @param parallelism 最多同时执行的线程数（含调用线程）
+     * @param <T>
+     * @param <R>
+     * @return
+     * @see #parallelMap(Executor, Collection, Function, int)
+     */
+    public final static <T, R> List<R> parallelMap(
+        Collection<? extends T> items, Function<? super T, ? extends R> fn, int parallelism) {
+        return parallelMap(forkJoinPool(), items, fn, parallelism);
+    }
+
+    /**
+     * 并行映射，结果与 items 迭代顺序一致
+     * <p>
+     * items 按元素数和并行度分块，每个线程约 4 块，由调用线程和 executor 中的线程动态领取；
+     * 某一块抛出异常后不再开始新的块，等待已开始的块结束后在调用线程中抛出第一个异常
+     *
+     * @param executor    阻塞的 fn 应使用 {@link #blocking(String)} 等执行器
+     * @param items
+     * @param fn
+     * @param parallelism 最多同时执行的线程数（含调用线程）
+     * @param <T>
+     * @param <R>
+     * @return 新的 ArrayList
+     */
+    public final static <T, R> List<R> parallelMap(
+        Executor executor, Collection<? extends T> items, Function<? super T, ? extends R> fn, int parallelism) {
+        return FanOut.map(executor, items, fn, parallelism);
+    }
+
+    public final static <T> void parallelForEach(Collection<? extends T> items, Consumer<? super T> consumer) {
+        parallelForEach(items, consumer, max(getCoreCount(), 1));
+    }
+
+    public final static <T> void parallelForEach(
+        Collection<? extends T> items, Consumer<? super T> consumer, int parallelism) {
+        parallelForEach(forkJoinPool(), items, consumer, parallelism);
+    }
+
+    /**
+     * 并行处理每一项，分块和异常处理同 {@link #parallelMap(Executor, Collection, Function, int)}；
+     * consumer 会被多个线程同时调用
+     *
+     * @param executor
+     * @param items
+     * @param consumer
+     * @param parallelism 最多同时执行的线程数（含调用线程）
+     * @param <T>
+     */
+    public final static <T> void parallelForEach(
+        Executor executor, Collection<? extends T> items, Consumer<? super T> consumer, int parallelism) {
+        FanOut.forEach(executor, items, consumer, parallelism);
+    }
+
+    /**
+     * 分区并行计算后按顺序合并，分区大小随元素数和 CPU 核心数变化
+     *
+     * @param items
+     * @param mapper
+     * @param reducer
+     * @param <T>
+     * @param <R>
+     * @return
+     * @see #partitionReduce(Collection, int, Function, BinaryOperator)
+     */
+    public final static <T, R> R partitionReduce(
+        Collection<? extends T> items, Function<? super List<T>, ? extends R> mapper, BinaryOperator<R> reducer) {
+        int parallelism = max(getCoreCount(), 1);
+        return partitionReduce(items, FanOut.chunkSize(items.size(), parallelism), mapper, reducer);
+    }
+
+    /**
+     * 将 items 按 partitionSize 分区（最后一个分区可能不足），在 {@link #forkJoinPool()} 中并行执行 mapper，
+     * 再按分区顺序用 reducer 合并，所以 reducer 只需满足结合律
+     *
+     * @param items
+     * @param partitionSize 每个分区的元素数
+     * @param mapper        参数是只读的分区视图
+     * @param reducer
+     * @param <T>
+     * @param <R>
+     * @return items 为空时返回 null
+     */
+    public final static <T, R> R partitionReduce(
+        Collection<? extends T> items, int partitionSize,
+        Function<? super List<T>, ? extends R> mapper, BinaryOperator<R> reducer) {
+        return FanOut.partitionReduce(forkJoinPool(), items, partitionSize, max(getCoreCount(), 1), mapper, reducer);
+    }
+
+    /**
+     * 在专用的执行器中执行所有任务，任务总是在其他线程中执行，所以超时总能生效：
+     * 支持虚拟线程时每个任务一个虚拟线程；否则为最多 CPU 核心数 4 倍个线程的有界线程池，
+     * 队列满时抛出 {@link RejectedExecutionException}（不由调用线程执行）
+     *
+     * @param tasks
+     * @param timeout
+     * @param unit
+     * @param <T>
+     * @return
+     * @see #invokeAll(ExecutorService, Collection, long, TimeUnit)
+     */
+    public final static <T> List<T> invokeAll(
+        Collection<? extends Callable<? extends T>> tasks, long timeout, TimeUnit unit) {
+        return invokeAll(ExecutorPools.blocking(INVOKE_ALL_EXECUTOR,
+            maxCount() * 2, NAMED_QUEUE_CAPACITY, false), tasks, timeout, unit);
+    }
+
+    /**
+     * 执行所有任务并按顺序返回结果
+     * <p>
+     * 任一任务失败时中断其余任务并抛出该异常；超时未全部完成时中断所有未完成的任务，
+     * 抛出包装了 {@link TimeoutException} 的运行时异常；执行器拒绝任务时取消已提交的任务并抛出该异常。
+     * 超时只在等待时检查，执行器在提交线程中执行任务（如队列满时 caller-runs 的 {@link #named(String)}）
+     * 时，该任务不受超时限制
+     *
+     * @param executor
+     * @param tasks
+     * @param timeout  所有任务的总超时时间
+     * @param unit
+     * @param <T>
+     * @return
+     */
+    public final static <T> List<T> invokeAll(
+        ExecutorService executor, Collection<? extends Callable<? extends T>> tasks, long timeout, TimeUnit unit) {
+        return FanOut.invokeAll(executor, tasks, timeout, unit);
+    }
+
 
     /*
      * executes
@@ -0,0 +1,219 @@
+package com.moon.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.moon.lang.ThrowUtil.throwRuntime;
+
+/**
+ * 将 size 个元素分块后由多个工作者动态领取执行，调用线程也作为其中一个工作者
+ * <p>
+ * 每个工作者约分到 {@link #CHUNKS_PER_WORKER} 块，执行快的工作者会领取更多的块；
+ * 某一块失败后不再领取新的块，等待已开始的块结束后抛出第一个异常。
+ * 调用线程领取完所有块后只等待正在执行的块，不等待尚未开始的工作者，所以在执行器的线程中调用也不会死锁
+ *
+ * @author benshaoye
+ */
+final class FanOut implements Runnable {
+
+    private final static int CHUNKS_PER_WORKER = 4;
+
+    interface Chunk {
+
+        /**
+         * @param index 块序号
+         * @param from  起始位置（包含）
+         * @param to    结束位置（不包含）
+         */
+        void run(int index, int from, int to);
+    }
+
+    private final int size, chunkSize, chunks;
+    private final Chunk body;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private volatile Throwable failure;
+
+    private FanOut(int size, int chunkSize, int chunks, Chunk body) {
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.chunks = chunks;
+        this.body = body;
+        this.remaining = new AtomicInteger(chunks);
+    }
+
+    /**
+     * 分块大小随元素数和并行度变化，每个工作者约 {@link #CHUNKS_PER_WORKER} 块
+     */
+    static int chunkSize(int size, int parallelism) {
+        return Math.max(1, size / (Math.max(parallelism, 1) * CHUNKS_PER_WORKER));
+    }
+
+    static void run(Executor executor, int size, int chunkSize, int parallelism, Chunk body) {
+        if (size <= 0) {
+            return;
+        }
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize + ", parallelism: " + parallelism);
+        }
+        final int chunks = (int) ((size + (long) chunkSize - 1) / chunkSize);
+        if (chunks == 1 || parallelism == 1) {
+            for (int i = 0, from = 0; i < chunks; i++, from += chunkSize) {
+                body.run(i, from, Math.min(size, from + chunkSize));
+            }
+            return;
+        }
+        FanOut fanOut = new FanOut(size, chunkSize, chunks, body);
+        for (int i = Math.min(parallelism, chunks) - 1; i > 0; i--) {
+            try {
+                executor.execute(fanOut);
+            } catch (RejectedExecutionException e) {
+                // 执行器已满，剩余的块由已启动的工作者完成
+                break;
+            }
+        }
+        fanOut.run();
+        fanOut.done.join();
+        Throwable e = fanOut.failure;
+        if (e != null) {
+            throwRuntime(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int index; (index = next.getAndIncrement()) < chunks; ) {
+            if (failure == null) {
+                int from = index * chunkSize;
+                try {
+                    body.run(index, from, Math.min(size, from + chunkSize));
+                } catch (Throwable e) {
+                    synchronized (this) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    }
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * helpers
+     * -------------------------------------------------------------
+     */
+
+    static <T, R> List<R> map(
+        Executor executor, Collection<? extends T> items, Function<? super T, ? extends R> fn, int parallelism
+    ) {
+        final Object[] values = items.toArray();
+        final Object[] results = new Object[values.length];
+        run(executor, values.length, chunkSize(values.length, parallelism), parallelism, (index, from, to) -> {
+            for (int i = from; i < to; i++) {
+                results[i] = fn.apply((T) values[i]);
+            }
+        });
+        return new ArrayList<>((List<R>) Arrays.asList(results));
+    }
+
+    static <T> void forEach(
+        Executor executor, Collection<? extends T> items, Consumer<? super T> consumer, int parallelism
+    ) {
+        final Object[] values = items.toArray();
+        run(executor, values.length, chunkSize(values.length, parallelism), parallelism, (index, from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept((T) values[i]);
+            }
+        });
+    }
+
+    static <T, R> R partitionReduce(
+        Executor executor, Collection<? extends T> items, int partitionSize, int parallelism,
+        Function<? super List<T>, ? extends R> mapper, BinaryOperator<R> reducer
+    ) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("partitionSize: " + partitionSize);
+        }
+        final List<T> values = (List<T>) Arrays.asList(items.toArray());
+        final int size = values.size();
+        if (size == 0) {
+            return null;
+        }
+        final Object[] partials = new Object[(int) ((size + (long) partitionSize - 1) / partitionSize)];
+        run(executor, size, partitionSize, parallelism,
+            (index, from, to) -> partials[index] = mapper.apply(values.subList(from, to)));
+        R result = (R) partials[0];
+        for (int i = 1; i < partials.length; i++) {
+            result = reducer.apply(result, (R) partials[i]);
+        }
+        return result;
+    }
+
+    static <T> List<T> invokeAll(
+        ExecutorService executor, Collection<? extends Callable<? extends T>> tasks, long timeout, TimeUnit unit
+    ) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final CompletableFuture<Void> signal = new CompletableFuture<>();
+        final AtomicInteger remaining = new AtomicInteger(tasks.size());
+        final List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        boolean completed = false;
+        try {
+            for (Callable<? extends T> task : tasks) {
+                FutureTask<T> future = new FutureTask<T>(task::call) {
+                    @Override
+                    protected void done() {
+                        if (!isCancelled()) {
+                            try {
+                                get();
+                            } catch (ExecutionException e) {
+                                signal.completeExceptionally(e.getCause());
+                            } catch (InterruptedException e) {
+                                // 已完成，不会等待
+                            }
+                        }
+                        if (remaining.decrementAndGet() == 0) {
+                            signal.complete(null);
+                        }
+                    }
+                };
+                futures.add(future);
+                executor.execute(future);
+            }
+            signal.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            List<T> results = new ArrayList<>(futures.size());
+            for (FutureTask<T> future : futures) {
+                results.add(future.get());
+            }
+            completed = true;
+            return results;
+        } catch (ExecutionException e) {
+            return throwRuntime(e.getCause());
+        } catch (TimeoutException e) {
+            return throwRuntime(new TimeoutException("Tasks not completed in " + timeout + " " + unit));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return throwRuntime(e);
+        } finally {
+            if (!completed) {
+                for (FutureTask<T> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+}
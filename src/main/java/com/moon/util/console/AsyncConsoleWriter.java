@@ -0,0 +1,459 @@
+package com.moon.util.console;
+
+import com.moon.util.Console.Level;
+
+import java.io.PrintStream;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 异步输出：多个线程写入有界环形队列，由一个专用线程批量取出写入
+ * <p>
+ * 所有输出按进入队列的顺序写出（同一线程的输出不会乱序）；每批中同一输出流的连续内容合并为一次写入并只 flush 一次。
+ * 队列满时按 {@link OverflowPolicy} 处理；JVM 退出时写出队列中剩余的内容。
+ * 某条内容输出失败（如 toString 抛出异常）时以一行错误信息代替，不影响其他内容和输出线程
+ *
+ * @author benshaoye
+ */
+public final class AsyncConsoleWriter {
+
+    /**
+     * 队列满时的处理方式
+     */
+    public enum OverflowPolicy {
+        /**
+         * 等待队列有空位
+         */
+        BLOCK,
+        /**
+         * 丢弃低于 keepLevel 的输出，其他输出等待
+         */
+        DROP,
+        /**
+         * 低于 keepLevel 的输出每 sampleRate 条保留一条（保留的等待），其他输出等待
+         */
+        SAMPLE
+    }
+
+    private final static int PRINT = 0, PRINTLN = 1, NEWLINE = 2, THROWABLE = 3, DEFERRED = 4;
+
+    private final static String LINE_SEPARATOR = System.lineSeparator();
+
+    private static volatile AsyncConsoleWriter defaultWriter;
+
+    /**
+     * 默认的异步输出，队列容量 8192，队列满时等待
+     *
+     * @return
+     */
+    public static AsyncConsoleWriter getDefault() {
+        AsyncConsoleWriter writer = defaultWriter;
+        if (writer == null) {
+            synchronized (AsyncConsoleWriter.class) {
+                if ((writer = defaultWriter) == null) {
+                    defaultWriter = writer = new AsyncConsoleWriter(8192, OverflowPolicy.BLOCK, Level.WARN, 1);
+                }
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * 替换默认的异步输出，原来的输出写完剩余内容后关闭
+     *
+     * @param writer
+     */
+    public static void setDefault(AsyncConsoleWriter writer) {
+        AsyncConsoleWriter old;
+        synchronized (AsyncConsoleWriter.class) {
+            old = defaultWriter;
+            defaultWriter = Objects.requireNonNull(writer);
+        }
+        if (old != null && old != writer) {
+            old.shutdown();
+        }
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final PrintStream[] streams;
+    private final Object[] payloads;
+    private final int[] kinds;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final OverflowPolicy policy;
+    private final Level keepLevel;
+    private final int sampleRate;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread thread;
+    private final Thread shutdownHook;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    private final StringBuilder batch = new StringBuilder(1024);
+
+    /**
+     * @param capacity   队列容量，向上取 2 的幂
+     * @param policy     队列满时的处理方式
+     * @param keepLevel  不低于此级别的输出不会被丢弃
+     * @param sampleRate SAMPLE 时每多少条保留一条
+     */
+    public AsyncConsoleWriter(int capacity, OverflowPolicy policy, Level keepLevel, int sampleRate) {
+        if (capacity < 2 || sampleRate < 1) {
+            throw new IllegalArgumentException("capacity: " + capacity + ", sampleRate: " + sampleRate);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.streams = new PrintStream[size];
+        this.payloads = new Object[size];
+        this.kinds = new int[size];
+        this.policy = Objects.requireNonNull(policy);
+        this.keepLevel = Objects.requireNonNull(keepLevel);
+        this.sampleRate = sampleRate;
+
+        thread = new Thread(this::runLoop, "moon-console-writer");
+        thread.setDaemon(true);
+        thread.start();
+        shutdownHook = new Thread(this::shutdown, "moon-console-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * producers
+     * -------------------------------------------------------------
+     */
+
+    public boolean print(PrintStream stream, Level level, Object value) {
+        return offer(stream, level, PRINT, value);
+    }
+
+    public boolean println(PrintStream stream, Level level, Object value) {
+        return offer(stream, level, PRINTLN, value);
+    }
+
+    public boolean println(PrintStream stream, Level level) {
+        return offer(stream, level, NEWLINE, null);
+    }
+
+    /**
+     * 输出流和内容都在输出线程中获取，调用线程只负责入队
+     *
+     * @param target   按级别获取输出流
+     * @param level
+     * @param supplier 输出内容
+     * @return
+     */
+    public boolean println(Function<? super Level, ? extends PrintStream> target, Level level, Supplier<?> supplier) {
+        return offer(null, level, DEFERRED, new Deferred(target, level, supplier));
+    }
+
+    public boolean printStackTrace(PrintStream stream, Level level, Throwable t) {
+        return offer(stream, level, THROWABLE, t);
+    }
+
+    /**
+     * 因队列满被丢弃的条数
+     *
+     * @return
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private boolean offer(PrintStream stream, Level level, int kind, Object payload) {
+        if (kind != DEFERRED) {
+            Objects.requireNonNull(stream);
+        }
+        if (closed || Thread.currentThread() == thread) {
+            // 关闭后或在输出线程内（如 toString 中再次输出）直接写出，避免等待自己
+            writeNow(stream, kind, payload);
+            return true;
+        }
+        boolean droppable = level.ordinal() > keepLevel.ordinal();
+        boolean decided = false;
+        for (long position; ; ) {
+            position = tail.get();
+            final int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    streams[index] = stream;
+                    payloads[index] = payload;
+                    kinds[index] = kind;
+                    sequences.set(index, position + 1);
+                    if (sleeping) {
+                        LockSupport.unpark(thread);
+                    }
+                    return true;
+                }
+            } else if (diff < 0) {
+                // 队列已满
+                if (!decided && droppable && policy != OverflowPolicy.BLOCK) {
+                    decided = true;
+                    if (policy == OverflowPolicy.DROP || overflowCount.getAndIncrement() % sampleRate != 0) {
+                        dropped.incrementAndGet();
+                        return false;
+                    }
+                }
+                if (closed) {
+                    writeNow(stream, kind, payload);
+                    return true;
+                }
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * consumer
+     * -------------------------------------------------------------
+     */
+
+    private void runLoop() {
+        while (!closed) {
+            int count;
+            try {
+                count = drain();
+            } catch (Throwable e) {
+                // drain 已逐条处理异常，这里只防止意外错误结束输出线程
+                count = 1;
+            }
+            if (count == 0) {
+                sleeping = true;
+                if (!hasPending()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        long position = head;
+        return sequences.get((int) position & mask) == position + 1;
+    }
+
+    /**
+     * 取出当前所有已发布的内容并写出
+     *
+     * @return 写出的条数
+     */
+    private synchronized int drain() {
+        long position = head;
+        int count = 0;
+        PrintStream current = null;
+        StringBuilder builder = batch;
+        for (; ; position++, count++) {
+            final int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            PrintStream stream = streams[index];
+            Object payload = payloads[index];
+            int kind = kinds[index];
+            streams[index] = null;
+            payloads[index] = null;
+            sequences.set(index, position + mask + 1);
+            head = position + 1;
+
+            if (kind == DEFERRED) {
+                Deferred deferred = (Deferred) payload;
+                kind = PRINTLN;
+                try {
+                    stream = Objects.requireNonNull(deferred.target.apply(deferred.level));
+                    payload = deferred.supplier.get();
+                } catch (Throwable e) {
+                    // 取不到输出流时写到标准错误
+                    stream = stream == null ? System.err : stream;
+                    payload = failure(e);
+                }
+            }
+            if (stream != current) {
+                flushBatch(current);
+                current = stream;
+            }
+            if (kind == THROWABLE) {
+                flushBatch(current);
+                try {
+                    write(stream, kind, payload);
+                } catch (Throwable e) {
+                    builder.append(failure(e)).append(LINE_SEPARATOR);
+                }
+            } else {
+                final int mark = builder.length();
+                try {
+                    append(builder, kind, payload);
+                } catch (Throwable e) {
+                    // 丢弃已追加的部分内容
+                    builder.setLength(mark);
+                    builder.append(failure(e)).append(LINE_SEPARATOR);
+                }
+            }
+        }
+        flushBatch(current);
+        return count;
+    }
+
+    private void flushBatch(PrintStream stream) {
+        if (stream != null) {
+            StringBuilder builder = batch;
+            try {
+                if (builder.length() > 0) {
+                    stream.append(builder);
+                }
+                stream.flush();
+            } catch (Throwable e) {
+                System.err.println(failure(e));
+            } finally {
+                builder.setLength(0);
+                if (builder.capacity() > (1 << 16)) {
+                    builder.trimToSize();
+                }
+            }
+        }
+    }
+
+    /**
+     * 输出失败时代替原内容的错误信息
+     *
+     * @param e
+     * @return
+     */
+    public static String failure(Throwable e) {
+        return "<console output failed: " + e + '>';
+    }
+
+    /**
+     * 同步写出（关闭后或在输出线程内），失败时同样以错误信息代替
+     */
+    private static void writeNow(PrintStream stream, int kind, Object payload) {
+        try {
+            if (kind == DEFERRED) {
+                Deferred deferred = (Deferred) payload;
+                kind = PRINTLN;
+                stream = Objects.requireNonNull(deferred.target.apply(deferred.level));
+                payload = deferred.supplier.get();
+            }
+            write(stream, kind, payload);
+            stream.flush();
+        } catch (Throwable e) {
+            PrintStream target = stream == null ? System.err : stream;
+            target.println(failure(e));
+            target.flush();
+        }
+    }
+
+    private static void append(StringBuilder builder, int kind, Object payload) {
+        switch (kind) {
+            case PRINT:
+                appendPayload(builder, payload);
+                break;
+            case PRINTLN:
+                appendPayload(builder, payload);
+                builder.append(LINE_SEPARATOR);
+                break;
+            default:
+                builder.append(LINE_SEPARATOR);
+        }
+    }
+
+    private static void appendPayload(StringBuilder builder, Object payload) {
+        if (payload instanceof FormattedMessage) {
+            ((FormattedMessage) payload).appendTo(builder);
+        } else {
+            builder.append(payload);
+        }
+    }
+
+    private final static class Deferred {
+
+        final Function<? super Level, ? extends PrintStream> target;
+        final Level level;
+        final Supplier<?> supplier;
+
+        Deferred(Function<? super Level, ? extends PrintStream> target, Level level, Supplier<?> supplier) {
+            this.target = Objects.requireNonNull(target);
+            this.level = level;
+            this.supplier = Objects.requireNonNull(supplier);
+        }
+    }
+
+    private static void write(PrintStream stream, int kind, Object payload) {
+        switch (kind) {
+            case PRINT:
+                stream.print(payload);
+                break;
+            case PRINTLN:
+                stream.println(payload);
+                break;
+            case THROWABLE:
+                ((Throwable) payload).printStackTrace(stream);
+                break;
+            default:
+                stream.println();
+        }
+    }
+
+    /**
+     * 等待当前已进入队列的内容全部写出
+     *
+     * @param timeout
+     * @param unit
+     * @return 是否在超时前写完
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        final long target = tail.get(), deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (head < target) {
+            if (closed || Thread.currentThread() == thread) {
+                drain();
+                return head >= target;
+            }
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    /**
+     * 写出剩余内容并停止输出线程，之后的输出直接同步写出
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM 正在退出
+            }
+        }
+    }
+}
@@ -1,18 +1,17 @@
 package com.moon.util.console;
 
-import com.moon.lang.ClassUtil;
+import com.moon.lang.StackTraceUtil;
+import com.moon.lang.StackTraceUtil.Frame;
 import com.moon.util.Appender;
 import com.moon.util.Console;
-import com.moon.util.concurrent.ExecutorUtil;
 import com.sun.istack.internal.NotNull;
 
 import java.io.PrintStream;
+import java.util.function.Function;
 
 import static com.moon.enums.Props.line_separator;
 import static com.moon.util.Appender.SYSTEM;
-import static com.moon.util.OptionalUtil.ifPresent;
-import static com.moon.util.console.ConsoleSettingsUtil.parseByStackTraces;
-import static java.lang.Thread.currentThread;
+import static com.moon.util.console.ConsoleSettingsUtil.parseByCaller;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -42,7 +41,7 @@ abstract class BaseConsolePrinter
 
     public BaseConsolePrinter(Class topClass) {
         this.topClass = requireNonNull(topClass);
-        settings = parseByStackTraces(new Throwable().getStackTrace(), topClass);
+        settings = parseByCaller(topClass);
         this.setAppender(AppenderUtil.buildBySettings(settings))
             .setLowestLevel(settings.getLowestLevel());
     }
@@ -94,35 +93,32 @@ abstract class BaseConsolePrinter
     public void printStackTrace(Level level) {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
-            StringBuilder builder = null;
+            StringBuilder builder = new StringBuilder(1024);
             try {
-                StackTraceElement[] traces = currentThread().getStackTrace();
-                int i = 1, counter = 1, len = traces.length;
-                StackTraceElement elem;
-                boolean find = false;
-                String className;
-                Class clazz;
-
-                builder = new StringBuilder(len * 100);
-                for (; i < len; i++) {
-                    elem = traces[i];
-                    className = elem.getClassName();
-                    clazz = ClassUtil.forName(className);
-                    if (topClass.isAssignableFrom(clazz)) {
-                        find = true;
-                    } else if (find) {
-                        builder.append(counter++).append(AT)
-                            .append(className).append(POINTER)
-                            .append(elem.getMethodName()).append(LEFT_BRACKETS)
-                            .append(clazz.getSimpleName()).append(POINTER_JAVA)
-                            .append(elem.getLineNumber()).append(RIGHT_BRACKETS)
-                            .append(LINE_SEPARATOR);
+                StackTraceUtil.walk(new Function<Frame, Object>() {
+                    private boolean find;
+                    private int counter = 1;
+
+                    @Override
+                    public Object apply(Frame frame) {
+                        Class clazz = frame.getDeclaringClass();
+                        if (topClass.isAssignableFrom(clazz)) {
+                            find = true;
+                        } else if (find) {
+                            builder.append(counter++).append(AT)
+                                .append(frame.getClassName()).append(POINTER)
+                                .append(frame.getMethodName()).append(LEFT_BRACKETS)
+                                .append(clazz.getSimpleName()).append(POINTER_JAVA)
+                                .append(frame.getLineNumber()).append(RIGHT_BRACKETS)
+                                .append(LINE_SEPARATOR);
+                        }
+                        return null;
                     }
-                }
-                executePrintOutput(stream, builder);
+                });
             } catch (Throwable t) {
-                ifPresent(builder, (b, ps) -> executePrintOutput(ps, b), stream);
+                // 输出已收集的部分
             }
+            executePrintOutput(stream, level, builder);
         }
     }
 
@@ -132,42 +128,45 @@ abstract class BaseConsolePrinter
     }
 
     public void println(Level level, Throwable t) {
-        ifPresent(getLevelStream(level), this::executePrintThrowable, t);
+        PrintStream stream = getLevelStream(level);
+        if (stream != null) {
+            executePrintThrowable(stream, level, t);
+        }
     }
 
     /*
-     * 异步执行输出
+     * 异步执行输出：由 AsyncConsoleWriter 的专用线程按顺序批量写出
      */
 
-    protected void executePrintln(PrintStream stream) {
+    protected void executePrintln(PrintStream stream, Level level) {
         if (stream != null) {
             if (settings.isAsync()) {
-                ExecutorUtil.execute(() -> stream.println());
+                AsyncConsoleWriter.getDefault().println(stream, level);
             } else {
                 stream.println();
             }
         }
     }
 
-    protected void executePrintOutput(PrintStream stream, Object o) {
+    protected void executePrintOutput(PrintStream stream, Level level, Object o) {
         if (settings.isAsync()) {
-            ExecutorUtil.execute(() -> stream.print(o));
+            AsyncConsoleWriter.getDefault().print(stream, level, o);
         } else {
             stream.print(o);
         }
     }
 
-    protected void executePrintlnOutput(PrintStream stream, Object o) {
+    protected void executePrintlnOutput(PrintStream stream, Level level, Object o) {
         if (settings.isAsync()) {
-            ExecutorUtil.execute(() -> stream.println(o));
+            AsyncConsoleWriter.getDefault().println(stream, level, o);
         } else {
             stream.println(o);
         }
     }
 
-    protected void executePrintThrowable(PrintStream stream, Throwable t) {
+    protected void executePrintThrowable(PrintStream stream, Level level, Throwable t) {
         if (settings.isAsync()) {
-            ExecutorUtil.execute(() -> t.printStackTrace(stream));
+            AsyncConsoleWriter.getDefault().printStackTrace(stream, level, t);
         } else {
             t.printStackTrace(stream);
         }
@@ -1,6 +1,8 @@
 package com.moon.util.console;
 
 import com.moon.enums.Const;
+import com.moon.lang.StackTraceUtil;
+import com.moon.lang.StackTraceUtil.Frame;
 import com.moon.lang.reflect.ConstructorUtil;
 import com.moon.util.*;
 import com.moon.util.Console.Level;
@@ -12,8 +14,11 @@ import com.moon.util.json.JSONObject;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
-import static com.moon.lang.ClassUtil.forName;
 import static com.moon.lang.ClassUtil.requireExtendsOf;
 import static com.moon.lang.ThrowUtil.noInstanceError;
 import static com.moon.lang.annotation.AnnotatedUtil.get;
@@ -30,36 +35,48 @@ final class ConsoleSettingsUtil {
         noInstanceError();
     }
 
-    public static final ConsoleSettings parseByStackTraces(StackTraceElement[] traces, Class topClass) {
-        StackTraceElement element;
-        boolean found = false;
-        Class clazz;
-        List<ConsoleSettings> controls = null;
-        for (int i = 0; i < traces.length; i++) {
-            if ((clazz = forName((element = traces[i]).getClassName())) == Console.class
-                && "<clinit>".equals(element.getMethodName())) {
-                // 忽略对初始化 Console.out 的检查
-                return ConsoleGlobal.CONSOLE.getSettings();
-            }
-            if (found || (found = topClass.isAssignableFrom(clazz))) {
-                ConsoleControl control = get(clazz, ConsoleControl.class);
-                if (control != null) {
-                    ConsoleSettings parsed = parseConsoleControl(control);
-                    if (control.isDefault()) {
-                        if (controls == null) {
-                            controls = new ArrayList<>();
+    private final static Map<Class, Optional<ConsoleControl>> CONTROLS = new ConcurrentHashMap<>();
+
+    /**
+     * 从调用位置向上查找 topClass 及之后各类上的 {@link ConsoleControl}，找到非默认的注解即停止
+     *
+     * @param topClass
+     * @return
+     */
+    public static final ConsoleSettings parseByCaller(Class topClass) {
+        List<ConsoleSettings> controls = new ArrayList<>();
+        ConsoleSettings settings = StackTraceUtil.walk(new Function<Frame, ConsoleSettings>() {
+            private boolean found;
+
+            @Override
+            public ConsoleSettings apply(Frame frame) {
+                Class clazz = frame.getDeclaringClass();
+                if (clazz == Console.class && "<clinit>".equals(frame.getMethodName())) {
+                    // 忽略对初始化 Console.out 的检查
+                    return ConsoleGlobal.CONSOLE.getSettings();
+                }
+                if (found || (found = topClass.isAssignableFrom(clazz))) {
+                    ConsoleControl control = CONTROLS.computeIfAbsent(clazz,
+                        type -> Optional.ofNullable(get(type, ConsoleControl.class))).orElse(null);
+                    if (control != null) {
+                        ConsoleSettings parsed = parseConsoleControl(control);
+                        if (control.isDefault()) {
+                            controls.add(parsed);
+                        } else if (controls.isEmpty()) {
+                            return parsed;
+                        } else {
+                            controls.add(parsed);
+                            return mergeSettings(controls);
                         }
-                        controls.add(parsed);
-                    } else if (controls == null || controls.isEmpty()) {
-                        return parsed;
-                    } else {
-                        controls.add(parsed);
-                        return mergeSettings(controls);
                     }
                 }
+                return null;
             }
+        });
+        if (settings != null) {
+            return settings;
         }
-        return computeOrElse(controls, ConsoleSettingsUtil::mergeSettings, ConsoleGlobal.CONSOLE.getSettings());
+        return controls.isEmpty() ? ConsoleGlobal.CONSOLE.getSettings() : mergeSettings(controls);
     }
 
     private static final ConsoleSettings mergeSettings(List<ConsoleSettings> consoleSettings) {
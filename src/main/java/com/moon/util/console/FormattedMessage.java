@@ -0,0 +1,55 @@
+package com.moon.util.console;
+
+import com.moon.lang.support.StringSupport;
+
+/**
+ * 延迟格式化的消息：只保存模板和参数，在输出线程中 toString 或直接追加到批量缓冲时才格式化；
+ * 参数在格式化前被修改时输出的是修改后的值
+ *
+ * @author benshaoye
+ */
+final class FormattedMessage {
+
+    private final String template;
+    private final Object[] values;
+
+    FormattedMessage(String template, Object... values) {
+        this.template = template;
+        this.values = values;
+    }
+
+    void appendTo(StringBuilder builder) {
+        final int mark = builder.length();
+        try {
+            StringSupport.formatTo(builder, template, values);
+        } catch (Throwable e) {
+            // 参数的 toString 抛出异常时丢弃已追加的部分，输出模板和错误信息
+            builder.setLength(mark);
+            builder.append(failure(template, e));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format(template, values);
+    }
+
+    /**
+     * 格式化，失败时返回模板和错误信息
+     *
+     * @param template
+     * @param values
+     * @return
+     */
+    static String format(String template, Object... values) {
+        try {
+            return StringSupport.format(template, values);
+        } catch (Throwable e) {
+            return failure(template, e);
+        }
+    }
+
+    private static String failure(String template, Throwable e) {
+        return template + " <format failed: " + e + '>';
+    }
+}
@@ -29,7 +29,7 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
      */
     @Override
     public void println(Level level) {
-        executePrintln(getLevelStream(level));
+        executePrintln(getLevelStream(level), level);
     }
 
     /**
@@ -43,15 +43,15 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
             if (val instanceof Collection) {
-                this.executePrintlnOutput(stream, JoinerUtil.join((Collection) val));
+                this.executePrintlnOutput(stream, level, JoinerUtil.join((Collection) val));
             } else if (val == null) {
-                this.executePrintlnOutput(stream, null);
+                this.executePrintlnOutput(stream, level, null);
             } else {
                 Class clazz = val.getClass();
                 if (clazz.isArray()) {
-                    this.executePrintlnOutput(stream, getOrObjects(clazz).stringify(val));
+                    this.executePrintlnOutput(stream, level, getOrObjects(clazz).stringify(val));
                 } else {
-                    executePrintlnOutput(stream, val);
+                    executePrintlnOutput(stream, level, val);
                 }
             }
         }
@@ -68,7 +68,7 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
     public void println(Level level, String template, Object value) {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
-            executePrintlnOutput(stream, StringUtil.format(template, value));
+            executePrintlnFormatted(stream, level, template, value);
         }
     }
 
@@ -84,7 +84,7 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
     public void println(Level level, String template, Object value1, Object value2) {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
-            executePrintlnOutput(stream, StringUtil.format(template, value1, value2));
+            executePrintlnFormatted(stream, level, template, value1, value2);
         }
     }
 
@@ -101,8 +101,7 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
     public void println(Level level, String template, Object value1, Object value2, Object value3) {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
-            executePrintlnOutput(stream,
-                StringUtil.format(template, value1, value2, value3));
+            executePrintlnFormatted(stream, level, template, value1, value2, value3);
         }
     }
 
@@ -117,7 +116,7 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
     public void println(Level level, String template, Object... values) {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
-            executePrintlnOutput(stream, StringUtil.format(template, values));
+            executePrintlnFormatted(stream, level, template, values);
         }
     }
 
@@ -131,7 +130,18 @@ public class GenericConsolePrinter extends BaseConsolePrinter {
     public void println(Level level, Object... values) {
         PrintStream stream = getLevelStream(level);
         if (stream != null) {
-            executePrintlnOutput(stream, Arrays.deepToString(values));
+            executePrintlnOutput(stream, level, Arrays.deepToString(values));
+        }
+    }
+
+    /**
+     * 异步输出时只传递模板和参数，由输出线程格式化
+     */
+    private void executePrintlnFormatted(PrintStream stream, Level level, String template, Object... values) {
+        if (settings.isAsync()) {
+            executePrintlnOutput(stream, level, new FormattedMessage(template, values));
+        } else {
+            executePrintlnOutput(stream, level, FormattedMessage.format(template, values));
         }
     }
 
@@ -0,0 +1,278 @@
+package com.moon.util.console;
+
+import com.moon.util.Console;
+import com.moon.util.metrics.HistogramSnapshot;
+import com.moon.util.metrics.ThreadLocalHistogram;
+import com.moon.util.metrics.ThreadLocalHistogram.Recorder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 System.nanoTime 的计时，按模板名称汇总次数、总耗时、最小、最大和 p50/p99/p999
+ * <p>
+ * 每个线程有自己的计时栈，time / timeEnd 可以嵌套，timeNext 记录栈顶一段并重新开始；
+ * 入栈时取得当前线程在对应名称下的记录器（{@link ThreadLocalHistogram}），
+ * 记录时只读时钟并做几次普通写入，不加锁、不格式化也不输出。
+ * 汇总结果由 {@link #report(Console)} 或 {@link #startReport(Console, long, TimeUnit)} 定期输出。
+ * <p>
+ * 多个线程可以同时使用同一个实例
+ *
+ * @author benshaoye
+ */
+public class NanoTiming implements Timing {
+
+    /**
+     * 未指定模板时使用的名称
+     */
+    public final static String DEFAULT_NAME = "default";
+
+    private final Map<String, ThreadLocalHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Spans> spans = ThreadLocal.withInitial(Spans::new);
+
+    private ScheduledFuture<?> reporting;
+
+    /*
+     * -------------------------------------------------------------
+     * timing
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 开始一段计时，名称为 {@link #DEFAULT_NAME}
+     */
+    @Override
+    public void time() {
+        time(DEFAULT_NAME);
+    }
+
+    /**
+     * 开始一段计时
+     *
+     * @param template 汇总的名称
+     */
+    @Override
+    public void time(String template) {
+        Spans current = spans.get();
+        current.push(current.recorderOf(template), System.nanoTime());
+    }
+
+    /**
+     * 记录当前一段并以同一名称重新开始
+     */
+    @Override
+    public void timeNext() {
+        long now = System.nanoTime();
+        Spans current = spans.get();
+        if (current.depth > 0) {
+            current.next(now, null);
+        }
+    }
+
+    /**
+     * 记录当前一段，以新名称重新开始
+     *
+     * @param template
+     */
+    @Override
+    public void timeNext(String template) {
+        long now = System.nanoTime();
+        Spans current = spans.get();
+        if (current.depth > 0) {
+            current.next(now, current.recorderOf(template));
+        }
+    }
+
+    /**
+     * 结束当前一段并记录；没有开始的计时时忽略
+     */
+    @Override
+    public void timeEnd() {
+        long now = System.nanoTime();
+        Spans current = spans.get();
+        if (current.depth > 0) {
+            current.pop(now);
+        }
+    }
+
+    private ThreadLocalHistogram histogramOf(String template) {
+        String name = template == null ? DEFAULT_NAME : template;
+        ThreadLocalHistogram histogram = histograms.get(name);
+        return histogram == null ? histograms.computeIfAbsent(name, key -> new ThreadLocalHistogram()) : histogram;
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * report
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 各名称的汇总，单位纳秒
+     *
+     * @return 按名称排序
+     */
+    public Map<String, HistogramSnapshot> snapshot() {
+        Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * 取得汇总并清空
+     *
+     * @return
+     */
+    public Map<String, HistogramSnapshot> snapshotAndReset() {
+        Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshotAndReset()));
+        return snapshots;
+    }
+
+    /**
+     * 以 INFO 级别输出当前汇总
+     *
+     * @param console
+     */
+    public void report(Console console) {
+        String report = format(snapshot());
+        if (!report.isEmpty()) {
+            console.println(Console.Level.INFO, report);
+        }
+    }
+
+    /**
+     * 每隔 period 以 INFO 级别输出一次这段时间内的汇总（输出后清空），
+     * 在守护线程中执行；已在定期输出时先停止原来的
+     *
+     * @param console
+     * @param period
+     * @param unit
+     */
+    public synchronized void startReport(Console console, long period, TimeUnit unit) {
+        stopReport();
+        reporting = Reporter.EXECUTOR.scheduleAtFixedRate(() -> {
+            String report = format(snapshotAndReset());
+            if (!report.isEmpty()) {
+                console.println(Console.Level.INFO, report);
+            }
+        }, period, period, unit);
+    }
+
+    public synchronized void stopReport() {
+        if (reporting != null) {
+            reporting.cancel(false);
+            reporting = null;
+        }
+    }
+
+    /**
+     * 每个名称一行：名称、次数、总耗时、最小、平均、p50、p99、p999、最大
+     *
+     * @param snapshots
+     * @return
+     */
+    public static String format(Map<String, HistogramSnapshot> snapshots) {
+        StringBuilder builder = new StringBuilder();
+        snapshots.forEach((name, snapshot) -> {
+            if (snapshot.getCount() > 0) {
+                if (builder.length() > 0) {
+                    builder.append('\n');
+                }
+                builder.append(name).append(": count=").append(snapshot.getCount());
+                appendTime(builder.append(", total="), snapshot.getSum());
+                appendTime(builder.append(", min="), snapshot.getMin());
+                appendTime(builder.append(", mean="), (long) snapshot.getMean());
+                appendTime(builder.append(", p50="), snapshot.getP50());
+                appendTime(builder.append(", p99="), snapshot.getP99());
+                appendTime(builder.append(", p999="), snapshot.getP999());
+                appendTime(builder.append(", max="), snapshot.getMax());
+            }
+        });
+        return builder.toString();
+    }
+
+    private static void appendTime(StringBuilder builder, long nanos) {
+        if (nanos < 10_000L) {
+            builder.append(nanos).append("ns");
+        } else if (nanos < 10_000_000L) {
+            builder.append(nanos / 1000).append("us");
+        } else if (nanos < 100_000_000_000L) {
+            builder.append(nanos / 1000_000).append("ms");
+        } else {
+            builder.append(nanos / 1000_000_000).append('s');
+        }
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * inner
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 一个线程的计时栈
+     */
+    private final class Spans {
+
+        private Recorder[] recorders = new Recorder[8];
+        private long[] starts = new long[8];
+        private int depth;
+
+        /**
+         * 上一次使用的名称，循环中重复使用同一名称时不查 Map
+         */
+        private String lastTemplate;
+        private Recorder lastRecorder;
+
+        Recorder recorderOf(String template) {
+            if (template != lastTemplate || lastRecorder == null) {
+                lastRecorder = histogramOf(template).getRecorder();
+                lastTemplate = template;
+            }
+            return lastRecorder;
+        }
+
+        void push(Recorder recorder, long start) {
+            int index = depth;
+            if (index == starts.length) {
+                recorders = Arrays.copyOf(recorders, index << 1);
+                starts = Arrays.copyOf(starts, index << 1);
+            }
+            recorders[index] = recorder;
+            starts[index] = start;
+            depth = index + 1;
+        }
+
+        void next(long now, Recorder recorder) {
+            int index = depth - 1;
+            recorders[index].record(now - starts[index]);
+            if (recorder != null) {
+                recorders[index] = recorder;
+            }
+            starts[index] = now;
+        }
+
+        void pop(long now) {
+            int index = --depth;
+            recorders[index].record(now - starts[index]);
+            recorders[index] = null;
+        }
+    }
+
+    private static class Reporter {
+
+        private final static ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "moon-timing-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
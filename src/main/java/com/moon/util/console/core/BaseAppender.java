@@ -1,21 +1,48 @@
 package com.moon.util.console.core;
 
 import com.moon.util.Console;
+import com.moon.util.console.ConsoleControl.Classify;
 import com.moon.util.console.ConsoleGlobal;
 import com.moon.util.console.ConsoleSettings;
 
 import java.io.File;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
+ * 输出到文件的公共部分：每个级别一个 PrintStream，文件名中不含级别时各级别共用一个文件
+ *
  * @author benshaoye
  */
 public abstract class BaseAppender {
 
+    /**
+     * 单个文件最大 64MB
+     */
+    protected final static long MAX_FILE_SIZE = 64L << 20;
+
+    private final static String DEFAULT_FILENAME = "yyyy-MM-dd";
+
     private final ConsoleSettings settings;
-    private long nextTime;
+    private final Map<Console.Level, PrintStream> streams = new EnumMap<>(Console.Level.class);
+    private final Map<String, RollingFileOutput> files = new HashMap<>();
+    private final LinePattern filename;
+    private final LinePattern pattern;
+    private final boolean levelInFilename;
 
     protected BaseAppender(ConsoleSettings settings) {
         this.settings = settings;
+        String format = settings.getFilenameFormat();
+        this.filename = new LinePattern(format.isEmpty() ? DEFAULT_FILENAME : format);
+        this.pattern = new LinePattern(settings.getPattern());
+        boolean byLevel = false;
+        for (Classify classify : settings.getClassifies()) {
+            byLevel |= classify == Classify.LEVEL;
+        }
+        this.levelInFilename = byLevel;
     }
 
     public ConsoleSettings getSettings() {
@@ -30,4 +57,74 @@ public abstract class BaseAppender {
 
         return base;
     }
+
+    /**
+     * 扩展名，如 ".log"
+     *
+     * @return
+     */
+    protected abstract String getExtension();
+
+    /**
+     * 新建文件时写入的文件头
+     *
+     * @return
+     */
+    protected byte[] getHeader() {
+        return null;
+    }
+
+    protected boolean isHtml() {
+        return false;
+    }
+
+    protected long getMaxFileSize() {
+        return MAX_FILE_SIZE;
+    }
+
+    /**
+     * 获取指定级别的文件输出；没有设置 base path 时输出到 System.out
+     *
+     * @param level
+     * @return
+     */
+    protected PrintStream getStream(Console.Level level) {
+        File base = getBasePath();
+        if (base == null) {
+            return System.out;
+        }
+        synchronized (streams) {
+            PrintStream stream = streams.get(level);
+            if (stream == null) {
+                streams.put(level, stream = createStream(base, level));
+            }
+            return stream;
+        }
+    }
+
+    private PrintStream createStream(File base, Console.Level level) {
+        String levelName = level.name().toLowerCase();
+        File directory = getDirectory(base, level);
+        LinePattern filename = this.filename;
+        String fileLevel = null;
+        if (levelInFilename) {
+            fileLevel = levelName;
+            if (!filename.hasLevel()) {
+                filename = new LinePattern(settings.getFilenameFormat().isEmpty()
+                    ? DEFAULT_FILENAME + "-level" : settings.getFilenameFormat() + "-level");
+            }
+        }
+        String key = directory.getPath() + '|' + fileLevel;
+        RollingFileOutput file = files.get(key);
+        if (file == null) {
+            file = new RollingFileOutput(directory, filename, fileLevel, getExtension(), getHeader(), getMaxFileSize());
+            files.put(key, file);
+        }
+        LinePattern.Prefix prefix = pattern.isEmpty() ? null : pattern.prefixFor(level.name());
+        try {
+            return new PrintStream(new LevelOutput(file, prefix, isHtml()), false, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -4,16 +4,21 @@ import com.moon.util.Appender;
 import com.moon.util.Console;
 import com.moon.util.console.ConsoleSettings;
 
-import java.io.File;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 
 /**
+ * html 文件输出，内容写在 pre 标签中并转义
+ *
  * @author benshaoye
  */
 public class HtmlAppender
     extends BaseAppender
     implements Appender {
 
+    private final static byte[] HEADER = ("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"></head><body><pre>\n")
+        .getBytes(StandardCharsets.UTF_8);
+
     public HtmlAppender(ConsoleSettings settings) {
         super(settings);
     }
@@ -25,11 +30,21 @@ public class HtmlAppender
      */
     @Override
     public PrintStream apply(Console.Level level) {
-        File base = getBasePath();
-        if (base == null) {
-            return System.out;
-        } else {
-            return System.out;
-        }
+        return getStream(level);
+    }
+
+    @Override
+    protected String getExtension() {
+        return ".html";
+    }
+
+    @Override
+    protected byte[] getHeader() {
+        return HEADER;
+    }
+
+    @Override
+    protected boolean isHtml() {
+        return true;
     }
 }
@@ -0,0 +1,69 @@
+package com.moon.util.console.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 某一级别的输出：每行开头写入时间和级别前缀，html 时转义特殊字符
+ *
+ * @author benshaoye
+ */
+final class LevelOutput extends OutputStream {
+
+    private final static byte[] LT = "&lt;".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] GT = "&gt;".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] AMP = "&amp;".getBytes(StandardCharsets.US_ASCII);
+
+    private final RollingFileOutput file;
+    private final LinePattern.Prefix prefix;
+    private final boolean html;
+    private boolean lineStart = true;
+
+    LevelOutput(RollingFileOutput file, LinePattern.Prefix prefix, boolean html) {
+        this.file = file;
+        this.prefix = prefix;
+        this.html = html;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        synchronized (file) {
+            int start = offset;
+            final int end = offset + length;
+            for (int i = offset; i < end; i++) {
+                if (lineStart) {
+                    if (prefix != null) {
+                        byte[] head = prefix.bytes(System.currentTimeMillis());
+                        file.write(head, 0, head.length);
+                    }
+                    lineStart = false;
+                }
+                byte b = bytes[i];
+                if (b == '\n') {
+                    file.write(bytes, start, i + 1 - start);
+                    start = i + 1;
+                    lineStart = true;
+                } else if (html && (b == '<' || b == '>' || b == '&')) {
+                    file.write(bytes, start, i - start);
+                    byte[] escaped = b == '<' ? LT : b == '>' ? GT : AMP;
+                    file.write(escaped, 0, escaped.length);
+                    start = i + 1;
+                }
+            }
+            if (start < end) {
+                file.write(bytes, start, end - start);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        file.flush();
+    }
+}
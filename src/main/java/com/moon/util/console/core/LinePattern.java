@@ -0,0 +1,209 @@
+package com.moon.util.console.core;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 日期格式和行前缀格式，不使用 SimpleDateFormat
+ * <p>
+ * 支持 yyyy、MM、dd、HH、mm、ss、SSS 和 level，其余字符原样输出；
+ * 行前缀按秒缓存，同一秒内只填入毫秒
+ *
+ * @author benshaoye
+ */
+final class LinePattern {
+
+    private final static String[] TOKENS = {"yyyy", "MM", "dd", "HH", "mm", "ss", "SSS", "?level", "level"};
+    private final static ChronoField[] FIELDS = {
+        ChronoField.YEAR, ChronoField.MONTH_OF_YEAR, ChronoField.DAY_OF_MONTH,
+        ChronoField.HOUR_OF_DAY, ChronoField.MINUTE_OF_HOUR, ChronoField.SECOND_OF_MINUTE, null, null, null
+    };
+    private final static int MILLIS = 6;
+
+    /**
+     * 正数为 TOKENS 下标 + 1，字符串为原样输出的字符
+     */
+    private final Object[] parts;
+    private final boolean hasLevel;
+    private final ZoneId zone;
+
+    LinePattern(String pattern) {
+        this(pattern, ZoneId.systemDefault());
+    }
+
+    LinePattern(String pattern, ZoneId zone) {
+        List<Object> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean hasLevel = false;
+        outer:
+        for (int i = 0, len = pattern.length(); i < len; ) {
+            for (int t = 0; t < TOKENS.length; t++) {
+                if (pattern.startsWith(TOKENS[t], i)) {
+                    if (literal.length() > 0) {
+                        parts.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    parts.add(t);
+                    hasLevel |= t > MILLIS;
+                    i += TOKENS[t].length();
+                    continue outer;
+                }
+            }
+            literal.append(pattern.charAt(i++));
+        }
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+        }
+        this.parts = parts.toArray();
+        this.hasLevel = hasLevel;
+        this.zone = zone;
+    }
+
+    boolean isEmpty() {
+        return parts.length == 0;
+    }
+
+    boolean hasLevel() {
+        return hasLevel;
+    }
+
+    /**
+     * 格式化，level 为空时去掉 level 以及它前面紧邻的分隔符
+     *
+     * @param millis
+     * @param level
+     * @return
+     */
+    String format(long millis, String level) {
+        return format(millis, level, new int[1]);
+    }
+
+    /**
+     * millisAt[0] 写入毫秒所在位置，没有毫秒为 -1
+     */
+    private String format(long millis, String level, int[] millisAt) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+        StringBuilder builder = new StringBuilder(32);
+        millisAt[0] = -1;
+        for (Object part : parts) {
+            if (part instanceof String) {
+                builder.append((String) part);
+                continue;
+            }
+            int token = (Integer) part;
+            if (token == MILLIS) {
+                millisAt[0] = builder.length();
+                appendPadded(builder, (int) Math.floorMod(millis, 1000L), 3);
+            } else if (token > MILLIS) {
+                if (level == null || level.isEmpty()) {
+                    int last = builder.length() - 1;
+                    if (last >= 0 && !Character.isLetterOrDigit(builder.charAt(last))) {
+                        builder.setLength(last);
+                    }
+                } else {
+                    builder.append(level);
+                }
+            } else {
+                appendPadded(builder, time.get(FIELDS[token]), TOKENS[token].length());
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 指定级别的行前缀
+     *
+     * @param level
+     * @return
+     */
+    Prefix prefixFor(String level) {
+        return new Prefix(level);
+    }
+
+    /**
+     * 行前缀（UTF-8 字节，末尾带一个空格），同一秒只格式化一次，之后只填入毫秒；非线程安全
+     */
+    final class Prefix {
+
+        private final String level;
+        private long cachedSecond = Long.MIN_VALUE;
+        private byte[] cached;
+        private int millisAt = -1;
+
+        Prefix(String level) {
+            this.level = level;
+        }
+
+        byte[] bytes(long millis) {
+            long second = Math.floorDiv(millis, 1000L);
+            if (second != cachedSecond) {
+                int[] at = new int[1];
+                String text = format(second * 1000, level, at);
+                cached = (text + ' ').getBytes(StandardCharsets.UTF_8);
+                millisAt = at[0] < 0 ? -1 : text.substring(0, at[0]).getBytes(StandardCharsets.UTF_8).length;
+                cachedSecond = second;
+            }
+            if (millisAt >= 0) {
+                int value = (int) Math.floorMod(millis, 1000L);
+                cached[millisAt] = (byte) ('0' + value / 100);
+                cached[millisAt + 1] = (byte) ('0' + value / 10 % 10);
+                cached[millisAt + 2] = (byte) ('0' + value % 10);
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * 按格式中最小的日期单位计算下一个时间段的开始（用于按时间切换文件），没有日期单位返回 Long.MAX_VALUE
+     *
+     * @param millis
+     * @return
+     */
+    long nextBoundary(long millis) {
+        int smallest = -1;
+        for (Object part : parts) {
+            if (part instanceof Integer && (Integer) part < MILLIS) {
+                smallest = Math.max(smallest, (Integer) part);
+            }
+        }
+        if (smallest < 0) {
+            return Long.MAX_VALUE;
+        }
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+        LocalDateTime next;
+        switch (smallest) {
+            case 0:
+                next = time.withDayOfYear(1).toLocalDate().atStartOfDay().plusYears(1);
+                break;
+            case 1:
+                next = time.withDayOfMonth(1).toLocalDate().atStartOfDay().plusMonths(1);
+                break;
+            case 2:
+                next = time.toLocalDate().atStartOfDay().plusDays(1);
+                break;
+            case 3:
+                next = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                break;
+            case 4:
+                next = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+                break;
+            default:
+                next = time.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        }
+        return next.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static void appendPadded(StringBuilder builder, int value, int width) {
+        String text = Integer.toString(value);
+        for (int i = text.length(); i < width; i++) {
+            builder.append('0');
+        }
+        builder.append(text);
+    }
+}
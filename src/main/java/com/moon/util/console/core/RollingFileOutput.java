@@ -0,0 +1,182 @@
+package com.moon.util.console.core;
+
+import com.moon.util.concurrent.ExecutorUtil;
+import com.moon.util.console.AsyncConsoleWriter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 按大小和时间切换的日志文件
+ * <p>
+ * 内容先写入一块较大的直接缓冲区，满了或 flush 时一次写入 {@link FileChannel}；
+ * 到达文件名格式中最小日期单位的边界时换新文件，超过 maxSize 时将当前文件改名为 name.N.ext 后换新文件，
+ * 换下的文件在后台压缩为 .gz。只在行首换文件，一行不会被拆到两个文件中，所以文件可能超过 maxSize 一行。
+ * JVM 退出时写出所有未写出的内容
+ *
+ * @author benshaoye
+ */
+final class RollingFileOutput {
+
+    private final static int BUFFER_SIZE = 256 << 10;
+
+    private final static Set<RollingFileOutput> OPENED = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (RollingFileOutput output : OPENED) {
+                output.flush();
+            }
+        }, "moon-console-file-flush"));
+    }
+
+    private final File directory;
+    private final LinePattern filename;
+    private final String level;
+    private final String extension;
+    private final byte[] header;
+    private final long maxSize;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private FileChannel channel;
+    private File current;
+    private long size;
+    private long boundary;
+    /**
+     * 最后写入的是否为换行符
+     */
+    private boolean lineStart = true;
+
+    /**
+     * @param directory 目录
+     * @param filename  文件名格式
+     * @param level     文件名中的级别，可为 null
+     * @param extension 扩展名，如 ".log"
+     * @param header    新文件的文件头，可为 null
+     * @param maxSize   单个文件最大字节数
+     */
+    RollingFileOutput(File directory, LinePattern filename, String level, String extension, byte[] header, long maxSize) {
+        this.directory = directory;
+        this.filename = filename;
+        this.level = level;
+        this.extension = extension;
+        this.header = header;
+        this.maxSize = maxSize;
+    }
+
+    File getCurrentFile() {
+        return current;
+    }
+
+    synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        long now = System.currentTimeMillis();
+        if (channel == null) {
+            roll(now, false);
+        } else if (lineStart) {
+            if (now >= boundary) {
+                roll(now, false);
+            } else if (size + buffer.position() + length > maxSize && size + buffer.position() > 0) {
+                roll(now, true);
+            }
+        }
+        if (length > 0) {
+            lineStart = bytes[offset + length - 1] == '\n';
+        }
+        while (length > 0) {
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+            if (!buffer.hasRemaining()) {
+                writeBuffer();
+            }
+        }
+    }
+
+    synchronized void flush() {
+        try {
+            if (channel != null) {
+                writeBuffer();
+            }
+        } catch (IOException e) {
+            System.err.println(AsyncConsoleWriter.failure(e));
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll(long now, boolean bySize) throws IOException {
+        File previous = current;
+        if (channel != null) {
+            writeBuffer();
+            channel.close();
+            channel = null;
+            OPENED.remove(this);
+        }
+        String name = filename.format(now, level);
+        File file = new File(directory, name + extension);
+        if (bySize && previous != null) {
+            File rolled = nextRolledName(name);
+            if (previous.renameTo(rolled)) {
+                compress(rolled);
+            }
+        } else if (previous != null && !previous.equals(file)) {
+            compress(previous);
+        }
+        directory.mkdirs();
+        channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        current = file;
+        size = channel.size();
+        boundary = filename.nextBoundary(now);
+        OPENED.add(this);
+        if (size == 0 && header != null) {
+            buffer.put(header);
+        }
+    }
+
+    private File nextRolledName(String name) {
+        for (int i = 1; ; i++) {
+            File rolled = new File(directory, name + '.' + i + extension);
+            if (!rolled.exists() && !new File(rolled.getPath() + ".gz").exists()) {
+                return rolled;
+            }
+        }
+    }
+
+    private final static Map<File, Boolean> COMPRESSING = new ConcurrentHashMap<>();
+
+    private static void compress(File file) {
+        if (COMPRESSING.putIfAbsent(file, Boolean.TRUE) != null) {
+            return;
+        }
+        ExecutorUtil.ioExecutor().execute(() -> {
+            File target = new File(file.getPath() + ".gz");
+            try (InputStream in = new FileInputStream(file);
+                 OutputStream out = new GZIPOutputStream(new FileOutputStream(target), 64 << 10)) {
+                byte[] bytes = new byte[64 << 10];
+                for (int count; (count = in.read(bytes)) > 0; ) {
+                    out.write(bytes, 0, count);
+                }
+            } catch (IOException e) {
+                target.delete();
+                return;
+            } finally {
+                COMPRESSING.remove(file);
+            }
+            file.delete();
+        });
+    }
+}
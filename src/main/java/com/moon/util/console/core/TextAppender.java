@@ -4,10 +4,11 @@ import com.moon.util.Appender;
 import com.moon.util.Console;
 import com.moon.util.console.ConsoleSettings;
 
-import java.io.File;
 import java.io.PrintStream;
 
 /**
+ * 文本文件输出
+ *
  * @author benshaoye
  */
 public class TextAppender
@@ -25,11 +26,11 @@ public class TextAppender
      */
     @Override
     public PrintStream apply(Console.Level level) {
-        File base = getBasePath();
-        if (base == null) {
-            return System.out;
-        } else {
-            return System.out;
-        }
+        return getStream(level);
+    }
+
+    @Override
+    protected String getExtension() {
+        return ".log";
     }
 }
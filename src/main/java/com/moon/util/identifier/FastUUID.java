@@ -0,0 +1,27 @@
+package com.moon.util.identifier;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机 UUID（版本 4），使用 {@link ThreadLocalRandom}，不经过共享的 SecureRandom
+ * <p>
+ * 不可预测性不满足安全要求，不能用作令牌、密钥等
+ *
+ * @author benshaoye
+ */
+public class FastUUID implements Identifier {
+
+    public final static FastUUID INSTANCE = new FastUUID();
+
+    @Override
+    public String get() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return UUIDs.format(UUIDs.version(random.nextLong(), 4), UUIDs.variant(random.nextLong()));
+    }
+
+    public UUID nextUUID() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(UUIDs.version(random.nextLong(), 4), UUIDs.variant(random.nextLong()));
+    }
+}
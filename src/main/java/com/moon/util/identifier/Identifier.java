@@ -3,7 +3,10 @@ package com.moon.util.identifier;
 import java.util.function.Supplier;
 
 /**
+ * 字符串 ID 生成器
+ *
  * @author benshaoye
+ * @see LongIdentifier
  */
 public interface Identifier extends Supplier<String> {
 }
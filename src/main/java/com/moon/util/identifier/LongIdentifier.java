@@ -0,0 +1,21 @@
+package com.moon.util.identifier;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 数值 ID 生成器，调用方直接使用 {@link #getAsLong()} 可避免创建字符串
+ *
+ * @author benshaoye
+ */
+public interface LongIdentifier extends Identifier, LongSupplier {
+
+    /**
+     * 十进制字符串形式的 ID
+     *
+     * @return
+     */
+    @Override
+    default String get() {
+        return Long.toString(getAsLong());
+    }
+}
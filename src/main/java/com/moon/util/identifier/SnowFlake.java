@@ -1,9 +1,41 @@
 package com.moon.util.identifier;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+
 /**
+ * 雪花算法 ID 生成器，无锁
+ * <p>
+ * 时间戳和序列号合并保存在一个 {@link AtomicLong} 中（毫秒 &lt;&lt; 12 | 序列号），
+ * 每次生成只需一次 CAS；同一毫秒序列号用尽时自然进位到下一毫秒（向未来借用），
+ * 批量生成时一次 CAS 预留整段序列。
+ * <p>
+ * 借用的时间超前于系统时钟（序列号用尽或时钟回拨）时，按 {@link ClockPolicy} 处理
+ *
  * @author benshaoye
  */
-public class SnowFlake {
+public class SnowFlake implements LongIdentifier {
+
+    /**
+     * 时钟超前（回拨或序列号用尽）时的处理方式
+     */
+    public enum ClockPolicy {
+        /**
+         * 直接使用借用的时间，超前超过 maxDriftMillis 时抛出异常
+         */
+        BORROW,
+        /**
+         * 等待系统时钟追上后返回，超前超过 maxDriftMillis 时抛出异常
+         */
+        WAIT,
+        /**
+         * 时钟回拨立即抛出异常；序列号用尽时同 WAIT
+         */
+        FAIL
+    }
 
     /**
      * 起始的时间戳
@@ -42,31 +74,50 @@ public class SnowFlake {
     private final static long TIMESTAMP_LEFT = DATA_CENTER_LEFT + DATA_CENTER_BIT;
 
     /**
-     * 数据中心
+     * 数据中心和机器标识部分
      */
-    private long dataCenterId;
+    private final long workerBits;
     /**
-     * 机器标识
+     * 上一次使用的 毫秒 &lt;&lt; SEQUENCE_BIT | 序列号
      */
-    private long machineId;
+    private final AtomicLong state = new AtomicLong();
     /**
-     * 序列号
+     * 观察到的最大系统时间，用于区分时钟回拨和序列号用尽借用的时间
      */
-    private long sequence = 0L;
+    private final AtomicLong observed = new AtomicLong();
+
+    private final ClockPolicy policy;
+    private final long maxDriftMillis;
+    private final LongSupplier clock;
+
+    public SnowFlake(long dataCenterId, long machineId) {
+        this(dataCenterId, machineId, ClockPolicy.WAIT, 1000);
+    }
+
     /**
-     * 上一次时间戳
+     * @param dataCenterId   数据中心 0 ~ 31
+     * @param machineId      机器标识 0 ~ 31
+     * @param policy         时钟超前时的处理方式
+     * @param maxDriftMillis 允许超前系统时钟的最大毫秒数
      */
-    private long lastTimestamp = -1L;
+    public SnowFlake(long dataCenterId, long machineId, ClockPolicy policy, long maxDriftMillis) {
+        this(dataCenterId, machineId, policy, maxDriftMillis, System::currentTimeMillis);
+    }
 
-    public SnowFlake(long dataCenterId, long machineId) {
+    SnowFlake(long dataCenterId, long machineId, ClockPolicy policy, long maxDriftMillis, LongSupplier clock) {
         if (dataCenterId > MAX_DATA_CENTER_NUM || dataCenterId < 0) {
             throw new IllegalArgumentException("dataCenterId can't be greater than MAX_DATACENTER_NUM or less than 0");
         }
         if (machineId > MAX_MACHINE_NUM || machineId < 0) {
             throw new IllegalArgumentException("machineId can't be greater than MAX_MACHINE_NUM or less than 0");
         }
-        this.dataCenterId = dataCenterId;
-        this.machineId = machineId;
+        if (maxDriftMillis < 0) {
+            throw new IllegalArgumentException("maxDriftMillis can't be less than 0");
+        }
+        this.workerBits = dataCenterId << DATA_CENTER_LEFT | machineId << MACHINE_LEFT;
+        this.policy = policy;
+        this.maxDriftMillis = maxDriftMillis;
+        this.clock = clock;
     }
 
     /**
@@ -74,41 +125,89 @@ public class SnowFlake {
      *
      * @return
      */
-    public synchronized long nextId() {
-        long currStamp = nextTime();
-        if (currStamp < lastTimestamp) {
-            throw new RuntimeException("Clock moved backwards.  Refusing to generate id");
+    public long nextId() {
+        return toId(reserve(1));
+    }
+
+    @Override
+    public long getAsLong() {
+        return nextId();
+    }
+
+    /**
+     * 一次预留 count 个连续的 ID
+     *
+     * @param count
+     * @return
+     */
+    public long[] nextIds(int count) {
+        return ids(count).toArray();
+    }
+
+    /**
+     * 一次预留 count 个连续的 ID，按生成顺序返回
+     *
+     * @param count
+     * @return
+     */
+    public LongStream ids(int count) {
+        if (count < 1) {
+            return LongStream.empty();
         }
+        long last = reserve(count);
+        return LongStream.rangeClosed(last - count + 1, last).map(this::toId);
+    }
 
-        if (currStamp == lastTimestamp) {
-            //相同毫秒内，序列号自增
-            sequence = (sequence + 1) & MAX_SEQUENCE;
-            //同一毫秒的序列数已经达到最大
-            if (sequence == 0L) {
-                currStamp = getNextMill();
+    /**
+     * CAS 预留 count 个序列，返回最后一个
+     */
+    private long reserve(int count) {
+        for (; ; ) {
+            // 先读 observed 再读时钟：now 小于 observed 时时钟确实回拨过
+            final long lastObserved = observed.get();
+            final long now = observe();
+            final long current = state.get();
+            final long first = Math.max(current + 1, now << SEQUENCE_BIT);
+            final long last = first + count - 1;
+            final long drift = (last >>> SEQUENCE_BIT) - now;
+            if (drift > 0) {
+                if (policy == ClockPolicy.FAIL && now < lastObserved) {
+                    throw new IllegalStateException("Clock moved backwards. Refusing to generate id");
+                }
+                if (drift > maxDriftMillis) {
+                    throw new IllegalStateException("Clock drift " + drift + "ms exceeds " + maxDriftMillis + "ms");
+                }
+            }
+            if (state.compareAndSet(current, last)) {
+                if (drift > 0 && policy != ClockPolicy.BORROW) {
+                    awaitMillis(last >>> SEQUENCE_BIT);
+                }
+                return last;
             }
-        } else {
-            //不同毫秒内，序列号置为0
-            sequence = 0L;
         }
-
-        lastTimestamp = currStamp;
-
-        // 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
-        return (currStamp - START_STAMP) << TIMESTAMP_LEFT
-            | dataCenterId << DATA_CENTER_LEFT | machineId << MACHINE_LEFT | sequence;
     }
 
-    private long getNextMill() {
-        long mill = nextTime();
-        while (mill <= lastTimestamp) {
-            mill = nextTime();
+    /**
+     * 读取系统时间并更新观察到的最大值
+     */
+    private long observe() {
+        final long now = clock.getAsLong();
+        if (now > observed.get()) {
+            observed.accumulateAndGet(now, Math::max);
         }
-        return mill;
+        return now;
     }
 
-    private long nextTime() {
-        return System.currentTimeMillis();
+    private void awaitMillis(long millis) {
+        for (long now; (now = observe()) < millis; ) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(millis - now) / 2 + 1);
+        }
     }
 
+    /**
+     * 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
+     */
+    private long toId(long value) {
+        return ((value >>> SEQUENCE_BIT) - START_STAMP) << TIMESTAMP_LEFT | workerBits | (value & MAX_SEQUENCE);
+    }
 }
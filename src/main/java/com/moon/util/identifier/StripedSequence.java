@@ -0,0 +1,45 @@
+package com.moon.util.identifier;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分段自增序列：每个线程一次从共享计数器领取 blockSize 个号段，在号段内本地自增
+ * <p>
+ * 全局唯一，单个线程内单调递增；不同线程之间不保证顺序，
+ * 线程结束时未用完的号段会被跳过
+ *
+ * @author benshaoye
+ */
+public class StripedSequence implements LongIdentifier {
+
+    private final AtomicLong counter;
+    private final int blockSize;
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[]{0, 0});
+
+    public StripedSequence() {
+        this(1, 1024);
+    }
+
+    /**
+     * @param start     起始值
+     * @param blockSize 每个线程一次领取的号段大小
+     */
+    public StripedSequence(long start, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize: " + blockSize);
+        }
+        this.counter = new AtomicLong(start);
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long getAsLong() {
+        long[] block = blocks.get();
+        if (block[0] == block[1]) {
+            long next = counter.getAndAdd(blockSize);
+            block[0] = next;
+            block[1] = next + blockSize;
+        }
+        return block[0]++;
+    }
+}
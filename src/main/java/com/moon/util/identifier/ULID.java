@@ -0,0 +1,45 @@
+package com.moon.util.identifier;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ULID：48 位毫秒时间戳 + 80 位随机数，Crockford Base32 编码为 26 个字符，按字符串排序即按时间排序
+ *
+ * @author benshaoye
+ */
+public class ULID implements Identifier {
+
+    public final static ULID INSTANCE = new ULID();
+
+    private final static char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    @Override
+    public String get() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return format(System.currentTimeMillis(), random.nextLong() & 0xffffL, random.nextLong());
+    }
+
+    /**
+     * @param millis  48 位时间戳
+     * @param randHi  随机数高 16 位
+     * @param randLow 随机数低 64 位
+     * @return
+     */
+    static String format(long millis, long randHi, long randLow) {
+        char[] chars = new char[26];
+        // 时间戳 48 位 -> 10 个字符（首字符只用 3 位）
+        for (int i = 9; i >= 0; i--, millis >>>= 5) {
+            chars[i] = BASE32[(int) (millis & 0x1f)];
+        }
+        // 随机数 80 位 -> 16 个字符：低 64 位的 60 位占后 12 个字符，其余 20 位占前 4 个字符
+        long low = randLow;
+        for (int i = 25; i >= 14; i--, low >>>= 5) {
+            chars[i] = BASE32[(int) (low & 0x1f)];
+        }
+        long high = randHi << 4 | randLow >>> 60;
+        for (int i = 13; i >= 10; i--, high >>>= 5) {
+            chars[i] = BASE32[(int) (high & 0x1f)];
+        }
+        return new String(chars);
+    }
+}
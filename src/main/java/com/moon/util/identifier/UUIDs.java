@@ -0,0 +1,49 @@
+package com.moon.util.identifier;
+
+/**
+ * @author benshaoye
+ */
+final class UUIDs {
+
+    private UUIDs() {
+    }
+
+    private final static char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * 写入版本号（mostBits 第 48 ~ 51 位）
+     */
+    static long version(long mostBits, int version) {
+        return mostBits & ~0xf000L | (long) version << 12;
+    }
+
+    /**
+     * 写入 IETF 变体（leastBits 最高两位为 10）
+     */
+    static long variant(long leastBits) {
+        return leastBits & 0x3fffffffffffffffL | 0x8000000000000000L;
+    }
+
+    /**
+     * 直接按字符数组格式化为 8-4-4-4-12 形式
+     */
+    static String format(long mostBits, long leastBits) {
+        char[] chars = new char[36];
+        hex(chars, 0, mostBits >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, mostBits >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, mostBits, 4);
+        chars[18] = '-';
+        hex(chars, 19, leastBits >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, leastBits, 12);
+        return new String(chars);
+    }
+
+    private static void hex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--, value >>>= 4) {
+            chars[i] = HEX[(int) (value & 0xf)];
+        }
+    }
+}
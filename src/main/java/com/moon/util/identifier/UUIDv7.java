@@ -0,0 +1,31 @@
+package com.moon.util.identifier;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按时间排序的 UUID（版本 7）：高 48 位为毫秒时间戳，其余为随机数
+ * <p>
+ * 同一毫秒内的 ID 之间无序；作为数据库主键时插入位置集中在索引末尾
+ *
+ * @author benshaoye
+ */
+public class UUIDv7 implements Identifier {
+
+    public final static UUIDv7 INSTANCE = new UUIDv7();
+
+    @Override
+    public String get() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return UUIDs.format(mostBits(random), UUIDs.variant(random.nextLong()));
+    }
+
+    public UUID nextUUID() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(mostBits(random), UUIDs.variant(random.nextLong()));
+    }
+
+    private static long mostBits(ThreadLocalRandom random) {
+        return UUIDs.version(System.currentTimeMillis() << 16 | (random.nextInt() & 0xffff), 7);
+    }
+}
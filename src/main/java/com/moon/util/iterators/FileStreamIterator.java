@@ -5,8 +5,12 @@ import com.moon.io.IOUtil;
 import com.moon.util.ResourceUtil;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.moon.lang.ThrowUtil.throwRuntime;
 
 /**
  * @author benshaoye
@@ -18,6 +22,7 @@ public class FileStreamIterator implements Iterator {
     private byte[] buffer;
     private int length = 0;
     private int len = -1;
+    private boolean fetched = false;
     private boolean autoClose = true;
 
     public FileStreamIterator(String fileAbsPath, byte[] readBuffer) {
@@ -42,25 +47,42 @@ public class FileStreamIterator implements Iterator {
     }
 
 
+    /**
+     * 读取失败时关闭流并抛出异常，不再当作读取结束
+     *
+     * @return
+     */
     @Override
     public boolean hasNext() {
+        if (this.fetched) {
+            return this.len >= 0;
+        }
+        if (this.in == null) {
+            return false;
+        }
         try {
             this.len = this.in.read(buffer, 0, this.length);
+            this.fetched = true;
             if (this.len < 0) {
                 this.close();
                 return false;
             } else {
                 return true;
             }
-        } catch (Throwable throwable) {
-            return false;
+        } catch (IOException e) {
+            this.close();
+            return throwRuntime(e);
         }
     }
 
 
     @Override
     public Integer next() {
-        return this.len;
+        if (hasNext()) {
+            this.fetched = false;
+            return this.len;
+        }
+        throw new NoSuchElementException();
     }
 
 
@@ -0,0 +1,333 @@
+package com.moon.util.iterators;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.moon.lang.ThrowUtil.throwRuntime;
+
+/**
+ * 内存映射方式按行（或按任意单字节分隔符）迭代大文件
+ * <p>
+ * 文件按窗口分段映射，直接在映射区中查找分隔符，每条记录以 {@link ByteBuffer} 视图返回，
+ * 不复制数据；需要字符串时再调用 {@link #toString(ByteBuffer, Charset)} 或 {@link #chars(ByteBuffer)}。
+ * 返回的视图只在下一次 {@link #next()} 之前有效（窗口滑动后旧映射可能被回收）。
+ * <p>
+ * 按行迭代时，行尾的 '\r' 会被去掉；最后一行没有换行符时同样作为一条记录返回。
+ * <p>
+ * {@link #split(File, int)} 可将文件切分为按行对齐的若干段，每段一个迭代器，便于并行处理。
+ *
+ * @author benshaoye
+ */
+public class MappedFileIterator implements Iterator<ByteBuffer>, Closeable {
+
+    /**
+     * 默认映射窗口大小：64MB
+     */
+    public final static int DEFAULT_WINDOW = 64 << 20;
+
+    private final static byte LF = '\n', CR = '\r';
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final byte delimiter;
+    private final long end;
+
+    private int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    /**
+     * 下一条记录在文件中的起始位置
+     */
+    private long position;
+
+    private ByteBuffer current;
+
+    public MappedFileIterator(File file) {
+        this(file, LF);
+    }
+
+    public MappedFileIterator(File file, byte delimiter) {
+        this(file, 0, file.length(), delimiter, DEFAULT_WINDOW);
+    }
+
+    /**
+     * 迭代文件 [start, end) 区间内的记录
+     *
+     * @param file       文件
+     * @param start      起始位置，应处于记录开头
+     * @param end        结束位置，应处于记录结尾（分隔符之后）
+     * @param delimiter  记录分隔符
+     * @param windowSize 映射窗口大小；单条记录超过窗口时窗口自动扩大
+     */
+    public MappedFileIterator(File file, long start, long end, byte delimiter, int windowSize) {
+        if (start < 0 || start > end || windowSize <= 0) {
+            throw new IllegalArgumentException("start: " + start + ", end: " + end + ", window: " + windowSize);
+        }
+        try {
+            this.file = new RandomAccessFile(file, "r");
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        this.channel = this.file.getChannel();
+        this.delimiter = delimiter;
+        this.windowSize = windowSize;
+        this.windowStart = this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (current == null) {
+            current = readNext();
+        }
+        return current != null;
+    }
+
+    /**
+     * 下一条记录的只读视图，不包含分隔符
+     *
+     * @return
+     */
+    @Override
+    public ByteBuffer next() {
+        if (hasNext()) {
+            ByteBuffer record = current;
+            current = null;
+            return record;
+        }
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * 下一条记录，按 charset 解码为字符串
+     *
+     * @param charset
+     * @return
+     */
+    public String nextString(Charset charset) {
+        return toString(next(), charset);
+    }
+
+    private ByteBuffer readNext() {
+        if (position >= end) {
+            close();
+            return null;
+        }
+        try {
+            for (; ; ) {
+                MappedByteBuffer buffer = ensureWindow();
+                final int from = (int) (position - windowStart), limit = buffer.limit();
+                for (int i = from; i < limit; i++) {
+                    if (buffer.get(i) == delimiter) {
+                        position = windowStart + i + 1;
+                        return slice(buffer, from, i);
+                    }
+                }
+                long windowEnd = windowStart + limit;
+                if (windowEnd >= end) {
+                    position = end;
+                    return slice(buffer, from, limit);
+                }
+                // 记录跨窗口：从记录开头重新映射，记录比窗口还长时扩大窗口
+                if (from == 0) {
+                    windowSize = (int) Math.min(Integer.MAX_VALUE - 8L, windowSize * 2L);
+                }
+                window = null;
+            }
+        } catch (IOException e) {
+            close();
+            return throwRuntime(e);
+        }
+    }
+
+    private ByteBuffer slice(ByteBuffer buffer, int from, int to) {
+        if (delimiter == LF && to > from && buffer.get(to - 1) == CR) {
+            to--;
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.limit(to).position(from);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    private MappedByteBuffer ensureWindow() throws IOException {
+        MappedByteBuffer buffer = window;
+        if (buffer == null || position >= windowStart + buffer.limit()) {
+            long size = Math.min(windowSize, end - position);
+            windowStart = position;
+            window = buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        }
+        return buffer;
+    }
+
+    /**
+     * 关闭文件；映射区由 GC 回收
+     */
+    @Override
+    public void close() {
+        window = null;
+        try {
+            file.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * views
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 按 charset 解码记录，不改变 buffer 的位置
+     *
+     * @param buffer
+     * @param charset
+     * @return
+     */
+    public static String toString(ByteBuffer buffer, Charset charset) {
+        return charset.decode(buffer.duplicate()).toString();
+    }
+
+    /**
+     * 记录的字符视图，每个字节对应一个字符（ASCII / ISO-8859-1），不复制数据；
+     * {@link CharSequence#toString()} 按 UTF-8 解码
+     *
+     * @param buffer
+     * @return
+     */
+    public static CharSequence chars(ByteBuffer buffer) {
+        return new ByteChars(buffer);
+    }
+
+    private final static class ByteChars implements CharSequence {
+
+        private final ByteBuffer buffer;
+
+        ByteChars(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int length() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(buffer.position() + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            ByteBuffer view = buffer.duplicate();
+            view.position(buffer.position() + start).limit(buffer.position() + end);
+            return new ByteChars(view.slice());
+        }
+
+        @Override
+        public String toString() {
+            return MappedFileIterator.toString(buffer, StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+     * -------------------------------------------------------------
+     * split
+     * -------------------------------------------------------------
+     */
+
+    /**
+     * 将文件切分为大致相等、按行对齐的 parts 段，每段一个迭代器
+     *
+     * @param file
+     * @param parts
+     * @return
+     */
+    public static List<MappedFileIterator> split(File file, int parts) {
+        return split(file, parts, LF);
+    }
+
+    /**
+     * 将文件切分为大致相等、按 delimiter 对齐的 parts 段，每段一个迭代器；
+     * 文件较小时实际段数可能少于 parts
+     *
+     * @param file
+     * @param parts
+     * @param delimiter
+     * @return
+     */
+    public static List<MappedFileIterator> split(File file, int parts, byte delimiter) {
+        long[] bounds = bounds(file, parts, delimiter);
+        List<MappedFileIterator> iterators = new ArrayList<>(bounds.length - 1);
+        for (int i = 1; i < bounds.length; i++) {
+            iterators.add(new MappedFileIterator(file, bounds[i - 1], bounds[i], delimiter, DEFAULT_WINDOW));
+        }
+        return iterators;
+    }
+
+    /**
+     * 按 delimiter 对齐的切分点，首尾分别为 0 和文件长度
+     *
+     * @param file
+     * @param parts
+     * @param delimiter
+     * @return
+     */
+    public static long[] bounds(File file, int parts, byte delimiter) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("parts: " + parts);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            final long size = channel.size();
+            long[] bounds = new long[parts + 1];
+            int count = 1;
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            for (int i = 1; i < parts; i++) {
+                long from = Math.max(size / parts * i, bounds[count - 1]);
+                long bound = alignTo(channel, from, size, delimiter, buffer);
+                if (bound > bounds[count - 1] && bound < size) {
+                    bounds[count++] = bound;
+                }
+            }
+            bounds[count++] = size;
+            long[] result = new long[count];
+            System.arraycopy(bounds, 0, result, 0, count);
+            return result;
+        } catch (IOException e) {
+            return throwRuntime(e);
+        }
+    }
+
+    private static long alignTo(
+        FileChannel channel, long from, long size, byte delimiter, ByteBuffer buffer
+    ) throws IOException {
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                if (buffer.get(i) == delimiter) {
+                    return position + i + 1;
+                }
+            }
+            position += count;
+        }
+        return size;
+    }
+}
@@ -34,9 +34,9 @@ public interface JSON<KEY> extends Cloneable, Serializable {
     static JSON parse(String jsonText) {
         return jsonText == null
             ? JSONNull.NULL
-            : new JSONParser(jsonText.startsWith("classpath:")
+            : JSONCfg.parse(jsonText.startsWith("classpath:")
             ? readJsonString(jsonText.substring(10))
-            : jsonText).toJSON();
+            : jsonText);
     }
 
     /**
@@ -46,7 +46,7 @@ public interface JSON<KEY> extends Cloneable, Serializable {
      * @return
      */
     static JSON parse(File jsonFile) {
-        return new JSONParser(readJsonString(jsonFile)).toJSON();
+        return JSONCfg.parse(readJsonString(jsonFile));
     }
 
     /**
@@ -56,15 +56,15 @@ public interface JSON<KEY> extends Cloneable, Serializable {
      * @return
      */
     static JSON parse(InputStream jsonIO) {
-        return new JSONParser(readJsonString(jsonIO)).toJSON();
+        return JSONCfg.parse(readJsonString(jsonIO));
     }
 
     static JSON parse(Reader jsonReader) {
-        return new JSONParser(readJsonString(ofLines(jsonReader))).toJSON();
+        return JSONCfg.parse(readJsonString(ofLines(jsonReader)));
     }
 
     static JSON parse(URL url) {
-        return new JSONParser(readJsonString(url)).toJSON();
+        return JSONCfg.parse(readJsonString(url));
     }
 
     static JSONArray parseArray(String jsonText) {
@@ -109,7 +109,7 @@ public interface JSON<KEY> extends Cloneable, Serializable {
      * @return
      */
     static String toJSONString(Object obj) {
-        return JSONCfg.WEAK.getOrReload().stringify(obj);
+        return JSONCfg.stringify(obj);
     }
 
     /**
@@ -84,6 +84,6 @@ public class JSONArray extends ArrayList<Object>
 
     @Override
     public String toString() {
-        return JSONCfg.WEAK.getOrReload().stringify(this);
+        return JSONCfg.stringify(this);
     }
 }
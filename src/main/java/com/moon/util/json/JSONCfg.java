@@ -1,6 +1,9 @@
 package com.moon.util.json;
 
 import com.moon.lang.ref.WeakAccessor;
+import com.moon.util.MetricsUtil;
+import com.moon.util.metrics.Counter;
+import com.moon.util.metrics.Timer;
 
 /**
  * @author benshaoye
@@ -9,6 +12,33 @@ import com.moon.lang.ref.WeakAccessor;
 class JSONCfg {
     final static WeakAccessor<JSONStringer> WEAK = WeakAccessor.of(JSONStringer::new);
 
+    final static Timer PARSE_TIMER = MetricsUtil.timer("moon.json.parse");
+    final static Counter PARSE_CHARS = MetricsUtil.counter("moon.json.parse.chars");
+    final static Timer STRINGIFY_TIMER = MetricsUtil.timer("moon.json.stringify");
+    final static Counter STRINGIFY_CHARS = MetricsUtil.counter("moon.json.stringify.chars");
+
+    /**
+     * 解析并记录耗时和字符数
+     */
+    static JSON parse(String jsonText) {
+        long start = PARSE_TIMER.start();
+        JSON json = new JSONParser(jsonText).toJSON();
+        PARSE_TIMER.stop(start);
+        PARSE_CHARS.add(jsonText.length());
+        return json;
+    }
+
+    /**
+     * 字符串化并记录耗时和字符数
+     */
+    static String stringify(Object obj) {
+        long start = STRINGIFY_TIMER.start();
+        String json = WEAK.getOrReload().stringify(obj);
+        STRINGIFY_TIMER.stop(start);
+        STRINGIFY_CHARS.add(json.length());
+        return json;
+    }
+
     final static char[][] ESCAPES = {
         {'b', '\b'},
         {'n', '\n'},
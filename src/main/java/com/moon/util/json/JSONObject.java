@@ -85,6 +85,6 @@ public class JSONObject extends HashMap<String, Object>
 
     @Override
     public String toString() {
-        return JSONCfg.WEAK.getOrReload().stringify(this);
+        return JSONCfg.stringify(this);
     }
 }
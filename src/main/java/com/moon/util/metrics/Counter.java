@@ -0,0 +1,23 @@
+package com.moon.util.metrics;
+
+/**
+ * 计数器
+ *
+ * @author benshaoye
+ */
+public interface Counter {
+
+    /**
+     * 加一
+     */
+    default void increment() {
+        add(1);
+    }
+
+    /**
+     * 加 amount
+     *
+     * @param amount
+     */
+    void add(long amount);
+}
@@ -0,0 +1,16 @@
+package com.moon.util.metrics;
+
+/**
+ * 数值分布，如每批行数、字节数
+ *
+ * @author benshaoye
+ */
+public interface Histogram {
+
+    /**
+     * 记录一个值，负数按 0 记录
+     *
+     * @param value
+     */
+    void record(long value);
+}
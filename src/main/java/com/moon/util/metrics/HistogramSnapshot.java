@@ -0,0 +1,88 @@
+package com.moon.util.metrics;
+
+/**
+ * 直方图快照
+ *
+ * @author benshaoye
+ */
+public final class HistogramSnapshot {
+
+    final static HistogramSnapshot EMPTY = new HistogramSnapshot(new long[0], 0, 0, 0, 0);
+
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(long[] buckets, long count, long sum, long min, long max) {
+        this.buckets = buckets;
+        this.count = count;
+        this.sum = sum;
+        this.min = count == 0 ? 0 : min;
+        this.max = count == 0 ? 0 : max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * 分位数
+     *
+     * @param percentile 0 ~ 100
+     * @return 不小于该比例记录值的最小桶上限，不超过最大值
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (long bucket : buckets) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double ratio = Math.min(Math.max(percentile, 0), 100) / 100;
+        long target = Math.max(1, (long) Math.ceil(ratio * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if ((seen += buckets[i]) >= target) {
+                return Math.max(min, Math.min(max, LogHistogram.highestOf(i)));
+            }
+        }
+        return max;
+    }
+
+    public long getP50() {
+        return getPercentile(50);
+    }
+
+    public long getP99() {
+        return getPercentile(99);
+    }
+
+    public long getP999() {
+        return getPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + (long) getMean() + ", min=" + min
+            + ", p50=" + getP50() + ", p99=" + getP99() + ", p999=" + getP999() + ", max=" + max;
+    }
+}
@@ -0,0 +1,101 @@
+package com.moon.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定内存的对数分桶直方图（HDR 风格）
+ * <p>
+ * 每个 2 的幂区间再等分为 32 个桶，分位数的相对误差不超过 1/32（约 3%）；
+ * 桶数固定为 1888 个，与记录的数量和数值范围无关。可被多个线程同时记录
+ *
+ * @author benshaoye
+ */
+public final class LogHistogram implements Histogram, Timer {
+
+    final static int SUB_BITS = 5;
+    final static int SUB_COUNT = 1 << SUB_BITS;
+    final static int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        for (long current; value < (current = min.get()) && !min.compareAndSet(current, value); ) {
+        }
+        for (long current; value > (current = max.get()) && !max.compareAndSet(current, value); ) {
+        }
+    }
+
+    /**
+     * 当前分布的快照；记录与快照并发时快照中各项可能相差正在记录的几条
+     *
+     * @return
+     */
+    public HistogramSnapshot snapshot() {
+        long[] buckets = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(buckets, count.sum(), sum.sum(), min.get(), max.get());
+    }
+
+    /**
+     * 取得快照并清空
+     *
+     * @return
+     */
+    public HistogramSnapshot snapshotAndReset() {
+        long[] buckets = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += buckets[i] = counts.getAndSet(i, 0);
+        }
+        count.add(-total);
+        return new HistogramSnapshot(buckets, total, sum.sumThenReset(),
+            min.getAndSet(Long.MAX_VALUE), max.getAndSet(Long.MIN_VALUE));
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    /**
+     * 桶内的最小值
+     */
+    static long lowestOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        return (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+    }
+
+    /**
+     * 桶内的最大值
+     */
+    static long highestOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,87 @@
+package com.moon.util.metrics;
+
+import javax.management.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * 以 JMX 属性导出指标：计数器和瞬时值为同名属性，耗时和分布为 name.count、name.p50、name.p99、name.p999、name.max 等
+ *
+ * @author benshaoye
+ */
+public class MetricsMBean implements DynamicMBean {
+
+    private final Supplier<MetricsSnapshot> snapshot;
+
+    public MetricsMBean(Supplier<MetricsSnapshot> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    private Map<String, Long> attributes() {
+        MetricsSnapshot current = snapshot.get();
+        Map<String, Long> attributes = new TreeMap<>(current.getCounters());
+        attributes.putAll(current.getGauges());
+        current.getTimers().forEach((name, timer) -> put(attributes, name, timer));
+        current.getHistograms().forEach((name, histogram) -> put(attributes, name, histogram));
+        return attributes;
+    }
+
+    private static void put(Map<String, Long> attributes, String name, HistogramSnapshot histogram) {
+        attributes.put(name + ".count", histogram.getCount());
+        attributes.put(name + ".mean", (long) histogram.getMean());
+        attributes.put(name + ".p50", histogram.getP50());
+        attributes.put(name + ".p99", histogram.getP99());
+        attributes.put(name + ".p999", histogram.getP999());
+        attributes.put(name + ".max", histogram.getMax());
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = attributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        Map<String, Long> attributes = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Long value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Read only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> infos = new ArrayList<>();
+        for (String name : attributes().keySet()) {
+            infos.add(new MBeanAttributeInfo(name, Long.class.getName(), name, true, false, false));
+        }
+        return new MBeanInfo(getClass().getName(), "moon-util metrics",
+            infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
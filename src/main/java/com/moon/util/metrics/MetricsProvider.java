@@ -0,0 +1,39 @@
+package com.moon.util.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 指标 SPI
+ * <p>
+ * 可通过 {@link com.moon.util.MetricsUtil#setProvider(MetricsProvider)} 设置，
+ * 或在 META-INF/services/com.moon.util.metrics.MetricsProvider 中声明由 ServiceLoader 加载；
+ * 都没有时不做任何记录。同一名称应返回同一个指标
+ *
+ * @author benshaoye
+ */
+public interface MetricsProvider {
+
+    Counter counter(String name);
+
+    Timer timer(String name);
+
+    Histogram histogram(String name);
+
+    /**
+     * 注册一个瞬时值（如队列长度），快照时读取；同一名称重复注册时替换
+     *
+     * @param name
+     * @param supplier
+     */
+    default void gauge(String name, LongSupplier supplier) {
+    }
+
+    /**
+     * 当前所有指标的快照，不支持时返回空快照
+     *
+     * @return
+     */
+    default MetricsSnapshot snapshot() {
+        return MetricsSnapshot.EMPTY;
+    }
+}
@@ -0,0 +1,97 @@
+package com.moon.util.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 指标快照，各 Map 按名称排序
+ *
+ * @author benshaoye
+ */
+public final class MetricsSnapshot {
+
+    public final static MetricsSnapshot EMPTY = new MetricsSnapshot(
+        Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, Long> counters;
+    private final Map<String, HistogramSnapshot> timers;
+    private final Map<String, HistogramSnapshot> histograms;
+    private final Map<String, Long> gauges;
+
+    public MetricsSnapshot(
+        Map<String, Long> counters,
+        Map<String, HistogramSnapshot> timers,
+        Map<String, HistogramSnapshot> histograms
+    ) {
+        this(counters, timers, histograms, Collections.emptyMap());
+    }
+
+    public MetricsSnapshot(
+        Map<String, Long> counters,
+        Map<String, HistogramSnapshot> timers,
+        Map<String, HistogramSnapshot> histograms,
+        Map<String, Long> gauges
+    ) {
+        this.counters = Collections.unmodifiableMap(counters);
+        this.timers = Collections.unmodifiableMap(timers);
+        this.histograms = Collections.unmodifiableMap(histograms);
+        this.gauges = Collections.unmodifiableMap(gauges);
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * 耗时分布，单位纳秒
+     *
+     * @return
+     */
+    public Map<String, HistogramSnapshot> getTimers() {
+        return timers;
+    }
+
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    public Map<String, Long> getGauges() {
+        return gauges;
+    }
+
+    /**
+     * 瞬时值，没有时返回 0
+     *
+     * @param gaugeName
+     * @return
+     */
+    public long getGauge(String gaugeName) {
+        Long value = gauges.get(gaugeName);
+        return value == null ? 0 : value;
+    }
+
+    public long getCount(String counterName) {
+        Long count = counters.get(counterName);
+        return count == null ? 0 : count;
+    }
+
+    public HistogramSnapshot getTimer(String name) {
+        HistogramSnapshot snapshot = timers.get(name);
+        return snapshot == null ? HistogramSnapshot.EMPTY : snapshot;
+    }
+
+    public HistogramSnapshot getHistogram(String name) {
+        HistogramSnapshot snapshot = histograms.get(name);
+        return snapshot == null ? HistogramSnapshot.EMPTY : snapshot;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        counters.forEach((name, count) -> builder.append(name).append(": ").append(count).append('\n'));
+        gauges.forEach((name, value) -> builder.append(name).append(": ").append(value).append('\n'));
+        timers.forEach((name, timer) -> builder.append(name).append(" (ns): ").append(timer).append('\n'));
+        histograms.forEach((name, histogram) -> builder.append(name).append(": ").append(histogram).append('\n'));
+        return builder.toString();
+    }
+}
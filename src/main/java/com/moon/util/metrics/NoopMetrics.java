@@ -0,0 +1,46 @@
+package com.moon.util.metrics;
+
+/**
+ * 不做任何记录的指标，默认使用
+ *
+ * @author benshaoye
+ */
+public enum NoopMetrics implements MetricsProvider, Counter, Timer, Histogram {
+    INSTANCE;
+
+    @Override
+    public Counter counter(String name) {
+        return this;
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return this;
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return this;
+    }
+
+    @Override
+    public void increment() {
+    }
+
+    @Override
+    public void add(long amount) {
+    }
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void stop(long start) {
+    }
+
+    @Override
+    public void record(long value) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.moon.util.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 内置的指标实现：计数器基于 {@link LongAdder}，耗时和分布基于 {@link LogHistogram}，瞬时值在快照时读取
+ *
+ * @author benshaoye
+ */
+public class SimpleMetrics implements MetricsProvider {
+
+    private final Map<String, SimpleCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LogHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LogHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new SimpleCounter());
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new LogHistogram());
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LogHistogram());
+    }
+
+    @Override
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counters = new TreeMap<>();
+        this.counters.forEach((name, counter) -> counters.put(name, counter.sum()));
+        Map<String, HistogramSnapshot> timers = new TreeMap<>();
+        this.timers.forEach((name, timer) -> timers.put(name, timer.snapshot()));
+        Map<String, HistogramSnapshot> histograms = new TreeMap<>();
+        this.histograms.forEach((name, histogram) -> histograms.put(name, histogram.snapshot()));
+        Map<String, Long> gauges = new TreeMap<>();
+        this.gauges.forEach((name, gauge) -> gauges.put(name, gauge.getAsLong()));
+        return new MetricsSnapshot(counters, timers, histograms, gauges);
+    }
+
+    private final static class SimpleCounter implements Counter {
+
+        private final LongAdder adder = new LongAdder();
+
+        @Override
+        public void add(long amount) {
+            adder.add(amount);
+        }
+
+        @Override
+        public void increment() {
+            adder.increment();
+        }
+
+        long sum() {
+            return adder.sum();
+        }
+    }
+}
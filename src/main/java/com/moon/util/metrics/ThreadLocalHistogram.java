@@ -0,0 +1,165 @@
+package com.moon.util.metrics;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.moon.util.metrics.LogHistogram.BUCKET_COUNT;
+
+/**
+ * 按线程分片的对数分桶直方图，分桶同 {@link LogHistogram}
+ * <p>
+ * 每个线程写自己的 {@link Recorder}，只有一个写线程所以不需要 CAS 或加锁，
+ * 记录的开销只是几次普通读写；快照时汇总所有线程。
+ * 最小值和最大值取自非空桶的边界，与分位数一样有约 3% 的误差。
+ * 记录器弱引用所属线程，已结束线程的记录在新线程注册或快照时合并，不会随线程数持续增长
+ *
+ * @author benshaoye
+ */
+public final class ThreadLocalHistogram implements Histogram, Timer {
+
+    private final ThreadLocal<Recorder> local = ThreadLocal.withInitial(this::register);
+    private final Queue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已结束线程的记录
+     */
+    private final long[] retired = new long[BUCKET_COUNT];
+    private long retiredSum;
+    /**
+     * 上次清空时的总数
+     */
+    private final long[] baseline = new long[BUCKET_COUNT];
+    private long baselineSum;
+
+    /**
+     * 当前线程的记录器，只能在当前线程中使用
+     *
+     * @return
+     */
+    public Recorder getRecorder() {
+        return local.get();
+    }
+
+    @Override
+    public void record(long value) {
+        local.get().record(value);
+    }
+
+    public synchronized HistogramSnapshot snapshot() {
+        long[] buckets = new long[BUCKET_COUNT];
+        long sum = collect(buckets) - baselineSum;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] -= baseline[i];
+        }
+        return toSnapshot(buckets, sum);
+    }
+
+    /**
+     * 取得上次清空以来的快照并清空
+     *
+     * @return
+     */
+    public synchronized HistogramSnapshot snapshotAndReset() {
+        long[] buckets = new long[BUCKET_COUNT];
+        long total = collect(buckets);
+        long sum = total - baselineSum;
+        baselineSum = total;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = buckets[i];
+            buckets[i] = count - baseline[i];
+            baseline[i] = count;
+        }
+        return toSnapshot(buckets, sum);
+    }
+
+    private synchronized Recorder register() {
+        retireDead();
+        Recorder recorder = new Recorder(Thread.currentThread());
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * 已结束线程的记录器合并到 retired 后移除
+     */
+    private void retireDead() {
+        for (Iterator<Recorder> iterator = recorders.iterator(); iterator.hasNext(); ) {
+            Recorder recorder = iterator.next();
+            if (!recorder.isAlive()) {
+                iterator.remove();
+                retiredSum += recorder.sum.get();
+                recorder.addTo(retired);
+            }
+        }
+    }
+
+    /**
+     * 汇总所有线程的累计值
+     *
+     * @return 累计总和
+     */
+    private long collect(long[] buckets) {
+        retireDead();
+        long sum = retiredSum;
+        for (Recorder recorder : recorders) {
+            sum += recorder.sum.get();
+            recorder.addTo(buckets);
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] += retired[i];
+        }
+        return sum;
+    }
+
+    private static HistogramSnapshot toSnapshot(long[] buckets, long sum) {
+        long count = 0;
+        int first = -1, last = -1;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (buckets[i] > 0) {
+                count += buckets[i];
+                first = first < 0 ? i : first;
+                last = i;
+            }
+        }
+        return count == 0 ? new HistogramSnapshot(buckets, 0, 0, 0, 0) : new HistogramSnapshot(
+            buckets, count, sum, LogHistogram.lowestOf(first), LogHistogram.highestOf(last));
+    }
+
+    /**
+     * 单个线程的记录器：只有所属线程写入，写入使用有序写（lazySet），其他线程读取
+     */
+    public final static class Recorder {
+
+        private final WeakReference<Thread> owner;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong sum = new AtomicLong();
+
+        Recorder(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        boolean isAlive() {
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+
+        public void record(long value) {
+            if (value < 0) {
+                value = 0;
+            }
+            int index = LogHistogram.indexOf(value);
+            buckets.lazySet(index, buckets.get(index) + 1);
+            sum.lazySet(sum.get() + value);
+        }
+
+        void addTo(long[] target) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                target[i] += buckets.get(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.moon.util.metrics;
+
+/**
+ * 耗时统计，单位纳秒
+ * <p>
+ * 用法：
+ * <pre>
+ * long start = TIMER.start();
+ * try {
+ *     ...
+ * } finally {
+ *     TIMER.stop(start);
+ * }
+ * </pre>
+ * 未启用时 start 不读取时钟
+ *
+ * @author benshaoye
+ */
+public interface Timer {
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 纳秒
+     */
+    void record(long nanos);
+
+    /**
+     * 开始计时
+     *
+     * @return 开始时间，交给 {@link #stop(long)}
+     */
+    default long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束计时并记录
+     *
+     * @param start {@link #start()} 的返回值
+     */
+    default void stop(long start) {
+        record(System.nanoTime() - start);
+    }
+}
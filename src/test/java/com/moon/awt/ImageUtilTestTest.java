@@ -2,6 +2,14 @@ package com.moon.awt;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @author benshaoye
  */
@@ -20,4 +28,23 @@ class ImageUtilTestTest {
         System.out.println(base64);
         ImageUtil.base64ToImage(base64, dirPath, "newName.png");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBase64RoundTrip() throws Exception {
+        File image = File.createTempFile("moon-image", ".png");
+        File copied = File.createTempFile("moon-image", ".png");
+        try {
+            byte[] bytes = new byte[300000];
+            new Random(3).nextBytes(bytes);
+            Files.write(image.toPath(), bytes);
+
+            base64 = ImageUtil.imageToBase64(image);
+            assertEquals(Base64.getEncoder().encodeToString(bytes), base64);
+            ImageUtil.base64ToImage(base64, copied);
+            assertArrayEquals(bytes, Files.readAllBytes(copied.toPath()));
+        } finally {
+            image.delete();
+            copied.delete();
+        }
+    }
+}
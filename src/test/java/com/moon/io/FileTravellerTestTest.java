@@ -2,6 +2,18 @@ package com.moon.io;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 /**
  * @author benshaoye
  */
@@ -15,4 +27,102 @@ class FileTravellerTestTest {
         FileUtil.traverseDirectory(path)
             .forEach(System.out::println);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWalker() throws Exception {
+        Path root = Files.createTempDirectory("moon-walker");
+        try {
+            for (String name : new String[]{"a.log", "b.txt", "x/c.log", "x/y/d.log", "skip/e.log"}) {
+                Path file = root.resolve(name);
+                Files.createDirectories(file.getParent());
+                Files.write(file, name.getBytes());
+            }
+            Set<String> expected = new TreeSet<>();
+            expected.add("a.log");
+            expected.add("x/c.log");
+            expected.add("x/y/d.log");
+
+            FileWalker walker = FileUtil.walker(root.toFile()).glob("*.log")
+                .filterDirectory((dir, attrs) -> !dir.endsWith("skip"));
+            assertEquals(expected, relative(root, walker.toList()));
+            assertEquals(expected, relative(root, walker.toListParallel()));
+            try (Stream<Path> stream = walker.stream()) {
+                assertEquals(expected, relative(root, stream.collect(Collectors.toList())));
+            }
+
+            expected.remove("x/y/d.log");
+            assertEquals(expected, relative(root, walker.maxDepth(2).toList()));
+            assertEquals(expected, relative(root, walker.toListParallel()));
+
+            List<File> files = new FileTraveller().traverse(root.toFile());
+            assertEquals(5, files.size());
+        } finally {
+            FileUtil.deleteAllFiles(root.toFile());
+        }
+    }
+
+    @Test
+    void testWalkerLinkLoop() throws Exception {
+        Path root = Files.createTempDirectory("moon-walker-loop");
+        Path loop = root.resolve("a/loop"), copy = root.resolve("b");
+        try {
+            Files.createDirectories(root.resolve("a"));
+            Files.write(root.resolve("a/f.log"), new byte[0]);
+            Files.createSymbolicLink(loop, root);
+            Files.createSymbolicLink(copy, root.resolve("a"));
+
+            Set<String> expected = new TreeSet<>();
+            expected.add("a/f.log");
+            expected.add("b/f.log");
+            FileWalker walker = FileUtil.walker(root.toFile()).followLinks(true);
+            assertEquals(expected, relative(root, walker.toList()));
+            assertEquals(expected, relative(root, walker.toListParallel()));
+            try (Stream<Path> stream = walker.stream()) {
+                assertEquals(expected, relative(root, stream.collect(Collectors.toList())));
+            }
+
+            walker.ignoreErrors(false);
+            assertThrows(RuntimeException.class, walker::toList);
+            assertThrows(RuntimeException.class, walker::toListParallel);
+            try (Stream<Path> stream = walker.stream()) {
+                assertThrows(RuntimeException.class, () -> stream.collect(Collectors.toList()));
+            }
+        } finally {
+            Files.deleteIfExists(loop);
+            Files.deleteIfExists(copy);
+            FileUtil.deleteAllFiles(root.toFile());
+        }
+    }
+
+    @Test
+    void testTraverseLinks() throws Exception {
+        Path root = Files.createTempDirectory("moon-traveller-link");
+        Path other = Files.createTempDirectory("moon-traveller-other");
+        Path fileLink = root.resolve("link.txt"), dirLink = root.resolve("dir");
+        try {
+            Files.createDirectories(root.resolve("real"));
+            Files.write(root.resolve("real/a.txt"), new byte[0]);
+            Files.write(other.resolve("b.txt"), new byte[0]);
+            Files.createSymbolicLink(fileLink, root.resolve("real/a.txt"));
+            Files.createSymbolicLink(dirLink, other);
+
+            Set<String> expected = new TreeSet<>();
+            expected.add("real/a.txt");
+            expected.add("link.txt");
+            expected.add("dir/b.txt");
+            List<Path> paths = new FileTraveller().traverse(root.toFile())
+                .stream().map(File::toPath).collect(Collectors.toList());
+            assertEquals(expected, relative(root, paths));
+        } finally {
+            Files.deleteIfExists(fileLink);
+            Files.deleteIfExists(dirLink);
+            FileUtil.deleteAllFiles(root.toFile());
+            FileUtil.deleteAllFiles(other.toFile());
+        }
+    }
+
+    private static Set<String> relative(Path root, List<Path> paths) {
+        return paths.stream().map(path -> root.relativize(path).toString().replace('\\', '/'))
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -4,7 +4,11 @@ import com.moon.util.Console;
 import com.moon.util.assertions.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.io.File;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 /**
  * @author benshaoye
@@ -36,4 +40,38 @@ class FileUtilTestTest {
         outFreeSpace("a:");
         outFreeSpace("a:DriverA");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTransfer() throws Exception {
+        File source = File.createTempFile("moon-transfer", ".txt");
+        File target = File.createTempFile("moon-transfer", ".txt");
+        try {
+            byte[] bytes = new byte[100000];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) i;
+            }
+            Files.write(source.toPath(), bytes);
+            Files.write(target.toPath(), "longer than nothing".getBytes(StandardCharsets.UTF_8));
+
+            TransferStats stats = FileUtil.transfer(source, target);
+            assertions.assertEquals(stats.getBytes(), (long) bytes.length);
+            assertions.assertTrue(Arrays.equals(Files.readAllBytes(target.toPath()), bytes));
+
+            try (FileInputStream in = new FileInputStream(source);
+                 FileOutputStream out = new FileOutputStream(target)) {
+                in.skip(10);
+                assertions.assertEquals(IOUtil.copy(in, out), (long) bytes.length - 10);
+            }
+            assertions.assertEquals(target.length(), (long) bytes.length - 10);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = new BufferedInputStream(new FileInputStream(source))) {
+                IOUtil.copy(Channels.newChannel(in), Channels.newChannel(out));
+            }
+            assertions.assertTrue(Arrays.equals(out.toByteArray(), bytes));
+        } finally {
+            source.delete();
+            target.delete();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.moon.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class IOUtilTestTest {
+
+    @Test
+    void testBufferPool() {
+        BufferPool pool = new BufferPool(BufferPool.MIN_SIZE * 3);
+        byte[] bytes = pool.takeBytes(100);
+        assertEquals(BufferPool.MIN_SIZE, bytes.length);
+        assertEquals(BufferPool.MIN_SIZE * 2, pool.takeBytes(BufferPool.MIN_SIZE + 1).length);
+        pool.release(bytes);
+        assertSame(bytes, pool.takeBytes(BufferPool.MIN_SIZE));
+
+        pool.release(new byte[BufferPool.MIN_SIZE]);
+        pool.release(new byte[BufferPool.MIN_SIZE * 2]);
+        pool.release(new byte[BufferPool.MIN_SIZE * 2]);
+        assertEquals(BufferPool.MIN_SIZE * 3, pool.getRetained());
+        pool.release(new byte[100]);
+        assertEquals(BufferPool.MIN_SIZE * 3, pool.getRetained());
+
+        assertEquals(BufferPool.MAX_SIZE + 1, pool.takeChars(BufferPool.MAX_SIZE + 1).length);
+    }
+
+    @Test
+    void testReadAllBytes() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("中文 text ").append(i);
+        }
+        String text = builder.toString();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        // available() 为 0 的流也要读完
+        assertArrayEquals(bytes, IOUtil.readAllBytes(new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int available() {
+                return 0;
+            }
+        }));
+        assertEquals(text, IOUtil.toString(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        assertEquals(text, IOUtil.toString(new StringReader(text)));
+
+        File file = File.createTempFile("moon-read", ".txt");
+        try {
+            Files.write(file.toPath(), bytes);
+            assertArrayEquals(bytes, IOUtil.readAllBytes(file));
+            assertEquals(text, IOUtil.toString(file, StandardCharsets.UTF_8));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testCopyChannels() throws Exception {
+        byte[] bytes = new byte[BufferPool.MAX_SIZE * 3 + 7];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransferStats stats = IOUtil.copy(Channels.newChannel(new ByteArrayInputStream(bytes)), Channels.newChannel(out));
+        assertEquals(bytes.length, stats.getBytes());
+        assertArrayEquals(bytes, out.toByteArray());
+
+        // 非阻塞通道会让复制空转，直接拒绝
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            assertThrows(IllegalArgumentException.class,
+                () -> IOUtil.copy(pipe.source(), Channels.newChannel(new ByteArrayOutputStream())));
+            pipe.sink().configureBlocking(false);
+            assertThrows(IllegalArgumentException.class,
+                () -> IOUtil.copy(Channels.newChannel(new ByteArrayInputStream(bytes)), pipe.sink()));
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    @Test
+    void testAsyncFileUtil() throws Exception {
+        byte[] bytes = new byte[AsyncFileUtil.CHUNK_SIZE * 3 + 17];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        Path source = Files.createTempFile("moon-async", ".bin");
+        Path target = Files.createTempFile("moon-async", ".bin");
+        try {
+            long written = AsyncFileUtil.writeAsync(source, ByteBuffer.wrap(bytes)).get(10, TimeUnit.SECONDS);
+            assertEquals(bytes.length, written);
+            assertArrayEquals(bytes, AsyncFileUtil.readAllAsync(source).get(10, TimeUnit.SECONDS));
+
+            AtomicLong sum = new AtomicLong();
+            long read = AsyncFileUtil.readAsync(source, 1000, buffer -> {
+                while (buffer.hasRemaining()) {
+                    sum.addAndGet(buffer.get());
+                }
+            }).get(10, TimeUnit.SECONDS);
+            long expected = 0;
+            for (byte b : bytes) {
+                expected += b;
+            }
+            assertEquals(bytes.length, read);
+            assertEquals(expected, sum.get());
+            assertThrows(IllegalArgumentException.class, () -> AsyncFileUtil.readAsync(source, 0, buffer -> {}));
+
+            assertEquals(bytes.length, (long) AsyncFileUtil.copyAsync(source, target).get(10, TimeUnit.SECONDS));
+            assertArrayEquals(bytes, Files.readAllBytes(target));
+
+            Files.delete(source);
+            assertTrue(AsyncFileUtil.readAllAsync(source).isCompletedExceptionally());
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.moon.lang;
 
 import com.moon.util.IteratorUtil;
+import com.moon.io.IOUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.Base64;
+import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @author benshaoye
  */
@@ -97,4 +106,39 @@ class Base64UtilTestTest {
             String name = item.substring(end);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreaming() throws Exception {
+        Random random = new Random(7);
+        for (int length : new int[]{0, 1, 2, 3, 4, 5, 56, 57, 58, 1000, 4099}) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+
+            StringWriter writer = new StringWriter();
+            try (OutputStream out = Base64Util.encodingStream(writer)) {
+                // 分散写入，覆盖跨分组的尾部字节
+                int half = length / 2;
+                out.write(bytes, 0, half);
+                if (half < length) {
+                    out.write(bytes[half]);
+                    out.write(bytes, half + 1, length - half - 1);
+                }
+            }
+            assertEquals(Base64.getEncoder().encodeToString(bytes), writer.toString());
+
+            StringWriter mime = new StringWriter();
+            try (OutputStream out = Base64Util.encodingStream(mime, 76)) {
+                out.write(bytes);
+            }
+            assertEquals(Base64.getMimeEncoder().encodeToString(bytes), mime.toString());
+
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            IOUtil.copy(Base64Util.decodingStream(mime.toString()), decoded);
+            assertArrayEquals(bytes, decoded.toByteArray());
+
+            decoded.reset();
+            IOUtil.copy(Base64Util.decodingStream(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes)), decoded);
+            assertArrayEquals(bytes, decoded.toByteArray());
+        }
+    }
+}
@@ -4,6 +4,11 @@ import com.moon.util.Console;
 import org.junit.jupiter.api.Test;
 import sun.reflect.Reflection;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author benshaoye
  */
@@ -11,14 +16,45 @@ class StackTraceUtilTestTest {
 
     @Test
     void testGetCallerTrace() {
+        StackTraceElement element = StackTraceUtil.getCallerTrace();
+        assertEquals(StackTraceUtilTestTest.class.getName(), element.getClassName());
+        assertEquals("testGetCallerTrace", element.getMethodName());
     }
 
     @Test
     void testGetCallerTypeName() {
+        assertEquals(StackTraceUtilTestTest.class.getName(), StackTraceUtil.getCallerTypeName());
     }
 
     @Test
     void testGetCallerMethodName() {
+        assertEquals(StackTraceUtilTestTest.class.getName() + ".testGetCallerMethodName",
+            StackTraceUtil.getCallerMethodName());
+        assertEquals("testGetCallerMethodName", prevCaller().getMethodName());
+    }
+
+    private StackTraceElement prevCaller() {
+        return StackTraceUtil.getPrevTraceOfSteps(1);
+    }
+
+    @Test
+    void testWalk() {
+        assertEquals("testWalk", StackTraceUtil.walk(frame -> frame.getMethodName()));
+        assertEquals(StackTraceUtilTestTest.class, StackTraceUtil.walk(frame -> frame.getDeclaringClass()));
+
+        List<String> methods = new ArrayList<>();
+        assertNull(StackTraceUtil.walk(2, frame -> methods.add(frame.getMethodName()) ? null : ""));
+        assertEquals(2, methods.size());
+
+        StackTraceUtil.FrameWalker[] walkers = {
+            new StackTraceUtil.ThrowableWalker(), StackTraceUtil.FrameWalker.create()
+        };
+        for (StackTraceUtil.FrameWalker walker : walkers) {
+            StackTraceUtil.Frame frame = walker.walk(1, f -> f);
+            assertEquals("testWalk", frame.getMethodName());
+            assertEquals(StackTraceUtilTestTest.class, frame.getDeclaringClass());
+            assertTrue(frame.getLineNumber() > 0);
+        }
     }
 
     @Test
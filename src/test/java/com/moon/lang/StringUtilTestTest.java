@@ -27,6 +27,28 @@ class StringUtilTestTest {
         System.out.println(StringUtil.format(tpl, "zhangsan", 20));
     }
 
+    @Test
+    void testFormatValues() {
+        String template = "name: {}, age: {}, sex: {}";
+        String expected = "name: zhangsan, age: 20, sex: 男";
+        assertEquals(expected, StringUtil.format(template, "zhangsan", 20, '男'));
+        assertEquals(expected, new String(StringUtil.formatToChars(template, "zhangsan", 20, '男')));
+        assertEquals(expected, StringUtil.formatToBuilder(template, "zhangsan", 20, '男').toString());
+        assertEquals(expected + "45", StringUtil.format(template, "zhangsan", 20, '男', 45));
+        assertEquals(expected + "45", new String(StringUtil.formatToChars(template, "zhangsan", 20, '男', 45)));
+        assertEquals("name: zhangsan, age: {}, sex: {}", StringUtil.format(template, "zhangsan"));
+        assertEquals("name: zhangsan, age: {}, sex: {}", new String(StringUtil.formatToChars(template, "zhangsan")));
+        assertEquals("null-null", StringUtil.format("{}-{}", null, null));
+
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return StringUtil.format("<{}>", "inner");
+            }
+        };
+        assertEquals("a <inner> b", StringUtil.format("a {} b", nested));
+    }
+
     @Test
     void testCapitalize() {
         String name = "className";
@@ -148,4 +148,34 @@ class MethodUtilTestTest {
     void testInvokeStatic() {
     }
 
-}
\ No newline at end of file
+    @Test
+    void testResolutionCache() throws Throwable {
+        List<Method> methods = MethodUtil.getPublicStaticMethods(Integer.class, "parseInt", String.class);
+        assertions.assertEquals(methods.size(), 1);
+        assertions.assertSame(methods, MethodUtil.getPublicStaticMethods(Integer.class, "parseInt", String.class));
+
+        // 同一个类、同样参数类型的不同方法名不能互相覆盖
+        methods = MethodUtil.getPublicStaticMethods(Integer.class, "valueOf", String.class);
+        assertions.assertEquals(methods.size(), 1);
+        assertions.assertEquals(methods.get(0).getName(), "valueOf");
+
+        assertions.assertTrue(MethodUtil.getPublicMethods(Integer.class, "notExists", String.class).isEmpty());
+        assertions.assertTrue(MethodUtil.getPublicMethods(Integer.class, "notExists", String.class).isEmpty());
+
+        Method method = methods.get(0);
+        assertions.assertSame(MethodUtil.getMethodHandle(method), MethodUtil.getMethodHandle(method));
+        assertions.assertEquals(MethodUtil.getMethodHandle(method).invoke("12"), 12);
+    }
+
+    private static String hidden(String value) {
+        return value + "!";
+    }
+
+    @Test
+    void testMethodHandleOfPrivate() throws Throwable {
+        Method method = MethodUtilTestTest.class.getDeclaredMethod("hidden", String.class);
+        assertions.assertEquals(MethodUtil.getMethodHandle(method).invoke("a"), "a!");
+        // 访问权限只在副本上打开，传入的 Method 不变
+        assertions.assertFalse(method.isAccessible());
+    }
+}
@@ -0,0 +1,180 @@
+package com.moon.office.excel;
+
+import com.moon.office.excel.core.ImportCell;
+import com.moon.office.excel.core.ImportExcel;
+import com.moon.office.excel.core.ImportRow;
+import com.moon.office.excel.core.ImportSheet;
+import com.moon.office.excel.core.TableCell;
+import com.moon.office.excel.core.TableExcel;
+import com.moon.office.excel.core.TableRow;
+import com.moon.office.excel.core.TableSheet;
+import com.moon.office.excel.enums.TextType;
+import com.moon.util.assertions.Assertions;
+import org.apache.poi.hssf.record.chart.ChartRecord;
+import org.apache.poi.hssf.usermodel.HSSFChart;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.moon.util.assertions.Assertions.of;
+
+/**
+ * @author benshaoye
+ */
+class ImporterTestTest {
+
+    static final Assertions assertions = of();
+
+    @ImportExcel(target = Employee.class, value = {
+        @ImportSheet(sheetName = "员工", skipRows = 1, value = {
+            @ImportRow({
+                @ImportCell("name"),
+                @ImportCell("age"),
+                @ImportCell(value = "address", skipCells = 1),
+            })
+        })
+    })
+    public static class Employee {
+        private String name;
+        private int age;
+        private String address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public void setAddress(String address) {
+            this.address = address;
+        }
+    }
+
+    private static File write(Workbook workbook, String suffix, int count) throws IOException {
+        Sheet sheet = workbook.getSheet("员工");
+        if (sheet == null) {
+            sheet = workbook.createSheet("员工");
+        }
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("姓名");
+        header.createCell(1).setCellValue("年龄");
+        for (int i = 1; i <= count; i++) {
+            Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue("张三" + i);
+            row.createCell(1).setCellValue(20 + i);
+            row.createCell(2).setCellValue("ignored");
+            row.createCell(3).setCellValue("北京" + i);
+        }
+        File file = File.createTempFile("importer-", suffix);
+        try (FileOutputStream os = new FileOutputStream(file)) {
+            workbook.write(os);
+        }
+        workbook.close();
+        return file;
+    }
+
+    private static void assertImported(File file) {
+        List<Employee> employees = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        ExcelUtil.<Employee>importer(Employee.class).forEachBatch(file, 4, batch -> {
+            sizes.add(batch.size());
+            employees.addAll(batch);
+        });
+        file.delete();
+        assertions.assertEquals(employees.size(), 10);
+        assertions.assertEquals(sizes.size(), 3);
+        Employee last = employees.get(9);
+        assertions.assertEquals(last.getName(), "张三10");
+        assertions.assertEquals(last.getAge(), 30);
+        assertions.assertEquals(last.getAddress(), "北京10");
+    }
+
+    @Test
+    void testImportXlsx() throws IOException {
+        assertImported(write(new XSSFWorkbook(), ".xlsx", 10));
+    }
+
+    @Test
+    void testImportXls() throws IOException {
+        assertImported(write(new HSSFWorkbook(), ".xls", 10));
+    }
+
+    @Test
+    void testImportXlsWithCharts() throws IOException {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        createBarChart(workbook, workbook.createSheet("图表"));
+        // 工作表内嵌图表有自己的 BOF/EOF
+        createBarChart(workbook, workbook.createSheet("员工"));
+        assertImported(write(workbook, ".xls", 10));
+    }
+
+    private static void createBarChart(HSSFWorkbook workbook, HSSFSheet sheet) {
+        try {
+            // HSSFChart 没有公开的构造器，createBarChart 只用到参数
+            Constructor<HSSFChart> constructor =
+                HSSFChart.class.getDeclaredConstructor(HSSFSheet.class, ChartRecord.class);
+            constructor.setAccessible(true);
+            constructor.newInstance(sheet, null).createBarChart(workbook, sheet);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TableExcel({
+        @TableSheet({
+            @TableRow({
+                @TableCell("'姓名'"),
+                @TableCell("'年龄'"),
+                @TableCell(value = "'地址'", skipCells = "1"),
+            }),
+            @TableRow(var = "$var:10", value = {
+                @TableCell("'张三' + ($var + 1)"),
+                @TableCell("21 + $var"),
+                @TableCell(value = "'北京, \"东城\"' + ($var + 1)", skipCells = "1"),
+            })
+        })
+    })
+    @Test
+    void testRenderAndImportCsv() {
+        StringWriter writer = new StringWriter();
+        ExcelUtil.renderTo(writer, TextType.CSV, (Object) null);
+        String csv = writer.toString();
+        assertions.assertTrue(csv.startsWith("姓名,年龄,,地址\r\n张三1,21,,\"北京, \"\"东城\"\"1\"\r\n"));
+
+        List<Employee> employees = new ArrayList<>();
+        ExcelUtil.<Employee>importer(Employee.class).forEach(
+            new StringReader(csv), TextType.CSV, employees::add);
+        assertions.assertEquals(employees.size(), 10);
+        Employee last = employees.get(9);
+        assertions.assertEquals(last.getName(), "张三10");
+        assertions.assertEquals(last.getAge(), 30);
+        assertions.assertEquals(last.getAddress(), "北京, \"东城\"10");
+    }
+}
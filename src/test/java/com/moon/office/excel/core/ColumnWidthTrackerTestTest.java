@@ -0,0 +1,75 @@
+package com.moon.office.excel.core;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class ColumnWidthTrackerTestTest {
+
+    @Test
+    void testApplyTo() throws Exception {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Row row = workbook.getSheetAt(0).createRow(0);
+            int defaultWidth = sheet.getColumnWidth(5);
+            ColumnWidthTracker tracker = new ColumnWidthTracker(workbook);
+
+            tracker.track(row.createCell(0), "0000");
+            tracker.track(row.createCell(1), "中文中文");
+            tracker.track(row.createCell(2), "iiii");
+            tracker.track(row.createCell(3), 12345);
+            tracker.track(row.createCell(4), new Date());
+            tracker.track(row.createCell(5), "0000000000000000");
+            tracker.fix(5);
+            tracker.track(row.createCell(6), null);
+            tracker.applyTo(sheet);
+
+            // 4 个 '0' 加两个字符的边距
+            assertEquals(256 * 6, sheet.getColumnWidth(0));
+            // 全角字符按两个 '0' 宽
+            assertEquals(256 * 10, sheet.getColumnWidth(1));
+            assertTrue(sheet.getColumnWidth(2) < sheet.getColumnWidth(0));
+            assertEquals(256 * 7, sheet.getColumnWidth(3));
+            assertEquals(256 * 12, sheet.getColumnWidth(4));
+            // 显式指定宽度的列和没有值的列不变
+            assertEquals(defaultWidth, sheet.getColumnWidth(5));
+            assertEquals(defaultWidth, sheet.getColumnWidth(6));
+        }
+    }
+
+    @Test
+    void testMultiLineAndFont() throws Exception {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Row row = sheet.createRow(0);
+            Font font = workbook.createFont();
+            font.setFontHeightInPoints((short) (workbook.getFontAt(0).getFontHeightInPoints() * 2));
+            CellStyle style = workbook.createCellStyle();
+            style.setFont(font);
+            Cell large = row.createCell(1);
+            large.setCellStyle(style);
+
+            ColumnWidthTracker tracker = new ColumnWidthTracker(workbook);
+            tracker.track(row.createCell(0), "00\n000000\n0");
+            tracker.track(large, "000000");
+            tracker.applyTo(sheet);
+            // 多行取最长一行
+            assertEquals(256 * 8, sheet.getColumnWidth(0));
+            // 字号加倍，宽度加倍
+            assertEquals(256 * 14, sheet.getColumnWidth(1));
+
+            // applyTo 后重新开始统计
+            Sheet next = workbook.createSheet();
+            tracker.track(next.createRow(0).createCell(0), "0");
+            tracker.applyTo(next);
+            assertEquals(256 * 3, next.getColumnWidth(0));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.moon.office.excel.enums;
+
+import com.moon.exception.NumberException;
+import com.moon.office.excel.ExcelUtil;
+import com.moon.office.excel.core.TableCell;
+import com.moon.office.excel.core.TableExcel;
+import com.moon.office.excel.core.TableRow;
+import com.moon.office.excel.core.TableSheet;
+import com.moon.util.assertions.Assertions;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.moon.util.assertions.Assertions.of;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * @author benshaoye
+ */
+class ValueTypeTestTest {
+
+    static final Assertions assertions = of();
+
+    static final Date DATE = new Date(1546300800000L);
+
+    Map data = new HashMap() {{
+        put("num", 25);
+        put("decimal", 2.5D);
+        put("flag", true);
+        put("date", DATE);
+        put("text", "张三");
+    }};
+
+    @TableExcel({
+        @TableSheet({
+            @TableRow({
+                @TableCell(value = "num", type = ValueType._NONE),
+                @TableCell(value = "decimal", type = ValueType._NONE),
+                @TableCell(value = "flag", type = ValueType._NONE),
+                @TableCell(value = "date", type = ValueType._NONE),
+                @TableCell(value = "text", type = ValueType._NONE),
+                @TableCell(value = "absent", type = ValueType._NONE),
+            })
+        })
+    })
+    @Test
+    void testNone() {
+        Row row = ExcelUtil.render(data).getSheetAt(0).getRow(0);
+        assertCell(row.getCell(0), CellType.NUMERIC, 25D);
+        assertCell(row.getCell(1), CellType.NUMERIC, 2.5D);
+        assertCell(row.getCell(2), CellType.BOOLEAN, true);
+        assertCell(row.getCell(3), CellType.NUMERIC, DATE);
+        assertCell(row.getCell(4), CellType.STRING, "张三");
+        // null 不写入，保持空白单元格
+        assertCell(row.getCell(5), CellType.BLANK, "");
+    }
+
+    @TableExcel({
+        @TableSheet({
+            @TableRow({
+                @TableCell(value = "num", type = ValueType.NUMERIC),
+                @TableCell(value = "decimal", type = ValueType.NUMERIC),
+                @TableCell(value = "num", type = ValueType.STRING),
+                @TableCell(value = "absent", type = ValueType.STRING),
+                @TableCell(value = "'SUM(1,2)'", type = ValueType.FORMULA),
+                @TableCell(value = "text", type = ValueType.BLANK),
+                @TableCell(value = "flag", type = ValueType.BOOLEAN),
+                @TableCell(value = "'true'", type = ValueType.BOOLEAN),
+            })
+        })
+    })
+    @Test
+    void testTyped() {
+        Row row = ExcelUtil.render(data).getSheetAt(0).getRow(0);
+        assertCell(row.getCell(0), CellType.NUMERIC, 25D);
+        assertCell(row.getCell(1), CellType.NUMERIC, 2.5D);
+        assertCell(row.getCell(2), CellType.STRING, "25");
+        assertCell(row.getCell(3), CellType.STRING, "");
+        assertions.assertEquals(row.getCell(4).getCellType(), CellType.FORMULA);
+        assertions.assertEquals(row.getCell(4).getCellFormula(), "SUM(1,2)");
+        assertCell(row.getCell(5), CellType.BLANK, "");
+        assertCell(row.getCell(6), CellType.BOOLEAN, true);
+        assertCell(row.getCell(7), CellType.BOOLEAN, true);
+    }
+
+    @TableExcel({
+        @TableSheet({
+            @TableRow({
+                @TableCell(value = "text", type = ValueType.NUMERIC),
+            })
+        })
+    })
+    @Test
+    void testNumericRejectsNonNumber() {
+        try {
+            ExcelUtil.render(data);
+            fail("NUMERIC 不接受非数字");
+        } catch (NumberException e) {
+            // 期望的异常
+        }
+    }
+
+    @TableExcel({
+        @TableSheet({
+            @TableRow({
+                @TableCell(value = "text", type = ValueType.ERROR),
+            })
+        })
+    })
+    @Test
+    void testError() {
+        try {
+            ExcelUtil.render(data);
+            fail("ERROR 不支持写入");
+        } catch (UnsupportedOperationException e) {
+            // 期望的异常
+        }
+    }
+
+    @TableExcel(type = TableExcel.Type.SUPER_SHARED, value = {
+        @TableSheet({
+            @TableRow(var = "$var in 3", value = {
+                @TableCell(value = "text", type = ValueType._NONE),
+                @TableCell(value = "num", type = ValueType._NONE),
+                @TableCell(value = "flag", type = ValueType.BOOLEAN),
+            })
+        })
+    })
+    @Test
+    void testSuperShared() throws IOException {
+        Workbook workbook = reread(ExcelUtil.render(data));
+        for (int i = 0; i < 3; i++) {
+            Row row = workbook.getSheetAt(0).getRow(i);
+            assertCell(row.getCell(0), CellType.STRING, "张三");
+            assertCell(row.getCell(1), CellType.NUMERIC, 25D);
+            assertCell(row.getCell(2), CellType.BOOLEAN, true);
+        }
+        // 重复的字符串在共享字符串表中只有一份
+        assertions.assertEq(((XSSFWorkbook) workbook).getSharedStringSource().getUniqueCount(), 1);
+    }
+
+    @TableExcel(type = TableExcel.Type.SUPER, value = {
+        @TableSheet({
+            @TableRow(var = "$var in 3", value = {
+                @TableCell(value = "text", type = ValueType._NONE),
+            })
+        })
+    })
+    @Test
+    void testSuperInline() throws IOException {
+        Workbook workbook = reread(ExcelUtil.render(data));
+        assertCell(workbook.getSheetAt(0).getRow(2).getCell(0), CellType.STRING, "张三");
+        assertions.assertEq(((XSSFWorkbook) workbook).getSharedStringSource().getUniqueCount(), 0);
+    }
+
+    private static Workbook reread(Workbook workbook) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertCell(Cell cell, CellType type, Object value) {
+        assertions.assertEquals(cell.getCellType(), type);
+        switch (type) {
+            case NUMERIC:
+                if (value instanceof Date) {
+                    assertions.assertEquals(cell.getDateCellValue(), value);
+                } else {
+                    assertions.assertEq(cell.getNumericCellValue(), (Double) value);
+                }
+                break;
+            case BOOLEAN:
+                assertions.assertEquals(cell.getBooleanCellValue(), value);
+                break;
+            default:
+                assertions.assertEquals(cell.getStringCellValue(), value);
+                break;
+        }
+    }
+}
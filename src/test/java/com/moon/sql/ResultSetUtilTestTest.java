@@ -0,0 +1,262 @@
+package com.moon.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class ResultSetUtilTestTest {
+
+    public static class Employee {
+        private int age = -1;
+        private long id;
+        private double salary;
+        private boolean active;
+        private String name = "default";
+        private Integer level;
+        private BigDecimal bonus;
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public double getSalary() {
+            return salary;
+        }
+
+        public void setSalary(double salary) {
+            this.salary = salary;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getLevel() {
+            return level;
+        }
+
+        public void setLevel(Integer level) {
+            this.level = level;
+        }
+
+        public BigDecimal getBonus() {
+            return bonus;
+        }
+
+        public void setBonus(BigDecimal bonus) {
+            this.bonus = bonus;
+        }
+    }
+
+    private final static String[] LABELS = {"ID", "name", "Age", "salary", "active", "level", "bonus", "unknown"};
+
+    private static ResultSet resultSet() {
+        return resultSet(LABELS, new Object[][]{
+            {1L, "Tom", 30, 1200.5D, true, 3, "12.5", "x"},
+            {2L, null, null, null, null, null, null, null},
+            {3L, "Jerry", 25, 800D, false, "7", 3, "y"},
+        });
+    }
+
+    /**
+     * 基于数组的只读 ResultSet，只实现测试用到的方法
+     */
+    private static ResultSet resultSet(String[] labels, Object[][] rows) {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(
+            ResultSetMetaData.class.getClassLoader(), new Class[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount":
+                        return labels.length;
+                    case "getColumnLabel":
+                        return labels[(Integer) args[0] - 1];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+                String name = method.getName();
+                switch (name) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "ResultSet@" + cursor[0];
+                    case "next":
+                        return ++cursor[0] < rows.length;
+                    case "getMetaData":
+                        return meta;
+                    case "setFetchSize":
+                        return null;
+                    case "wasNull":
+                        return wasNull[0];
+                    default:
+                }
+                if (!name.startsWith("get") || cursor[0] < 0 || cursor[0] >= rows.length) {
+                    throw new SQLException("Unsupported: " + name + " at row " + cursor[0]);
+                }
+                int column = args[0] instanceof Integer ? (Integer) args[0]
+                    : Arrays.asList(labels).indexOf(args[0]) + 1;
+                Object value = rows[cursor[0]][column - 1];
+                wasNull[0] = value == null;
+                switch (name) {
+                    case "getObject":
+                        return value;
+                    case "getString":
+                        return value == null ? null : value.toString();
+                    case "getInt":
+                        return value == null ? 0 : ((Number) value).intValue();
+                    case "getLong":
+                        return value == null ? 0L : ((Number) value).longValue();
+                    case "getDouble":
+                        return value == null ? 0D : ((Number) value).doubleValue();
+                    case "getBoolean":
+                        return value != null && (Boolean) value;
+                    default:
+                        throw new SQLException("Unsupported: " + name);
+                }
+            });
+    }
+
+    @Test
+    void testBeanMapper() {
+        ResultSet set = resultSet();
+        List<Employee> employees = ResultSetUtil.restTo(set, ResultSetUtil.beanMapper(set, Employee.class));
+        assertEquals(3, employees.size());
+
+        Employee tom = employees.get(0);
+        assertEquals(1L, tom.getId());
+        assertEquals("Tom", tom.getName());
+        assertEquals(30, tom.getAge());
+        assertEquals(1200.5D, tom.getSalary());
+        assertTrue(tom.isActive());
+        assertEquals(3, tom.getLevel().intValue());
+        assertEquals(new BigDecimal("12.5"), tom.getBonus());
+
+        // SQL NULL 保留属性默认值
+        Employee empty = employees.get(1);
+        assertEquals(2L, empty.getId());
+        assertEquals("default", empty.getName());
+        assertEquals(-1, empty.getAge());
+        assertEquals(0D, empty.getSalary());
+        assertFalse(empty.isActive());
+        assertNull(empty.getLevel());
+        assertNull(empty.getBonus());
+
+        Employee jerry = employees.get(2);
+        assertEquals("Jerry", jerry.getName());
+        assertEquals(7, jerry.getLevel().intValue());
+        assertEquals(0, new BigDecimal("3").compareTo(jerry.getBonus()));
+    }
+
+    @Test
+    void testMapMapper() {
+        ResultSet set = resultSet(new String[]{"id", "name", "id"}, new Object[][]{
+            {1, "a", 9},
+            {2, null, 8},
+        });
+        List<Map<String, Object>> rows = ResultSetUtil.restToMap(set);
+        assertEquals(2, rows.size());
+
+        Map<String, Object> row = rows.get(0);
+        // 重复列名只取第一列
+        assertEquals(2, row.size());
+        assertEquals(1, row.get("id"));
+        assertEquals("a", row.get("name"));
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1);
+        expected.put("name", "a");
+        assertEquals(expected, row);
+        assertEquals(expected.hashCode(), row.hashCode());
+
+        row = rows.get(1);
+        assertTrue(row.containsKey("name"));
+        assertNull(row.get("name"));
+    }
+
+    @Test
+    void testRowMap() {
+        RowMap.Columns columns = new RowMap.Columns(new String[]{"a", "b", "c"});
+        RowMap row = new RowMap(columns, new Object[]{1, 2, 3});
+
+        assertEquals(2, row.remove("b"));
+        assertNull(row.remove("b"));
+        assertFalse(row.containsKey("b"));
+        assertEquals(2, row.size());
+        assertNull(row.put("b", 20));
+        assertEquals(3, row.size());
+
+        assertNull(row.put("extra", "x"));
+        assertEquals(4, row.size());
+        assertEquals("x", row.get("extra"));
+        assertEquals(Arrays.asList("a", "b", "c", "extra"), new ArrayList<>(row.keySet()));
+
+        for (Iterator<Map.Entry<String, Object>> it = row.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Object> entry = it.next();
+            if ("a".equals(entry.getKey())) {
+                entry.setValue(10);
+            } else if ("c".equals(entry.getKey()) || "extra".equals(entry.getKey())) {
+                it.remove();
+            }
+        }
+        assertEquals(10, row.get("a"));
+        assertEquals(2, row.size());
+        assertFalse(row.containsKey("c"));
+        assertFalse(row.containsKey("extra"));
+
+        row.clear();
+        assertTrue(row.isEmpty());
+        assertFalse(row.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    void testForEach() {
+        ResultSet set = resultSet();
+        List<Object> ids = new ArrayList<>();
+        ResultSetUtil.forEach(set, 100, Employee.class, employee -> ids.add(employee.getId()));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids);
+
+        // 映射出错时包装成运行时异常
+        ResultSet failing = resultSet();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ResultSetUtil.forEach(failing,
+            (RowMapper<Object>) rs -> rs.getTimestamp(1), row -> {}));
+        assertTrue(e.getCause() instanceof SQLException);
+    }
+}
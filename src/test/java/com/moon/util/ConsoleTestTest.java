@@ -1,11 +1,19 @@
 package com.moon.util;
 
 import com.moon.util.assertions.Assertions;
+import com.moon.util.console.AsyncConsoleWriter;
 import com.moon.util.console.ConsoleControl;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.PrintStream;
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author benshaoye
@@ -47,4 +55,95 @@ class ConsoleTestTest {
         Console.out.println(getClass().getSimpleName());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testAsyncWriterOrdering() throws Exception {
+        AsyncConsoleWriter writer = new AsyncConsoleWriter(64,
+            AsyncConsoleWriter.OverflowPolicy.BLOCK, Console.Level.WARN, 1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(bytes, false, "UTF-8");
+        int threads = 4, lines = 5000;
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            final int producer = i;
+            new Thread(() -> {
+                for (int j = 0; j < lines; j++) {
+                    writer.println(stream, Console.Level.INFO, producer + ":" + j);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertTrue(writer.flush(10, TimeUnit.SECONDS));
+        writer.shutdown();
+
+        int[] next = new int[threads];
+        String[] output = bytes.toString("UTF-8").split(System.lineSeparator());
+        assertEquals(threads * lines, output.length);
+        for (String line : output) {
+            int index = line.indexOf(':');
+            int producer = Integer.parseInt(line.substring(0, index));
+            assertEquals(next[producer]++, Integer.parseInt(line.substring(index + 1)));
+        }
+    }
+
+    @Test
+    void testAsyncWriterDrop() throws Exception {
+        AsyncConsoleWriter writer = new AsyncConsoleWriter(2,
+            AsyncConsoleWriter.OverflowPolicy.DROP, Console.Level.WARN, 1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // 阻塞输出线程，使队列写满
+        CountDownLatch blocked = new CountDownLatch(1);
+        PrintStream stream = new PrintStream(bytes, true) {
+            @Override
+            public void flush() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.flush();
+            }
+        };
+        for (int i = 0; i < 100; i++) {
+            writer.println(stream, Console.Level.DEBUG, "debug");
+        }
+        assertTrue(writer.getDropped() > 0);
+        blocked.countDown();
+        writer.println(stream, Console.Level.ERROR, "error");
+        assertTrue(writer.flush(10, TimeUnit.SECONDS));
+        writer.shutdown();
+        assertTrue(bytes.toString().endsWith("error" + System.lineSeparator()));
+    }
+
+    @Test
+    void testAsyncWriterFailure() throws Exception {
+        AsyncConsoleWriter writer = new AsyncConsoleWriter(64,
+            AsyncConsoleWriter.OverflowPolicy.BLOCK, Console.Level.WARN, 1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(bytes, true, "UTF-8");
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("broken");
+            }
+        };
+        writer.println(stream, Console.Level.INFO, "before");
+        writer.println(stream, Console.Level.INFO, broken);
+        writer.println(level -> stream, Console.Level.INFO, () -> {
+            throw new IllegalStateException("supplier");
+        });
+        Thread caller = Thread.currentThread();
+        writer.println(level -> stream, Console.Level.INFO, () -> Thread.currentThread() != caller);
+        writer.println(stream, Console.Level.INFO, "after");
+        assertTrue(writer.flush(10, TimeUnit.SECONDS));
+        writer.shutdown();
+
+        String[] output = bytes.toString("UTF-8").split(System.lineSeparator());
+        assertEquals(5, output.length);
+        assertEquals("before", output[0]);
+        assertTrue(output[1].contains("broken"));
+        assertTrue(output[2].contains("supplier"));
+        assertEquals("true", output[3]);
+        assertEquals("after", output[4]);
+    }
+}
@@ -15,14 +15,54 @@ class GenericTypeConverterTestTest {
 
     @Test
     void testRegister() {
+        TypeConverter converter = TypeUtil.of();
+        assertions.assertEquals(converter.toType("12", Integer.class), 12);
+        converter.register(Integer.class, (value, type) -> -1);
+        assertions.assertEquals(converter.toType("12", Integer.class), -1);
+        assertions.assertEquals(converter.toType(12, Integer.class), -1);
     }
 
     @Test
     void testRegisterIfAbsent() {
     }
 
+    @Test
+    void testRegisterWhileConverting() throws Exception {
+        TypeConverter converter = TypeUtil.of();
+        for (int round = 0; round < 20; round++) {
+            final int expected = round;
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        converter.toType("1", Integer.class);
+                    }
+                });
+                threads[i].start();
+            }
+            converter.register(Integer.class, (value, type) -> expected);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            // 注册前开始解析的线程不能把旧计划写回缓存
+            assertions.assertEquals(converter.toType("1", Integer.class), expected);
+        }
+    }
+
     @Test
     void testToType() {
+        TypeConverter converter = TypeUtil.of();
+        Integer value = 1000;
+        assertions.assertSame(converter.toType(value, Integer.class), value);
+        assertions.assertSame(converter.toType(value, int.class), value);
+        assertions.assertEquals(converter.toType(value, long.class), 1000L);
+        assertions.assertEquals(converter.toType("1000", int.class), 1000);
+        assertions.assertEquals(converter.toType(1000L, String.class), "1000");
+        assertions.assertEquals(converter.toType("1000", String.class), "1000");
+
+        List list = new ArrayList();
+        assertions.assertSame(converter.toType(list, List.class), list);
+        assertions.assertEquals(((List) converter.toType(new Integer[]{1, 2}, List.class)).size(), 2);
     }
 
     @Test
@@ -135,6 +175,41 @@ class GenericTypeConverterTestTest {
 
     @Test
     void testToBean() {
+        Map map = new HashMap();
+        map.put("name", "张三");
+        map.put("age", "25");
+        map.put("unknown", 1);
+        Employee employee = TypeUtil.cast().toBean(map, Employee.class);
+        assertions.assertEquals(employee.getName(), "张三");
+        assertions.assertEquals(employee.getAge(), 25);
+        assertions.assertEquals(map.size(), 3);
+
+        map = new HashMap();
+        map.put("age", 30);
+        employee = TypeUtil.cast().toBean(map, Employee.class);
+        assertions.assertNull(employee.getName());
+        assertions.assertEquals(employee.getAge(), 30);
+    }
+
+    public static class Employee {
+        private String name;
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
     }
 
     @Test
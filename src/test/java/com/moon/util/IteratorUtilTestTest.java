@@ -1,7 +1,16 @@
 package com.moon.util;
 
+import com.moon.util.iterators.MappedFileIterator;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @author benshaoye
  */
@@ -18,4 +27,37 @@ class IteratorUtilTestTest {
         IteratorUtil.forEach(arr, (str, index) ->
             System.out.println(String.format("index: %d, value: %s", index, str)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOfMappedLines() throws Exception {
+        File file = File.createTempFile("moon-mapped", ".log");
+        try {
+            StringBuilder builder = new StringBuilder();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String line = "第" + i + "行:" + RandomStringUtil.nextDigit(i % 37);
+                expected.add(line);
+                builder.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+            }
+            builder.append("last");
+            expected.add("last");
+            Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+
+            List<String> lines = new ArrayList<>();
+            try (MappedFileIterator iterator = new MappedFileIterator(file, 0, file.length(), (byte) '\n', 64)) {
+                while (iterator.hasNext()) {
+                    lines.add(iterator.nextString(StandardCharsets.UTF_8));
+                }
+            }
+            assertEquals(expected, lines);
+
+            lines.clear();
+            for (MappedFileIterator iterator : MappedFileIterator.split(file, 7)) {
+                iterator.forEachRemaining(buffer -> lines.add(MappedFileIterator.toString(buffer, StandardCharsets.UTF_8)));
+            }
+            assertEquals(expected, lines);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.moon.util;
+
+import com.moon.util.compute.RunnerUtil;
+import com.moon.util.json.JSON;
+import com.moon.util.metrics.*;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class MetricsUtilTestTest {
+
+    @Test
+    void testLogHistogram() {
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100000, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(100000, snapshot.getMax());
+        assertEquals(50000, snapshot.getP50(), 50000 / 32.0);
+        assertEquals(99000, snapshot.getP99(), 99000 / 32.0);
+        assertEquals(99900, snapshot.getP999(), 99900 / 32.0);
+
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+        assertEquals(Long.MAX_VALUE, histogram.snapshotAndReset().getMax());
+        assertEquals(0, histogram.snapshot().getCount());
+    }
+
+    @Test
+    void testInstrumentation() throws Exception {
+        Counter counter = MetricsUtil.counter("test.counter");
+        counter.increment();
+        assertFalse(MetricsUtil.isEnabled());
+        assertTrue(MetricsUtil.snapshot().getCounters().isEmpty());
+
+        MetricsUtil.enable();
+        try {
+            counter.add(2);
+            Timer timer = MetricsUtil.timer("test.timer");
+            timer.stop(timer.start());
+
+            String json = "{\"name\":\"moon\",\"values\":[1,2,3]}";
+            JSON.stringify(JSON.parse(json));
+            RunnerUtil.run("1 + 2");
+            RunnerUtil.run("1 + 2");
+
+            MetricsSnapshot snapshot = MetricsUtil.snapshot();
+            assertEquals(2, snapshot.getCount("test.counter"));
+            assertEquals(1, snapshot.getTimer("test.timer").getCount());
+            assertEquals(1, snapshot.getTimer("moon.json.parse").getCount());
+            assertEquals(json.length(), snapshot.getCount("moon.json.parse.chars"));
+            assertEquals(1, snapshot.getTimer("moon.json.stringify").getCount());
+            assertEquals(2, snapshot.getTimer("moon.compute.run").getCount());
+            assertTrue(snapshot.getCount("moon.compute.parse.hit") >= 1);
+
+            MetricsUtil.registerMBean();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MetricsUtil.OBJECT_NAME);
+            assertEquals(2L, server.getAttribute(name, "test.counter"));
+            assertEquals(2L, server.getAttribute(name, "moon.compute.run.count"));
+            MetricsUtil.unregisterMBean();
+        } finally {
+            MetricsUtil.disable();
+        }
+        counter.increment();
+        assertTrue(MetricsUtil.snapshot().getCounters().isEmpty());
+    }
+}
@@ -0,0 +1,81 @@
+package com.moon.util.compute;
+
+import com.moon.util.assertions.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author benshaoye
+ */
+class FrameDataMapTestTest {
+    static final Assertions assertions = Assertions.of();
+
+    @Test
+    void testSlot() {
+        SlotLayout layout = new SlotLayout();
+        int slot = layout.register("name");
+        FrameDataMap map = new FrameDataMap(layout, new HashMap() {{
+            put("name", "outer");
+        }});
+        assertions.assertEquals(map.getSlot(slot), "outer");
+        map.setSlot(slot, "inner");
+        assertions.assertEquals(map.get("name"), "inner");
+        map.put("name", "put");
+        assertions.assertEquals(map.getSlot(slot), "put");
+        assertions.assertEquals(RunnerUtil.run("name", map), "put");
+    }
+
+    @Test
+    void testBindOncePerFrame() {
+        SlotLayout layout = new SlotLayout();
+        Map outer = new HashMap();
+        outer.put("name", "first");
+        FrameDataMap map = new FrameDataMap(layout, outer);
+        assertions.assertEquals(RunnerUtil.run("name", map), "first");
+        // 表达式变量在第一次读取时登记到模板的槽位表，并绑定到本次的帧
+        assertions.assertEquals(layout.indexOf("name"), 0);
+        outer.put("name", "second");
+        assertions.assertEquals(RunnerUtil.run("name", map), "first");
+        // 新的帧重新绑定
+        assertions.assertEquals(RunnerUtil.run("name", new FrameDataMap(layout, outer)), "second");
+        // 其他模板有自己的槽位表
+        SlotLayout other = new SlotLayout();
+        other.register("other");
+        assertions.assertEquals(RunnerUtil.run("name", new FrameDataMap(other, outer)), "second");
+        assertions.assertEquals(other.indexOf("name"), 1);
+    }
+
+    @Test
+    void testSlotMutators() {
+        SlotLayout layout = new SlotLayout();
+        int slot = layout.register("item");
+        FrameDataMap map = new FrameDataMap(layout);
+        map.setSlot(slot, 1);
+        assertions.assertEquals(map.putIfAbsent("item", 2), 1);
+        assertions.assertEquals(map.getSlot(slot), 1);
+        map.merge("item", 10, (a, b) -> (Integer) a + (Integer) b);
+        assertions.assertEquals(map.getSlot(slot), 11);
+
+        map.setSlot(slot, 3);
+        map.compute("item", (k, v) -> (Integer) v * 2);
+        assertions.assertEquals(map.get("item"), 6);
+        map.setSlot(slot, 4);
+        assertions.assertEquals(map.replace("item", 5), 4);
+        assertions.assertEquals(map.getSlot(slot), 5);
+
+        map.setSlot(slot, 7);
+        for (Object entry : map.entrySet()) {
+            ((Map.Entry) entry).setValue(8);
+        }
+        assertions.assertEquals(map.getSlot(slot), 8);
+        assertions.assertEq(map.size(), 1);
+
+        map.setSlot(slot, 9);
+        assertions.assertEq(map.size(), 1);
+        assertions.assertEquals(map.remove("item"), 9);
+        assertions.assertFalse(map.containsKey("item"));
+        assertions.assertNull(map.getSlot(slot));
+    }
+}
@@ -1,9 +1,18 @@
 package com.moon.util.concurrent;
 
+import com.moon.util.MetricsUtil;
+import com.moon.util.metrics.MetricsSnapshot;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,4 +29,210 @@ class ExecutorUtilTestTest {
     @Test
     void testLoopRun() {
     }
-}
\ No newline at end of file
+
+    @Test
+    void testNamed() throws Exception {
+        MetricsUtil.enable();
+        try {
+            ThreadPoolExecutor executor = ExecutorUtil.named("test-named", 1, 1);
+            assertSame(executor, ExecutorUtil.named("test-named"));
+            assertEquals("moon-test-named-1", executor.submit(() -> Thread.currentThread().getName()).get());
+
+            CountDownLatch blocked = new CountDownLatch(1), release = new CountDownLatch(1);
+            executor.execute(() -> {
+                blocked.countDown();
+                await(release);
+            });
+            blocked.await();
+            Future<?> queued = executor.submit(() -> {});
+            // 线程和队列都已占满，由提交线程执行
+            AtomicInteger callerRuns = new AtomicInteger();
+            Thread caller = Thread.currentThread();
+            executor.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    callerRuns.incrementAndGet();
+                }
+            });
+            assertEquals(1, callerRuns.get());
+
+            MetricsSnapshot snapshot = MetricsUtil.snapshot();
+            assertEquals(1, snapshot.getCount("moon.executor.test-named.rejected"));
+            assertEquals(1, snapshot.getGauge("moon.executor.test-named.queued"));
+            assertEquals(1, snapshot.getGauge("moon.executor.test-named.active"));
+            assertEquals(1, snapshot.getGauge("moon.executor.test-named.threads"));
+            release.countDown();
+            queued.get();
+
+            assertThrows(IllegalArgumentException.class, () -> ExecutorUtil.forkJoinPool("test-named", 1));
+            assertTrue(ExecutorUtil.shutdown("test-named"));
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+            assertNotSame(executor, ExecutorUtil.named("test-named"));
+            assertTrue(ExecutorUtil.shutdown("test-named"));
+            assertFalse(ExecutorUtil.shutdown("test-named"));
+        } finally {
+            MetricsUtil.disable();
+        }
+    }
+
+    @Test
+    void testIoExecutor() throws Exception {
+        ExecutorService executor = ExecutorUtil.ioExecutor();
+        assertSame(ExecutorUtil.named("io"), executor);
+        assertTrue(executor.submit(() -> Thread.currentThread().getName()).get().startsWith("moon-io-"));
+        // 队列无界，任务不会由提交线程执行
+        assertEquals(Integer.MAX_VALUE, ((ThreadPoolExecutor) executor).getQueue().remainingCapacity());
+
+        ExecutorService custom = Executors.newSingleThreadExecutor();
+        try {
+            ExecutorUtil.setIoExecutor(custom);
+            assertSame(custom, ExecutorUtil.ioExecutor());
+        } finally {
+            ExecutorUtil.setIoExecutor(null);
+            custom.shutdown();
+        }
+        assertSame(executor, ExecutorUtil.ioExecutor());
+    }
+
+    @Test
+    void testForkJoinPool() throws Exception {
+        ForkJoinPool pool = ExecutorUtil.forkJoinPool();
+        assertSame(pool, ExecutorUtil.forkJoinPool());
+        LongAdder sum = new LongAdder();
+        pool.submit(() -> java.util.stream.IntStream.rangeClosed(1, 1000).parallel().forEach(sum::add)).get();
+        assertEquals(500500, sum.sum());
+        assertTrue(pool.submit(() -> Thread.currentThread().getName()).get().startsWith("moon-cpu-"));
+    }
+
+    @Test
+    void testBlocking() throws Exception {
+        ExecutorService executor = ExecutorUtil.blocking("test-blocking");
+        assertSame(executor, ExecutorUtil.blocking("test-blocking"));
+        assertTrue(executor.submit(() -> Thread.currentThread().getName()).get().startsWith("moon-test-blocking-"));
+        assertEquals(ExecutorUtil.isVirtualThreadSupported(), !(executor instanceof ThreadPoolExecutor));
+        ExecutorUtil.shutdown("test-blocking");
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testParallelMap() {
+        List<Integer> items = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        List<String> results = ExecutorUtil.parallelMap(items, String::valueOf, 4);
+        assertEquals(items.size(), results.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(String.valueOf(i), results.get(i));
+        }
+        assertEquals(Arrays.asList(2), ExecutorUtil.parallelMap(Arrays.asList(1), i -> i * 2));
+        assertTrue(ExecutorUtil.parallelMap(new ArrayList<Integer>(), i -> i).isEmpty());
+
+        AtomicInteger applied = new AtomicInteger();
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+            ExecutorUtil.parallelMap(items, i -> {
+                applied.incrementAndGet();
+                if (i == 100) {
+                    throw new IllegalStateException("boom");
+                }
+                return i;
+            }, 2));
+        assertEquals("boom", e.getMessage());
+        // 失败后不再开始新的块
+        assertTrue(applied.get() < items.size());
+    }
+
+    @Test
+    void testParallelForEach() {
+        LongAdder sum = new LongAdder();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ExecutorUtil.parallelForEach(IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toSet()), i -> {
+            sum.add(i);
+            threads.add(Thread.currentThread().getName());
+        });
+        assertEquals(500500, sum.sum());
+        assertTrue(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void testPartitionReduce() {
+        List<Integer> items = IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList());
+        Integer sum = ExecutorUtil.partitionReduce(items,
+            partition -> partition.stream().mapToInt(Integer::intValue).sum(), Integer::sum);
+        assertEquals(500500, sum.intValue());
+        // 按分区顺序合并
+        String joined = ExecutorUtil.partitionReduce(Arrays.asList("a", "b", "c", "d", "e"), 2,
+            partition -> String.join("", partition), String::concat);
+        assertEquals("abcde", joined);
+        assertNull(ExecutorUtil.partitionReduce(new ArrayList<String>(), 2, partition -> "", String::concat));
+    }
+
+    @Test
+    void testInvokeAll() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int value = i;
+            tasks.add(() -> {
+                Thread.sleep(8 - value);
+                return value;
+            });
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), ExecutorUtil.invokeAll(tasks, 5, TimeUnit.SECONDS));
+
+        CountDownLatch slowStarted = new CountDownLatch(1), interrupted = new CountDownLatch(1);
+        Callable<Integer> slow = () -> {
+            slowStarted.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return 0;
+        };
+        // slow 开始后才失败，保证中断的是正在执行的任务而不是取消尚未开始的任务
+        Callable<Integer> failing = () -> {
+            slowStarted.await();
+            throw new IllegalArgumentException("failed");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            long start = System.nanoTime();
+            assertThrows(IllegalArgumentException.class,
+                () -> ExecutorUtil.invokeAll(executor, Arrays.asList(slow, failing), 5, TimeUnit.SECONDS));
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+            RuntimeException timeout = assertThrows(RuntimeException.class,
+                () -> ExecutorUtil.invokeAll(executor, Arrays.asList(slow), 50, TimeUnit.MILLISECONDS));
+            assertTrue(timeout.getCause() instanceof TimeoutException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvokeAllRejected() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> Thread.currentThread() != caller);
+        }
+        // 默认执行器不在调用线程中执行任务
+        assertFalse(ExecutorUtil.invokeAll(tasks, 5, TimeUnit.SECONDS).contains(false));
+
+        ThreadPoolExecutor executor = ExecutorPools.bounded("test-rejecting", 1, 1, false);
+        Callable<Integer> slow = () -> {
+            Thread.sleep(10000);
+            return 0;
+        };
+        assertThrows(RejectedExecutionException.class,
+            () -> ExecutorUtil.invokeAll(executor, Arrays.asList(slow, slow, slow), 5, TimeUnit.SECONDS));
+        // 已提交的任务被取消或中断，线程池很快空闲
+        assertTrue(ExecutorUtil.shutdown("test-rejecting"));
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.moon.util.console;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class FormattedMessageTestTest {
+
+    private final static Object BROKEN = new Object() {
+        @Override
+        public String toString() {
+            throw new IllegalStateException("broken");
+        }
+    };
+
+    @Test
+    void testFormat() {
+        FormattedMessage message = new FormattedMessage("a={}, b={}", 1, "x");
+        assertEquals("a=1, b=x", message.toString());
+        StringBuilder builder = new StringBuilder(">");
+        message.appendTo(builder);
+        assertEquals(">a=1, b=x", builder.toString());
+    }
+
+    @Test
+    void testFormatFailure() {
+        FormattedMessage message = new FormattedMessage("a={}, b={}", 1, BROKEN);
+        String value = message.toString();
+        assertTrue(value.startsWith("a={}, b={} <format failed: "));
+        assertTrue(value.contains("broken"));
+
+        StringBuilder builder = new StringBuilder(">");
+        message.appendTo(builder);
+        assertEquals(">" + value, builder.toString());
+
+        // 失败后复用的缓冲区仍可正常使用
+        assertEquals("ok 2", FormattedMessage.format("ok {}", 2));
+    }
+}
@@ -0,0 +1,67 @@
+package com.moon.util.console;
+
+import com.moon.util.metrics.HistogramSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class NanoTimingTestTest {
+
+    @Test
+    void testNested() {
+        NanoTiming timing = new NanoTiming();
+        timing.time("outer");
+        for (int i = 0; i < 3; i++) {
+            timing.time("inner");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            timing.timeEnd();
+        }
+        timing.timeNext("tail");
+        timing.timeEnd();
+        // 没有开始的计时忽略
+        timing.timeEnd();
+        timing.timeNext();
+
+        Map<String, HistogramSnapshot> snapshot = timing.snapshot();
+        assertEquals(3, snapshot.get("inner").getCount());
+        assertEquals(1, snapshot.get("outer").getCount());
+        assertEquals(1, snapshot.get("tail").getCount());
+        assertTrue(snapshot.get("inner").getMin() >= TimeUnit.MILLISECONDS.toNanos(1) * 31 / 32);
+        assertTrue(snapshot.get("outer").getSum() >= snapshot.get("inner").getSum());
+
+        String report = NanoTiming.format(snapshot);
+        assertTrue(report.startsWith("inner: count=3"));
+
+        assertEquals(3, timing.snapshotAndReset().get("inner").getCount());
+        assertEquals(0, timing.snapshot().get("inner").getCount());
+        assertEquals("", NanoTiming.format(timing.snapshot()));
+    }
+
+    @Test
+    void testThreads() throws Exception {
+        NanoTiming timing = new NanoTiming();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    timing.time();
+                    timing.timeEnd();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, timing.snapshot().get(NanoTiming.DEFAULT_NAME).getCount());
+        // 已结束线程的记录合并后仍然保留
+        assertEquals(4000, timing.snapshot().get(NanoTiming.DEFAULT_NAME).getCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.moon.util.console.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class RollingFileOutputTestTest {
+
+    @Test
+    void testLinePattern() {
+        LinePattern pattern = new LinePattern("yyyy-MM-dd HH:mm:ss.SSS [level]", ZoneOffset.UTC);
+        assertEquals("1970-01-01 00:00:01.234 [INFO]", pattern.format(1234, "INFO"));
+
+        LinePattern filename = new LinePattern("yyyy-MM-dd-?level", ZoneOffset.UTC);
+        assertEquals("1970-01-02-error", filename.format(86400_000L, "error"));
+        assertEquals("1970-01-02", filename.format(86400_000L, null));
+        assertEquals(86400_000L, filename.nextBoundary(1234));
+
+        LinePattern.Prefix prefix = pattern.prefixFor("WARN");
+        assertEquals("1970-01-01 00:00:01.234 [WARN] ", new String(prefix.bytes(1234), StandardCharsets.UTF_8));
+        assertEquals("1970-01-01 00:00:01.987 [WARN] ", new String(prefix.bytes(1987), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRollBySize() throws Exception {
+        File dir = Files.createTempDirectory("moon-appender").toFile();
+        RollingFileOutput file = new RollingFileOutput(dir, new LinePattern("'app'"), null, ".log", null, 64);
+        PrintStream stream = new PrintStream(new LevelOutput(file, null, false), false, "UTF-8");
+        for (int i = 0; i < 10; i++) {
+            stream.println("line-" + i + "-0123456789");
+        }
+        stream.flush();
+        File current = file.getCurrentFile();
+        assertTrue(current.length() <= 64);
+        File[] files = dir.listFiles();
+        assertTrue(files.length > 1);
+    }
+
+    @Test
+    void testRollAtLineStart() throws Exception {
+        File dir = Files.createTempDirectory("moon-appender").toFile();
+        RollingFileOutput file = new RollingFileOutput(dir, new LinePattern("'app'"), null, ".log", null, 64);
+        PrintStream stream = new PrintStream(
+            new LevelOutput(file, new LinePattern("[level]").prefixFor("INFO"), false), false, "UTF-8");
+        for (int i = 0; i < 10; i++) {
+            stream.println("line-" + i + "-0123456789");
+        }
+        stream.flush();
+        // 前缀和内容分开写入，换文件只发生在行首
+        String text = new String(Files.readAllBytes(file.getCurrentFile().toPath()), StandardCharsets.UTF_8);
+        for (String line : text.split(System.lineSeparator())) {
+            assertTrue(line.matches("\\[INFO] line-\\d-0123456789"), line);
+        }
+        assertTrue(text.endsWith(System.lineSeparator()));
+    }
+
+    @Test
+    void testHtmlEscape() throws Exception {
+        File dir = Files.createTempDirectory("moon-appender").toFile();
+        byte[] header = "<pre>\n".getBytes(StandardCharsets.UTF_8);
+        RollingFileOutput file = new RollingFileOutput(dir, new LinePattern("page"), null, ".html", header, 1 << 20);
+        PrintStream stream = new PrintStream(
+            new LevelOutput(file, new LinePattern("[level]").prefixFor("INFO"), true), false, "UTF-8");
+        stream.println("a<b & c>d");
+        stream.println("中文");
+        stream.flush();
+        String text = new String(Files.readAllBytes(file.getCurrentFile().toPath()), StandardCharsets.UTF_8);
+        String nl = System.lineSeparator();
+        assertEquals("<pre>\n[INFO] a&lt;b &amp; c&gt;d" + nl + "[INFO] 中文" + nl, text);
+    }
+}
@@ -0,0 +1,76 @@
+package com.moon.util.identifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class IdentifierTestTest {
+
+    @Test
+    void testUUID() {
+        for (int i = 0; i < 1000; i++) {
+            String fast = FastUUID.INSTANCE.get();
+            UUID uuid = UUID.fromString(fast);
+            assertEquals(fast, uuid.toString());
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+
+            String v7 = UUIDv7.INSTANCE.get();
+            uuid = UUID.fromString(v7);
+            assertEquals(v7, uuid.toString());
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(Math.abs((uuid.getMostSignificantBits() >>> 16) - System.currentTimeMillis()) < 1000);
+        }
+    }
+
+    @Test
+    void testULID() throws Exception {
+        assertEquals("00000000000000000000000000", ULID.format(0, 0, 0));
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", ULID.format(0xffffffffffffL, 0xffff, -1L));
+        assertEquals("0000000001000000000000000G", ULID.format(1, 0, 16));
+
+        String first = ULID.INSTANCE.get();
+        Thread.sleep(2);
+        String second = ULID.INSTANCE.get();
+        assertEquals(26, first.length());
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    void testStripedSequence() throws Exception {
+        StripedSequence sequence = new StripedSequence(1, 16);
+        int threads = 8, perThread = 10000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                long prev = 0;
+                for (int j = 0; j < perThread; j++) {
+                    long id = sequence.getAsLong();
+                    assertTrue(id > prev);
+                    ids.add(prev = id);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        assertEquals(threads * perThread, ids.size());
+
+        Set<String> strings = new HashSet<>();
+        LongIdentifier identifier = new SnowFlake(0, 1);
+        for (int i = 0; i < 100; i++) {
+            strings.add(identifier.get());
+        }
+        assertEquals(100, strings.size());
+    }
+}
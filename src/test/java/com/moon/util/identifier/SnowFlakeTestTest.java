@@ -0,0 +1,113 @@
+package com.moon.util.identifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class SnowFlakeTestTest {
+
+    @Test
+    void testNextIdUnderContention() throws Exception {
+        SnowFlake flake = new SnowFlake(1, 2);
+        int threads = 16, perThread = 20000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    long prev = 0;
+                    for (int j = 0; j < perThread; j++) {
+                        long id = flake.nextId();
+                        if (id <= prev) {
+                            failures.add(id + " <= " + prev);
+                        }
+                        ids.add(prev = id);
+                    }
+                } catch (Throwable e) {
+                    failures.add(String.valueOf(e));
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty(), () -> String.valueOf(failures));
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void testNextIds() {
+        SnowFlake flake = new SnowFlake(0, 0, SnowFlake.ClockPolicy.BORROW, 10);
+        long[] ids = flake.nextIds(10000);
+        assertEquals(10000, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertTrue(flake.nextId() > ids[ids.length - 1]);
+        assertThrows(IllegalStateException.class, () -> flake.nextIds(4096 * 20));
+    }
+
+    @Test
+    void testClockPolicy() {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        SnowFlake fail = new SnowFlake(0, 0, SnowFlake.ClockPolicy.FAIL, 100, clock::get);
+        SnowFlake borrow = new SnowFlake(0, 0, SnowFlake.ClockPolicy.BORROW, 100, clock::get);
+        long failId = fail.nextId(), borrowId = borrow.nextId();
+
+        clock.addAndGet(-50);
+        assertThrows(IllegalStateException.class, fail::nextId);
+        assertTrue(borrow.nextId() > borrowId);
+
+        clock.addAndGet(-100);
+        assertThrows(IllegalStateException.class, borrow::nextId);
+
+        clock.addAndGet(200);
+        assertTrue(fail.nextId() > failId);
+        assertTrue(borrow.nextId() > borrowId);
+    }
+
+    @Test
+    void testFailPolicyWhenSequenceExhausted() throws Exception {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        SnowFlake flake = new SnowFlake(0, 0, SnowFlake.ClockPolicy.FAIL, 100, clock::get);
+        long[] ids = flake.nextIds(4096);
+        // 序列号用尽，借用下一毫秒并等待时钟追上；时钟没有回拨，其他调用也只等待不失败
+        Queue<Object> results = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    results.add(flake.nextId());
+                } catch (Throwable e) {
+                    results.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        assertFalse(done.await(50, TimeUnit.MILLISECONDS));
+        assertTrue(results.isEmpty(), () -> String.valueOf(results));
+        clock.incrementAndGet();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (Object result : results) {
+            assertTrue(result instanceof Long && (Long) result > ids[ids.length - 1], () -> String.valueOf(results));
+        }
+
+        clock.addAndGet(-1);
+        assertThrows(IllegalStateException.class, flake::nextId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.moon.util.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author benshaoye
+ */
+class ThreadLocalHistogramTestTest {
+
+    @Test
+    void testRetiredThreads() throws Exception {
+        ThreadLocalHistogram histogram = new ThreadLocalHistogram();
+        histogram.record(10);
+        for (int i = 0; i < 50; i++) {
+            Thread thread = new Thread(() -> histogram.record(100));
+            thread.start();
+            thread.join();
+        }
+        // 新线程注册时合并已结束线程的记录
+        Thread thread = new Thread(() -> histogram.record(1000));
+        thread.start();
+        thread.join();
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(52, snapshot.getCount());
+        assertEquals(10 + 50 * 100 + 1000, snapshot.getSum());
+
+        HistogramSnapshot reset = histogram.snapshotAndReset();
+        assertEquals(52, reset.getCount());
+        histogram.record(10);
+        assertEquals(1, histogram.snapshot().getCount());
+    }
+}